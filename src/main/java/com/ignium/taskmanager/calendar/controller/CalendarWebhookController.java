@@ -73,6 +73,9 @@ public class CalendarWebhookController {
             
             if ("not_exists".equals(resourceState)) {
                 log.info("Calendar was deleted - cleaning up subscriptions");
+                if (channelId != null) {
+                    calendarWebhookService.removeSubscriptionForChannel(channelId);
+                }
                 return ResponseEntity.ok("OK");
             }
             
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "calendar_subscriptions")
+@Table(name = "calendar_subscriptions", indexes = {
+        @Index(name = "idx_calendar_subscriptions_user_id", columnList = "user_id"),
+        @Index(name = "idx_calendar_subscriptions_channel_id", columnList = "channel_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
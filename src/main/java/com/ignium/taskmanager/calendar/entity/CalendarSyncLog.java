@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "calendar_sync_log")
+@Table(name = "calendar_sync_log", indexes =
+        @Index(name = "idx_calendar_sync_log_task_synced_at", columnList = "task_id, synced_at"))
 @Getter
 @Setter
 @Builder
@@ -17,6 +17,9 @@ public interface CalendarSubscriptionRepository extends JpaRepository<CalendarSu
     
     Optional<CalendarSubscription> findByUserId(UUID userId);
     
+    /** The subscription a webhook notification belongs to, by its {@code X-Goog-Channel-ID}. */
+    Optional<CalendarSubscription> findByChannelId(String channelId);
+    
     @Modifying
     @Query("DELETE FROM CalendarSubscription cs WHERE cs.userId = :userId")
     void deleteByUserId(@Param("userId") UUID userId);
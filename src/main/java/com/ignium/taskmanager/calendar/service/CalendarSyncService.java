@@ -12,30 +12,44 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Recover;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class CalendarSyncService {
+
+    // Transient Google API failures are retried the same way for single tasks and batches
+    private static final int SYNC_ATTEMPTS = 3;
+    private static final long SYNC_RETRY_DELAY_MS = 2000;
+    private static final double SYNC_RETRY_MULTIPLIER = 2;
+    private static final long SYNC_RETRY_MAX_DELAY_MS = 30000;
     
     private final GoogleCalendarService googleCalendarService;
     private final TaskRepository taskRepository;
     private final CalendarSyncLogRepository syncLogRepository;
     private final UserRepository userRepository;
+
+    private final RetryTemplate taskSyncRetry = RetryTemplate.builder()
+        .maxAttempts(SYNC_ATTEMPTS)
+        .exponentialBackoff(SYNC_RETRY_DELAY_MS, SYNC_RETRY_MULTIPLIER, SYNC_RETRY_MAX_DELAY_MS)
+        .retryOn(IOException.class)
+        .build();
     
     @Async
     @Transactional
     @Retryable(
         retryFor = {IOException.class},
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 2000, multiplier = 2)
+        maxAttempts = SYNC_ATTEMPTS,
+        backoff = @Backoff(delay = SYNC_RETRY_DELAY_MS, multiplier = SYNC_RETRY_MULTIPLIER, maxDelay = SYNC_RETRY_MAX_DELAY_MS)
     )
     public void syncTaskToCalendar(Task task, CalendarSyncLog.SyncOperation operation) throws IOException {
         
@@ -71,6 +85,48 @@ public class CalendarSyncService {
         logSync(task.getId(), operation, CalendarSyncLog.SyncStatus.SUCCESS, null);
     }
 
+    /**
+     * Syncs tasks of one user that changed together. The calendar connection is checked once for
+     * the whole set; each task is retried and logged on its own, with the same policy as
+     * {@link #syncTaskToCalendar}, and a failure does not stop the rest. Retrying the whole batch
+     * instead would create events again for the tasks that had already synced.
+     */
+    @Async
+    @Transactional
+    public void syncTasksToCalendar(UUID userId, List<Task> tasks, CalendarSyncLog.SyncOperation operation) {
+        AppUser user = userRepository.findById(userId).orElse(null);
+        if (user == null || !user.isCalendarConnected()) {
+            log.info("User {} doesn't have calendar connected, skipping sync of {} tasks", userId, tasks.size());
+            return;
+        }
+        
+        if (operation == CalendarSyncLog.SyncOperation.CALENDAR_UPDATE) {
+            log.info("CALENDAR_UPDATE operation should not be processed by CalendarSyncService");
+            return;
+        }
+
+        for (Task task : tasks) {
+            if (task.getDueDate() == null) {
+                continue;
+            }
+            try {
+                taskSyncRetry.execute(context -> {
+                    switch (operation) {
+                        case CREATE -> createCalendarEvent(task);
+                        case UPDATE -> updateCalendarEvent(task);
+                        case DELETE -> deleteCalendarEvent(task);
+                        default -> throw new IllegalStateException("Unexpected operation " + operation);
+                    }
+                    return null;
+                });
+                logSync(task.getId(), operation, CalendarSyncLog.SyncStatus.SUCCESS, null);
+            } catch (IOException e) {
+                log.error("Sync failed for task {} after multiple retries: {}", task.getId(), e.getMessage());
+                logSync(task.getId(), operation, CalendarSyncLog.SyncStatus.FAILED, e.getMessage());
+            }
+        }
+    }
+
     @Recover
     public void recover(IOException e, Task task, CalendarSyncLog.SyncOperation operation) {
         log.error("Sync failed for task {} after multiple retries: {}", task.getId(), e.getMessage());
@@ -6,12 +6,16 @@ import com.google.api.services.calendar.model.Event;
 import com.ignium.taskmanager.calendar.entity.CalendarSubscription;
 import com.ignium.taskmanager.calendar.repository.CalendarSubscriptionRepository;
 import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.event.model.TaskUpdatedEvent;
 import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.task.repository.TaskStatsDelta;
+import com.ignium.taskmanager.task.service.TaskStatsService;
 import com.ignium.taskmanager.user.entity.AppUser;
 import com.ignium.taskmanager.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -33,6 +37,8 @@ public class CalendarWebhookService {
     private final GoogleCalendarService googleCalendarService;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskStatsService taskStatsService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Value("${app.webhook.base-url:${app.base-url}}")
     private String webhookBaseUrl;
@@ -147,6 +153,18 @@ public class CalendarWebhookService {
         }
     }
     
+    /**
+     * Drops the subscription of a channel whose calendar no longer exists. Google stops such a
+     * channel itself, so there is nothing to stop.
+     */
+    @Transactional
+    public void removeSubscriptionForChannel(String channelId) {
+        subscriptionRepository.findByChannelId(channelId).ifPresent(subscription -> {
+            subscriptionRepository.delete(subscription);
+            log.info("Removed calendar subscription of channel {} for user {}", channelId, subscription.getUserId());
+        });
+    }
+    
     @Transactional
     public void renewExpiredSubscriptions() {
         log.info("Checking for expired calendar webhook subscriptions");
@@ -297,8 +315,11 @@ public class CalendarWebhookService {
             Optional<Task> taskOpt = taskRepository.findByCalendarEventId(event.getId());
             if (taskOpt.isPresent()) {
                 Task task = taskOpt.get();
+                TaskStatsDelta before = taskStatsService.snapshot(task);
                 task.setCalendarEventId(null);
                 taskRepository.save(task);
+                task.setChangeSeq(taskStatsService.recordUpdated(task, before));
+                eventPublisher.publishEvent(new TaskUpdatedEvent(task, true));
                 log.info("Removed calendar event ID from task {} (event deleted)", task.getId());
             }
         } catch (Exception e) {
@@ -355,6 +376,7 @@ public class CalendarWebhookService {
     }
     
     private void updateTaskFromCalendarEvent(Task task, Event calendarEvent) {
+        TaskStatsDelta before = taskStatsService.snapshot(task);
         if (calendarEvent.getSummary() != null) {
             task.setTitle(calendarEvent.getSummary());
         }
@@ -371,5 +393,8 @@ public class CalendarWebhookService {
         }
         
         taskRepository.save(task);
+        task.setChangeSeq(taskStatsService.recordUpdated(task, before));
+        // Keeps this node's filter and title indexes current; not synced back to the calendar
+        eventPublisher.publishEvent(new TaskUpdatedEvent(task, true));
     }
 }
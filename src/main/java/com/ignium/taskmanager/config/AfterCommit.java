@@ -0,0 +1,32 @@
+package com.ignium.taskmanager.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work on in-process caches and indexes until the current transaction commits, so that
+ * nothing is cached from writes that roll back and a read racing the transaction cannot overwrite
+ * its effect with what it saw before the commit.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, never if it rolls back, or right
+     * away when there is no transaction.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ignium.taskmanager.config.exception;
+
+/**
+ * A delta sync cursor older than the tombstones kept: deletions since then may be gone, so the
+ * client has to sync from scratch.
+ */
+public class ChangeCursorExpiredException extends RuntimeException {
+    
+    public ChangeCursorExpiredException() {
+        super("The since cursor has expired; sync again without it");
+    }
+}
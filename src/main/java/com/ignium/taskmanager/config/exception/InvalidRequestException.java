@@ -0,0 +1,17 @@
+package com.ignium.taskmanager.config.exception;
+
+/**
+ * A request parameter the client got wrong, such as a malformed cursor or a limit out of range.
+ * Answered with {@code 400 Bad Request} and the message, unlike an
+ * {@link IllegalArgumentException} from our own code, which is a bug.
+ */
+public class InvalidRequestException extends RuntimeException {
+    
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+    
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ignium.taskmanager.config.exception;
+
+import java.util.UUID;
+
+/**
+ * A task write referenced a tag id taken from the tag cache that no longer exists, typically
+ * because the tag was deleted on another node. The user's cached tags have been dropped, so the
+ * write succeeds when retried in a new transaction.
+ */
+public class StaleTagReferenceException extends RuntimeException {
+    
+    public StaleTagReferenceException(UUID userId, Throwable cause) {
+        super("Cached tags of user " + userId + " referenced a tag that no longer exists", cause);
+    }
+}
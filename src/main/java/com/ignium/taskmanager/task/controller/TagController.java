@@ -1,8 +1,11 @@
 package com.ignium.taskmanager.task.controller;
 
+import com.ignium.taskmanager.task.dto.MergeTagsRequest;
+import com.ignium.taskmanager.task.dto.RenameTagRequest;
 import com.ignium.taskmanager.task.dto.TagDetailResponse;
 import com.ignium.taskmanager.task.dto.TagResponse;
 import com.ignium.taskmanager.task.service.TagService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -25,15 +28,40 @@ public class TagController {
         return ResponseEntity.ok(tags);
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TagResponse>> suggestTags(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(tagService.suggestTags(prefix, limit));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<TagDetailResponse> getTagById(@PathVariable UUID id) {
-        TagDetailResponse tag = tagService.getTagById(id);
+    public ResponseEntity<TagDetailResponse> getTagById(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "dueDate") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection) {
+        TagDetailResponse tag = tagService.getTagById(id, page, size, sortBy, sortDirection);
         return ResponseEntity.ok(tag);
     }
     
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<TagResponse> mergeTags(@PathVariable UUID id,
+                                                 @Valid @RequestBody MergeTagsRequest request) {
+        return ResponseEntity.ok(tagService.mergeTags(id, request.sourceTagIds()));
+    }
+    
+    @PostMapping("/{id}/rename")
+    public ResponseEntity<TagResponse> renameTag(@PathVariable UUID id,
+                                                 @Valid @RequestBody RenameTagRequest request) {
+        return ResponseEntity.ok(tagService.renameTag(id, request.name()));
+    }
+    
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTag(@PathVariable UUID id) {
-        tagService.deleteTag(id);
+    public ResponseEntity<Void> deleteTag(@PathVariable UUID id,
+                                          @RequestParam(defaultValue = "false") boolean force) {
+        tagService.deleteTag(id, force);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,20 +1,45 @@
 package com.ignium.taskmanager.task.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ignium.taskmanager.task.dto.BulkDeleteTasksRequest;
+import com.ignium.taskmanager.task.dto.BulkOperationResponse;
+import com.ignium.taskmanager.task.dto.BulkUpdateTasksRequest;
 import com.ignium.taskmanager.task.dto.CreateTaskRequest;
+import com.ignium.taskmanager.task.dto.CreateTasksBatchRequest;
+import com.ignium.taskmanager.task.dto.ExportFormat;
+import com.ignium.taskmanager.task.dto.PageResult;
 import com.ignium.taskmanager.task.dto.PaginatedResponse;
+import com.ignium.taskmanager.task.dto.TaskChangesResponse;
 import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TaskStatsResponse;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TotalMode;
 import com.ignium.taskmanager.task.dto.UpdateTaskRequest;
 import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.service.TaskChangeService;
+import com.ignium.taskmanager.task.service.TaskExportWriter;
+import com.ignium.taskmanager.task.service.TaskPageCache;
 import com.ignium.taskmanager.task.service.TaskService;
+import com.ignium.taskmanager.task.service.TaskStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/tasks")
@@ -22,6 +47,13 @@ import java.util.UUID;
 public class TaskController {
     
     private final TaskService taskService;
+    private final TaskStatsService taskStatsService;
+    private final TaskPageCache taskPageCache;
+    private final TaskChangeService taskChangeService;
+    private final ObjectMapper objectMapper;
+    
+    // Clients may keep a copy but must revalidate it, which costs one version lookup when unchanged
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request) {
@@ -29,10 +61,94 @@ public class TaskController {
         return ResponseEntity.created(URI.create("/api/v1/tasks/" + response.id())).body(response);
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskResponse>> createTasks(@Valid @RequestBody CreateTasksBatchRequest request) {
+        List<TaskResponse> responses = taskService.createTasks(request.tasks());
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats() {
+        return ResponseEntity.ok(taskStatsService.getStats());
+    }
+    
+    /**
+     * Delta sync: tasks created or updated and ids of tasks deleted since {@code since}, the
+     * {@code nextCursor} of the previous response. Without it, every task is sent as upserted.
+     * A cursor older than the tombstone retention is answered 410 Gone.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getTaskChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(taskChangeService.getChanges(since, limit));
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) Task.TaskStatus status,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        StreamingResponseBody body = out ->
+                taskService.exportTasks(status, tags, TaskExportWriter.create(exportFormat, out, objectMapper));
+        
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+    
+    @GetMapping("/upcoming")
+    public ResponseEntity<PaginatedResponse<TaskResponse>> getUpcomingTasks(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(PaginatedResponse.from(taskService.getUpcomingTasks(days, cursor, size)));
+    }
+    
+    @GetMapping("/overdue")
+    public ResponseEntity<PaginatedResponse<TaskResponse>> getOverdueTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(PaginatedResponse.from(taskService.getOverdueTasks(cursor, size)));
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<PaginatedResponse<TaskResponse>> searchTasks(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Task.TaskStatus status,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "any") String tagMatch,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PageResult<TaskResponse> result = taskService.searchTasks(q, status, tags, TagMatch.fromParam(tagMatch), cursor, size);
+        return ResponseEntity.ok(PaginatedResponse.from(result));
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TaskSuggestionResponse>> suggestTasks(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(taskService.suggestTasks(q, limit));
+    }
+    
+    /**
+     * The ETag is the task's version. It is read before the task, so a task changing in between
+     * is sent with the older ETag and simply fetched again next time, never wrongly answered 304.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable UUID id) {
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable UUID id, WebRequest request) {
+        String eTag = eTag(taskService.getTaskVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
         TaskResponse response = taskService.getTaskById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(response);
     }
     
     @GetMapping
@@ -42,22 +158,64 @@ public class TaskController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String includeTotal,
+            @RequestParam(defaultValue = "any") String tagMatch,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            WebRequest request) {
         
-        Page<TaskResponse> taskPage = taskService.getTasksWithFilters(status, tags, page, size, sortBy, sortDirection);
+        TotalMode totalMode = TotalMode.fromParam(includeTotal);
+        TagMatch match = TagMatch.fromParam(tagMatch);
         
-        PaginatedResponse<TaskResponse> response = new PaginatedResponse<>(
-                taskPage.getContent(),
-                taskPage.getTotalElements(),
-                taskPage.getTotalPages(),
-                taskPage.getSize(),
-                taskPage.getNumber(),
-                taskPage.isFirst(),
-                taskPage.isLast(),
-                taskPage.isEmpty()
-        );
+        // Every page of the list shares the user's change stamp; the query string tells pages apart
+        long stamp = taskService.getTaskListStamp();
+        String eTag = eTag(stamp);
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
         
-        return ResponseEntity.ok(response);
+        // A due date bound switches to the due date window, soonest first; page, sortBy and includeTotal are ignored
+        if (dueFrom != null || dueTo != null) {
+            TaskPageCache.Key key = TaskPageCache.Key.dueBetween(dueFrom, dueTo, status, tags, match, cursor, size);
+            return listPage(eTag, cachedPage(stamp, key,
+                    () -> taskService.getTasksDueBetween(dueFrom, dueTo, status, tags, match, cursor, size)));
+        }
+        
+        // Presence of the cursor parameter (even empty) switches to keyset pagination; page is ignored
+        if (cursor != null) {
+            TaskPageCache.Key key = TaskPageCache.Key.cursor(status, tags, match, cursor, size, sortBy, sortDirection, totalMode);
+            return listPage(eTag, cachedPage(stamp, key,
+                    () -> taskService.getTasksWithCursor(status, tags, match, cursor, size, sortBy, sortDirection, totalMode)));
+        }
+        
+        TaskPageCache.Key key = TaskPageCache.Key.page(status, tags, match, page, size, sortBy, sortDirection, totalMode);
+        return listPage(eTag, cachedPage(stamp, key,
+                () -> taskService.getTasksWithFilters(status, tags, match, page, size, sortBy, sortDirection, totalMode)));
+    }
+    
+    // The stamp is read before the page, so a write in between only stores the page under a stamp that is already gone
+    private PageResult<TaskResponse> cachedPage(long stamp, TaskPageCache.Key key, Supplier<PageResult<TaskResponse>> query) {
+        Optional<PageResult<TaskResponse>> cached = taskPageCache.get(stamp, key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        PageResult<TaskResponse> result = query.get();
+        taskPageCache.put(stamp, key, result);
+        return result;
+    }
+    
+    private static ResponseEntity<PaginatedResponse<TaskResponse>> listPage(String eTag, PageResult<TaskResponse> page) {
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(PaginatedResponse.from(page));
+    }
+    
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+    
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
     }
     
     // @Deprecated - Use GET /api/v1/tasks with query parameters instead
@@ -91,6 +249,16 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
     
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkOperationResponse> updateTasks(@Valid @RequestBody BulkUpdateTasksRequest request) {
+        return ResponseEntity.ok(BulkOperationResponse.of(taskService.updateTasks(request)));
+    }
+    
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkOperationResponse> deleteTasks(@Valid @RequestBody BulkDeleteTasksRequest request) {
+        return ResponseEntity.ok(BulkOperationResponse.of(taskService.deleteTasks(request)));
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable UUID id) {
         taskService.deleteTask(id);
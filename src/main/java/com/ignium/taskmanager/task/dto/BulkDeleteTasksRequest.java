@@ -0,0 +1,11 @@
+package com.ignium.taskmanager.task.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record BulkDeleteTasksRequest(
+    @NotNull(message = "Task selection is required")
+    @Valid
+    TaskSelector select
+) {
+}
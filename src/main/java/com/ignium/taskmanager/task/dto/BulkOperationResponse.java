@@ -0,0 +1,13 @@
+package com.ignium.taskmanager.task.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkOperationResponse(
+    int affected,
+    List<UUID> ids
+) {
+    public static BulkOperationResponse of(List<UUID> ids) {
+        return new BulkOperationResponse(ids.size(), ids);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ignium.taskmanager.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ignium.taskmanager.task.entity.Task;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+public record BulkUpdateTasksRequest(
+    @NotNull(message = "Task selection is required")
+    @Valid
+    TaskSelector select,
+
+    Task.TaskStatus status,
+
+    Task.TaskPriority priority,
+
+    LocalDateTime dueDate
+) {
+    @JsonIgnore
+    @AssertTrue(message = "At least one of status, priority or dueDate must be set")
+    public boolean isChanging() {
+        return status != null || priority != null || dueDate != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ignium.taskmanager.task.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateTasksBatchRequest(
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = CreateTasksBatchRequest.MAX_TASKS, message = "At most " + CreateTasksBatchRequest.MAX_TASKS + " tasks per batch")
+    List<@Valid CreateTaskRequest> tasks
+) {
+    public static final int MAX_TASKS = 500;
+}
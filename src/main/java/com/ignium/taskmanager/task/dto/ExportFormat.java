@@ -0,0 +1,37 @@
+package com.ignium.taskmanager.task.dto;
+
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Output formats of {@code GET /api/v1/tasks/export}: one JSON task per line, or CSV with a header row.
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ExportFormat fromParam(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException(
+                        "Unsupported export format: " + value + " (expected ndjson or csv)"));
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
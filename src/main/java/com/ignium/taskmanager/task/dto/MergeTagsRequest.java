@@ -0,0 +1,20 @@
+package com.ignium.taskmanager.task.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tags to fold into the tag named in the path. Their tasks get that tag instead and they are
+ * deleted.
+ */
+public record MergeTagsRequest(
+    @NotEmpty(message = "At least one source tag is required")
+    @Size(max = MergeTagsRequest.MAX_SOURCES, message = "At most " + MergeTagsRequest.MAX_SOURCES + " source tags per request")
+    List<@NotNull UUID> sourceTagIds
+) {
+    public static final int MAX_SOURCES = 100;
+}
@@ -0,0 +1,25 @@
+package com.ignium.taskmanager.task.dto;
+
+import java.util.List;
+
+/**
+ * A page of results that may have been read with a keyset cursor rather than an offset.
+ * {@code nextCursor} is null on the last page or outside cursor mode, and {@code totalElements}
+ * is null when the total was not requested ({@link TotalMode#NONE}).
+ */
+public record PageResult<T>(
+    List<T> content,
+    Long totalElements,
+    TotalMode totalMode,
+    int size,
+    int number,
+    boolean last,
+    String nextCursor
+) {
+    public Integer totalPages() {
+        if (totalElements == null) {
+            return null;
+        }
+        return size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+    }
+}
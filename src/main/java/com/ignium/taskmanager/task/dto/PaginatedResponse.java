@@ -4,12 +4,28 @@ import java.util.List;
 
 public record PaginatedResponse<T>(
     List<T> content,
-    long totalElements,
-    int totalPages,
+    Long totalElements,
+    Integer totalPages,
     int size,
     int number,
     boolean first,
     boolean last,
-    boolean empty
+    boolean empty,
+    String nextCursor,
+    TotalMode totalMode
 ) {
-}
\ No newline at end of file
+    public static <T> PaginatedResponse<T> from(PageResult<T> page) {
+        return new PaginatedResponse<>(
+            page.content(),
+            page.totalElements(),
+            page.totalPages(),
+            page.size(),
+            page.number(),
+            page.number() == 0,
+            page.last(),
+            page.content().isEmpty(),
+            page.nextCursor(),
+            page.totalMode()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.ignium.taskmanager.task.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record RenameTagRequest(
+    @NotBlank(message = "Tag name is required")
+    @Size(max = 100, message = "Tag name must be at most 100 characters")
+    String name
+) {
+}
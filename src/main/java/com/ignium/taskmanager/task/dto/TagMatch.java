@@ -0,0 +1,29 @@
+package com.ignium.taskmanager.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * How the {@code tags} filter of a task list combines several names. {@code ANY} keeps tasks
+ * carrying at least one of them, {@code ALL} only tasks carrying every one of them.
+ */
+public enum TagMatch {
+    ANY,
+    ALL;
+
+    public static TagMatch fromParam(String value) {
+        return Arrays.stream(values())
+                .filter(match -> match.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException(
+                        "Unsupported tagMatch value: " + value + " (expected any or all)"));
+    }
+
+    @JsonValue
+    public String toParam() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ignium.taskmanager.task.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One batch of a delta sync: tasks created or updated since the cursor, as they are now, and ids
+ * of tasks deleted since. {@code nextCursor} is where the next request continues from; while
+ * {@code hasMore} is true the client should ask again right away.
+ */
+public record TaskChangesResponse(
+    List<TaskResponse> upserted,
+    List<UUID> deleted,
+    String nextCursor,
+    boolean hasMore
+) {
+}
@@ -27,6 +27,14 @@ public record TaskResponse(
                 .collect(Collectors.toList())
             : List.of();
             
+        return from(task, tagNames);
+    }
+    
+    /**
+     * For a task whose tag names are already known, e.g. because its tags are uninitialized
+     * references that would otherwise each be loaded just to read the name.
+     */
+    public static TaskResponse from(Task task, List<String> tagNames) {
         return new TaskResponse(
             task.getId(),
             task.getTitle(),
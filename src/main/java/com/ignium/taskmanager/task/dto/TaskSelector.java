@@ -0,0 +1,54 @@
+package com.ignium.taskmanager.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ignium.taskmanager.task.entity.Task;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Which of the current user's tasks a bulk operation applies to: either explicit {@code ids},
+ * the same status and tag filter as the task list, or every task with {@code all}. An empty
+ * selector is rejected, so a field missing from a client's payload can't select every task.
+ */
+public record TaskSelector(
+    @Size(max = TaskSelector.MAX_IDS, message = "At most " + TaskSelector.MAX_IDS + " ids per request")
+    List<UUID> ids,
+
+    Task.TaskStatus status,
+
+    List<String> tags,
+
+    boolean all
+) {
+    public static final int MAX_IDS = 1000;
+
+    @JsonIgnore
+    public boolean hasIds() {
+        return ids != null;
+    }
+
+    public TaskSelector(List<UUID> ids, Task.TaskStatus status, List<String> tags) {
+        this(ids, status, tags, false);
+    }
+
+    @JsonIgnore
+    public boolean hasFilter() {
+        return status != null || (tags != null && !tags.isEmpty());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Select tasks either by ids, by status/tags or with all, not several")
+    public boolean isUnambiguous() {
+        int ways = (hasIds() ? 1 : 0) + (hasFilter() ? 1 : 0) + (all ? 1 : 0);
+        return ways <= 1;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Select tasks by ids, by status/tags, or set all to select every task")
+    public boolean isSelecting() {
+        return hasIds() || hasFilter() || all;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ignium.taskmanager.task.dto;
+
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public record TaskStatsResponse(
+    long total,
+    Map<Task.TaskStatus, Long> byStatus,
+    Map<Task.TaskPriority, Long> byPriority,
+    long overdue,
+    LocalDateTime updatedAt
+) {
+    public static TaskStatsResponse from(UserTaskStats stats) {
+        return new TaskStatsResponse(
+            stats.getTotalCount(),
+            Arrays.stream(Task.TaskStatus.values())
+                .collect(Collectors.toMap(Function.identity(), stats::countFor, (a, b) -> a, LinkedHashMap::new)),
+            Arrays.stream(Task.TaskPriority.values())
+                .collect(Collectors.toMap(Function.identity(), stats::countFor, (a, b) -> a, LinkedHashMap::new)),
+            stats.getOverdueCount(),
+            stats.getUpdatedAt()
+        );
+    }
+}
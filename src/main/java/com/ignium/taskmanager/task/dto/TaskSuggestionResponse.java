@@ -0,0 +1,20 @@
+package com.ignium.taskmanager.task.dto;
+
+import com.ignium.taskmanager.task.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A task offered as a type-ahead suggestion: enough to show it in a dropdown and open it by id.
+ */
+public record TaskSuggestionResponse(
+    UUID id,
+    String title,
+    Task.TaskStatus status,
+    LocalDateTime updatedAt
+) {
+    public static TaskSuggestionResponse from(Task task) {
+        return new TaskSuggestionResponse(task.getId(), task.getTitle(), task.getStatus(), task.getUpdatedAt());
+    }
+}
@@ -0,0 +1,30 @@
+package com.ignium.taskmanager.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * How {@code totalElements} of a task page was obtained. {@code EXACT} runs a count query,
+ * {@code NONE} skips it and {@code ESTIMATED} answers from counts maintained outside the request.
+ */
+public enum TotalMode {
+    EXACT,
+    NONE,
+    ESTIMATED;
+
+    public static TotalMode fromParam(String value) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException(
+                        "Unsupported includeTotal value: " + value + " (expected exact, none or estimated)"));
+    }
+
+    @JsonValue
+    public String toParam() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,6 +3,8 @@ package com.ignium.taskmanager.task.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -11,6 +13,10 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Kept in the {@code tags} second-level cache region; the task collection is not cached. Lookups
+ * by name go through {@code TagCache} instead.
+ */
 @Entity
 @Table(name = "tags", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"name", "user_id"})
@@ -21,8 +27,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @ToString(exclude = "tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tags")
 public class Tag {
 
+    public static final String DEFAULT_COLOR = "#0088CC";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
@@ -36,7 +46,7 @@ public class Tag {
 
     @Column(name = "color", length = 7)
     @Builder.Default
-    private String color = "#0088CC";
+    private String color = DEFAULT_COLOR;
 
     @ManyToMany(mappedBy = "tags")
     @JsonIgnore
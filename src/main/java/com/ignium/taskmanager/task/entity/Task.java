@@ -2,6 +2,7 @@ package com.ignium.taskmanager.task.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,8 +16,20 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Every supported list sort has a {@code (user_id, key, id)} index, so a user's page is read in
+ * order from the index with the id as tiebreaker instead of sorting all of the user's tasks.
+ */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_created_at", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_tasks_user_updated_at", columnList = "user_id, updated_at, id"),
+        @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date, id"),
+        @Index(name = "idx_tasks_user_priority_rank", columnList = "user_id, priority_rank, id"),
+        @Index(name = "idx_tasks_user_title", columnList = "user_id, title, id"),
+        @Index(name = "idx_tasks_user_change_seq", columnList = "user_id, change_seq, id"),
+        @Index(name = "idx_tasks_calendar_event_id", columnList = "calendar_event_id")
+})
 @Getter
 @Setter
 @Builder
@@ -47,13 +60,22 @@ public class Task {
     @Column(name="priority", nullable = false)
     private TaskPriority priority;
     
+    // Kept in step with priority; the name sorts alphabetically, the rank by urgency
+    @Column(name = "priority_rank", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Integer priorityRank;
+    
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
+    // Left null until the first insert so that Spring Data persists new tasks instead of merging them
     @Version
     @Column(name = "version")
-    @Builder.Default
-    private Long version = 0L;
+    private Long version;
+
+    // The user's change stamp as of this task's last write; orders GET /api/v1/tasks/changes
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
 
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
@@ -79,10 +101,16 @@ public class Task {
     @Column(name = "last_synced_at")
     private LocalDateTime lastSyncedAt;
     
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+        this.priorityRank = priority == null ? null : priority.rank();
+    }
+    
     // Lifecycle callbacks
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.priorityRank = priority.rank();
     }
     
     @PrePersist
@@ -95,6 +123,7 @@ public class Task {
         if (this.priority == null) {
             this.priority = TaskPriority.MEDIUM;
         }
+        this.priorityRank = priority.rank();
     }
     
     // Enums
@@ -103,7 +132,12 @@ public class Task {
     }
     
     public enum TaskPriority {
-        LOW, MEDIUM, HIGH, URGENT
+        LOW, MEDIUM, HIGH, URGENT;
+        
+        /** Position by urgency, lowest first; declaration order is urgency order. */
+        public int rank() {
+            return ordinal();
+        }
     }
 
     // Helper method to add tag
@@ -0,0 +1,49 @@
+package com.ignium.taskmanager.task.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Trace of a deleted task, so that delta sync can tell clients to drop it. Written in the same
+ * transaction as the delete, under the change stamp the delete moved the user to. Rows are only
+ * ever inserted, and removed by {@code TaskTombstonePruneJob} once past their retention.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_user_change_seq", columnList = "user_id, change_seq, task_id"),
+        @Index(name = "idx_task_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "task_id", updatable = false, nullable = false)
+    private UUID taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @Override
+    public UUID getId() {
+        return taskId;
+    }
+
+    // A task is deleted once, so saving a tombstone is always an insert and never needs a lookup
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package com.ignium.taskmanager.task.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-user task counters, kept in step with the tasks table by {@code TaskStatsService}
+ * in the same transaction as each task write.
+ */
+@Entity
+@Table(name = "user_task_stats")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTaskStats {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    @Column(name = "todo_count", nullable = false)
+    private long todoCount;
+
+    @Column(name = "in_progress_count", nullable = false)
+    private long inProgressCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+
+    @Column(name = "low_priority_count", nullable = false)
+    private long lowPriorityCount;
+
+    @Column(name = "medium_priority_count", nullable = false)
+    private long mediumPriorityCount;
+
+    @Column(name = "high_priority_count", nullable = false)
+    private long highPriorityCount;
+
+    @Column(name = "urgent_priority_count", nullable = false)
+    private long urgentPriorityCount;
+
+    @Column(name = "overdue_count", nullable = false)
+    private long overdueCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Bumped by every change to the user's tasks, counted or not; the ETag of task lists
+    @Column(name = "change_stamp", nullable = false)
+    private long changeStamp;
+
+    public long countFor(Task.TaskStatus status) {
+        return switch (status) {
+            case TODO -> todoCount;
+            case IN_PROGRESS -> inProgressCount;
+            case COMPLETED -> completedCount;
+            case CANCELLED -> cancelledCount;
+        };
+    }
+
+    public long countFor(Task.TaskPriority priority) {
+        return switch (priority) {
+            case LOW -> lowPriorityCount;
+            case MEDIUM -> mediumPriorityCount;
+            case HIGH -> highPriorityCount;
+            case URGENT -> urgentPriorityCount;
+        };
+    }
+}
@@ -5,6 +5,7 @@ import com.ignium.taskmanager.calendar.service.CalendarSyncService;
 import com.ignium.taskmanager.task.event.model.TaskCreatedEvent;
 import com.ignium.taskmanager.task.event.model.TaskDeletedEvent;
 import com.ignium.taskmanager.task.event.model.TaskUpdatedEvent;
+import com.ignium.taskmanager.task.event.model.TasksChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -27,9 +28,24 @@ public class CalendarSyncListener {
         calendarSyncService.syncTaskToCalendar(event.getTask(), CalendarSyncLog.SyncOperation.CREATE);
     }
 
+    @Async
+    @EventListener
+    public void handleTasksChangedEvent(TasksChangedEvent event) {
+        log.info("Handling batch {} event for {} tasks", event.getChangeType(), event.getTasks().size());
+        CalendarSyncLog.SyncOperation operation = switch (event.getChangeType()) {
+            case CREATED -> CalendarSyncLog.SyncOperation.CREATE;
+            case UPDATED -> CalendarSyncLog.SyncOperation.UPDATE;
+            case DELETED -> CalendarSyncLog.SyncOperation.DELETE;
+        };
+        calendarSyncService.syncTasksToCalendar(event.getUserId(), event.getTasks(), operation);
+    }
+
     @Async
     @EventListener
     public void handleTaskUpdatedEvent(TaskUpdatedEvent event) throws IOException {
+        if (event.isFromCalendar()) {
+            return;
+        }
         log.info("Handling task updated event for task ID: {}", event.getTask().getId());
         calendarSyncService.syncTaskToCalendar(event.getTask(), CalendarSyncLog.SyncOperation.UPDATE);
     }
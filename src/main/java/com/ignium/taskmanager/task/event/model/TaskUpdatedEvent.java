@@ -3,12 +3,22 @@ package com.ignium.taskmanager.task.event.model;
 import com.ignium.taskmanager.task.entity.Task;
 import lombok.Getter;
 
+/**
+ * Published for every change to a single task. {@code fromCalendar} marks changes taken over
+ * from the user's Google Calendar, which must not be synced back to it.
+ */
 @Getter
 public class TaskUpdatedEvent {
 
     private final Task task;
+    private final boolean fromCalendar;
 
     public TaskUpdatedEvent(Task task) {
+        this(task, false);
+    }
+
+    public TaskUpdatedEvent(Task task, boolean fromCalendar) {
         this.task = task;
+        this.fromCalendar = fromCalendar;
     }
 }
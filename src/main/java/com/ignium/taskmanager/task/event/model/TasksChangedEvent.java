@@ -0,0 +1,32 @@
+package com.ignium.taskmanager.task.event.model;
+
+import com.ignium.taskmanager.task.entity.Task;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published once for a set of tasks created, updated or deleted together by one user, instead
+ * of one {@link TaskCreatedEvent}, {@link TaskUpdatedEvent} or {@link TaskDeletedEvent} per task.
+ * The tasks carry their state after the change, or before it for deletions.
+ */
+@Getter
+public class TasksChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final UUID userId;
+    private final ChangeType changeType;
+    private final List<Task> tasks;
+
+    public TasksChangedEvent(UUID userId, ChangeType changeType, List<Task> tasks) {
+        this.userId = userId;
+        this.changeType = changeType;
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ignium.taskmanager.task.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Due date range of a task query: due at or after {@code from} and before {@code to}, each bound
+ * optional. Tasks without a due date never match. {@code openOnly} keeps only TODO and
+ * IN_PROGRESS tasks, which lets the query use the partial index over open tasks instead of
+ * reading through completed history.
+ */
+public record DueWindow(
+    LocalDateTime from,
+    LocalDateTime to,
+    boolean openOnly
+) {
+    public static DueWindow between(LocalDateTime from, LocalDateTime to) {
+        return new DueWindow(from, to, false);
+    }
+
+    /** Open tasks due from {@code now} up to {@code until}. */
+    public static DueWindow upcoming(LocalDateTime now, LocalDateTime until) {
+        return new DueWindow(now, until, true);
+    }
+
+    /** Open tasks whose due date has passed, the same rule the overdue counter uses. */
+    public static DueWindow overdue(LocalDateTime now) {
+        return new DueWindow(null, now, true);
+    }
+}
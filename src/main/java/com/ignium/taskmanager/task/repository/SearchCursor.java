@@ -0,0 +1,51 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last task returned by a search page: its rank plus the task id as tiebreaker.
+ * The rank is carried as the exact {@code real} the database computed, so the next page picks up
+ * precisely after it. Clients only ever see the opaque Base64 form produced by {@link #encode()}.
+ */
+public record SearchCursor(
+    float rank,
+    UUID id,
+    int page
+) {
+    private static final String VERSION = "s1";
+    private static final String SEPARATOR = "|";
+
+    public static SearchCursor after(TaskSearchHit hit, int page) {
+        return new SearchCursor(hit.rank(), hit.id(), page);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                VERSION,
+                Integer.toString(page),
+                id.toString(),
+                // Bit pattern rather than decimal text, so the value survives the round trip exactly
+                Integer.toHexString(Float.floatToIntBits(rank)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            return new SearchCursor(
+                    Float.intBitsToFloat(Integer.parseUnsignedInt(parts[3], 16)),
+                    UUID.fromString(parts[2]),
+                    Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.ignium.taskmanager.task.repository;
 
+import com.ignium.taskmanager.task.dto.TagResponse;
 import com.ignium.taskmanager.task.entity.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, UUID> {
+public interface TagRepository extends JpaRepository<Tag, UUID>, TagRepositoryCustom {
     
     Optional<Tag> findByName(String name);
     
@@ -18,4 +27,78 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
     Optional<Tag> findByNameAndUserId(String name, UUID userId);
     
     List<Tag> findAllByUserId(UUID userId);
+    
+    List<Tag> findAllByUserIdAndNameIn(UUID userId, Collection<String> names);
+
+    /**
+     * The user's tags with their task counts, counted from {@code task_tags} in one grouped
+     * query. Neither the tags' task collections nor any {@code Task} entities are loaded.
+     */
+    @Query("""
+            SELECT new com.ignium.taskmanager.task.dto.TagResponse(
+                       t.id, t.name, t.color, CAST(COUNT(task.id) AS Integer), t.createdAt, t.updatedAt)
+            FROM Tag t LEFT JOIN t.tasks task
+            WHERE t.userId = :userId
+            GROUP BY t.id, t.name, t.color, t.createdAt, t.updatedAt
+            ORDER BY t.name""")
+    List<TagResponse> findTagResponsesByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Single-tag variant of {@link #findTagResponsesByUserId}.
+     */
+    @Query("""
+            SELECT new com.ignium.taskmanager.task.dto.TagResponse(
+                       t.id, t.name, t.color, CAST(COUNT(task.id) AS Integer), t.createdAt, t.updatedAt)
+            FROM Tag t LEFT JOIN t.tasks task
+            WHERE t.id = :id
+            GROUP BY t.id, t.name, t.color, t.createdAt, t.updatedAt""")
+    Optional<TagResponse> findTagResponseById(@Param("id") UUID id);
+
+    long countByUserId(UUID userId);
+    
+    /**
+     * Database side of tag autocomplete: the user's tags whose lower-cased name matches the
+     * {@code LIKE} pattern, most used first. A left-anchored pattern is served by the
+     * {@code idx_tags_user_lower_name} expression index ({@code text_pattern_ops}).
+     */
+    @Query("""
+            SELECT new com.ignium.taskmanager.task.dto.TagResponse(
+                       t.id, t.name, t.color, CAST(COUNT(task.id) AS Integer), t.createdAt, t.updatedAt)
+            FROM Tag t LEFT JOIN t.tasks task
+            WHERE t.userId = :userId AND LOWER(t.name) LIKE :pattern ESCAPE '\\'
+            GROUP BY t.id, t.name, t.color, t.createdAt, t.updatedAt
+            ORDER BY COUNT(task.id) DESC, t.name""")
+    List<TagResponse> findTagSuggestions(@Param("userId") UUID userId, @Param("pattern") String pattern, Limit limit);
+    
+    /**
+     * Number of tasks carrying the tag, answered from the {@code task_tags} tag index alone.
+     */
+    @Query(value = "SELECT COUNT(*) FROM task_tags WHERE tag_id = :tagId", nativeQuery = true)
+    long countTasksByTagId(@Param("tagId") UUID tagId);
+    
+    /**
+     * Removes the tag from every task in one statement. Task entities already loaded in the
+     * current persistence context keep the tag in their collections until they are reloaded.
+     * Like every native write it names the table it touches, so that Hibernate evicts only the
+     * second-level cache regions mapped to that table instead of all of them.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tags"))
+    @Query(value = "DELETE FROM task_tags WHERE tag_id = :tagId", nativeQuery = true)
+    int detachFromAllTasks(@Param("tagId") UUID tagId);
+
+    /**
+     * Adds the target tag to every task carrying one of the source tags, in one statement. Tasks
+     * that already have the target, or carry several of the sources, still get a single row.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tags"))
+    @Query(value = """
+            INSERT INTO task_tags (task_id, tag_id)
+            SELECT DISTINCT source.task_id, :targetId FROM task_tags source
+            WHERE source.tag_id IN (:sourceIds)
+              AND NOT EXISTS (SELECT 1 FROM task_tags existing
+                              WHERE existing.task_id = source.task_id AND existing.tag_id = :targetId)""",
+            nativeQuery = true)
+    int copyTaskLinks(@Param("sourceIds") Collection<UUID> sourceIds, @Param("targetId") UUID targetId);
 }
@@ -0,0 +1,23 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.entity.Tag;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tag statements that Spring Data can't derive. Implemented by {@link TagRepositoryCustomImpl}.
+ */
+public interface TagRepositoryCustom {
+
+    /**
+     * Inserts a tag for each name in one statement, skipping names the user already has. Names
+     * inserted concurrently by another transaction are skipped as well instead of failing on the
+     * {@code (name, user_id)} unique constraint.
+     *
+     * @return the number of tags actually inserted
+     */
+    int insertIgnoringExisting(UUID userId, Collection<String> names);
+
+}
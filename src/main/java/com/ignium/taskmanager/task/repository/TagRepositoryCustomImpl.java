@@ -0,0 +1,50 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.entity.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public class TagRepositoryCustomImpl implements TagRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertIgnoringExisting(UUID userId, Collection<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        // Sorted so that concurrent inserts of overlapping names take the index locks in the same order
+        List<String> sortedNames = names.stream().distinct().sorted().toList();
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO tags (id, user_id, name, color, created_at, updated_at) VALUES ");
+        for (int i = 0; i < sortedNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i).append(", :userId, :name").append(i).append(", :color, :now, :now)");
+        }
+        sql.append(" ON CONFLICT DO NOTHING");
+
+        // Declaring the touched table limits auto-flush and cache invalidation to tags
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Tag.class)
+                .setParameter("userId", userId)
+                .setParameter("color", Tag.DEFAULT_COLOR)
+                .setParameter("now", LocalDateTime.now());
+        for (int i = 0; i < sortedNames.size(); i++) {
+            query.setParameter("id" + i, UUID.randomUUID());
+            query.setParameter("name" + i, sortedNames.get(i));
+        }
+        return query.executeUpdate();
+    }
+}
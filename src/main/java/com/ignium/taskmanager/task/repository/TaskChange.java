@@ -0,0 +1,21 @@
+package com.ignium.taskmanager.task.repository;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A task written or deleted at {@code changeSeq}, read from the tasks or the tombstones table
+ * for delta sync. Both tables order changes by {@code (changeSeq, id)}.
+ */
+public record TaskChange(UUID id, long changeSeq) {
+
+    /**
+     * The order of the queries: by sequence, then by id compared the way PostgreSQL compares
+     * UUIDs, as unsigned bytes, which {@link UUID#compareTo} does not.
+     */
+    public static final Comparator<TaskChange> ORDER = Comparator.comparingLong(TaskChange::changeSeq)
+            .thenComparing(TaskChange::id, (a, b) -> {
+                int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            });
+}
@@ -0,0 +1,52 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a client in its change feed: the last change it was sent, as {@code (changeSeq, id)},
+ * and when it got there. Tombstones older than that time may already be pruned, so a cursor is
+ * only honoured for as long as tombstones are kept. Clients only ever see the opaque Base64 form
+ * produced by {@link #encode()}.
+ */
+public record TaskChangeCursor(long changeSeq, UUID id, LocalDateTime issuedAt) {
+
+    private static final String VERSION = "c1";
+    private static final String SEPARATOR = "|";
+
+    /** Before every change, including tasks last written before changes were tracked (sequence 0). */
+    public static TaskChangeCursor start(LocalDateTime now) {
+        return new TaskChangeCursor(-1, new UUID(0, 0), now);
+    }
+
+    public TaskChangeCursor after(TaskChange change) {
+        return new TaskChangeCursor(change.changeSeq(), change.id(), issuedAt);
+    }
+
+    public TaskChangeCursor reissuedAt(LocalDateTime now) {
+        return new TaskChangeCursor(changeSeq, id, now);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, Long.toString(changeSeq), id.toString(), issuedAt.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskChangeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            return new TaskChangeCursor(Long.parseLong(parts[1]), UUID.fromString(parts[2]), LocalDateTime.parse(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidRequestException("Invalid since cursor: " + cursor, e);
+        }
+    }
+}
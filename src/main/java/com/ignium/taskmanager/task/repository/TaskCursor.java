@@ -0,0 +1,66 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last task returned by a keyset page: the sort key value plus the task id
+ * as tiebreaker. Clients only ever see the opaque Base64 form produced by {@link #encode()}.
+ */
+public record TaskCursor(
+    TaskSortKey sortKey,
+    Sort.Direction direction,
+    Object value,
+    UUID id,
+    int page
+) {
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "N";
+    private static final String PRESENT_VALUE = "V";
+
+    public static TaskCursor after(TaskResponse task, TaskSortKey sortKey, Sort.Direction direction, int page) {
+        return new TaskCursor(sortKey, direction, sortKey.valueOf(task), task.id(), page);
+    }
+
+    public String encode() {
+        String formatted = sortKey.format(value);
+        String raw = String.join(SEPARATOR,
+                VERSION,
+                sortKey.getParam(),
+                direction.name(),
+                Integer.toString(page),
+                id.toString(),
+                formatted == null ? NULL_VALUE : PRESENT_VALUE,
+                formatted == null ? "" : formatted);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The value goes last so that separators inside titles survive the split
+            String[] parts = raw.split("\\" + SEPARATOR, 7);
+            if (parts.length != 7 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            TaskSortKey sortKey = TaskSortKey.fromParam(parts[1])
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported cursor sort key"));
+            Object value = NULL_VALUE.equals(parts[5]) ? null : sortKey.parse(parts[6]);
+            return new TaskCursor(
+                    sortKey,
+                    Sort.Direction.valueOf(parts[2]),
+                    value,
+                    UUID.fromString(parts[4]),
+                    Integer.parseInt(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
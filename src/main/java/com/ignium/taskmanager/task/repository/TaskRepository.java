@@ -1,27 +1,45 @@
 package com.ignium.taskmanager.task.repository;
 
 
+import com.ignium.taskmanager.task.dto.TagDetailResponse;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
 import com.ignium.taskmanager.task.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
     
+    @EntityGraph(attributePaths = "tags")
     Optional<Task> findByIdAndUserId(UUID id, UUID userId);
     
     Optional<Task> findByCalendarEventId(String calendarEventId);
     
+    /**
+     * The task's version alone, for answering conditional requests without loading the task.
+     * Every change to what the task looks like, its tags included, bumps the version.
+     */
+    @Query("SELECT COALESCE(t.version, 0) FROM Task t WHERE t.id = :id AND t.userId = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+    
     Page<Task> findAllByUserId(UUID userId, Pageable pageable);
     
     @Query("SELECT COUNT(t) FROM Task t WHERE t.status = :status AND t.userId = :userId")
@@ -33,23 +51,139 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
     @Query("SELECT COUNT(t) FROM Task t WHERE t.userId = :userId")
     long countByUserId(@Param("userId") UUID userId);
     
-    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN t.tags tag WHERE t.userId = :userId " +
+    /**
+     * First phase of a list read: only the ids of the requested page. The page itself is then
+     * read in one query with {@link #findTaskResponsesByIdIn}, tags included. A task matches the tag filter
+     * when it carries any of {@code tagNames}, or, when {@code allTagCount} is set, that many
+     * distinct ones of them, i.e. all of them.
+     */
+    @Query(value = "SELECT t.id FROM Task t WHERE t.userId = :userId " +
+           "AND (:status IS NULL OR t.status = :status) " +
+           "AND (:tagNames IS NULL OR EXISTS (SELECT 1 FROM t.tags tag WHERE tag.name IN :tagNames)) " +
+           "AND (:allTagCount IS NULL OR (SELECT COUNT(tag) FROM t.tags tag WHERE tag.name IN :tagNames) = :allTagCount)",
+           countQuery = "SELECT COUNT(t) FROM Task t WHERE t.userId = :userId " +
+           "AND (:status IS NULL OR t.status = :status) " +
+           "AND (:tagNames IS NULL OR EXISTS (SELECT 1 FROM t.tags tag WHERE tag.name IN :tagNames)) " +
+           "AND (:allTagCount IS NULL OR (SELECT COUNT(tag) FROM t.tags tag WHERE tag.name IN :tagNames) = :allTagCount)")
+    Page<UUID> findTaskIdsWithFilters(@Param("userId") UUID userId,
+                                      @Param("status") Task.TaskStatus status,
+                                      @Param("tagNames") List<String> tagNames,
+                                      @Param("allTagCount") Long allTagCount,
+                                      Pageable pageable);
+    
+    /**
+     * Same as {@link #findTaskIdsWithFilters} without the count query. Spring Data reads one row
+     * past the page to tell whether another page follows.
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.userId = :userId " +
            "AND (:status IS NULL OR t.status = :status) " +
-           "AND (:tagNames IS NULL OR tag.name IN :tagNames)")
-    Page<Task> findTasksWithFilters(@Param("userId") UUID userId,
-                                     @Param("status") Task.TaskStatus status,
-                                     @Param("tagNames") List<String> tagNames,
-                                     Pageable pageable);
+           "AND (:tagNames IS NULL OR EXISTS (SELECT 1 FROM t.tags tag WHERE tag.name IN :tagNames)) " +
+           "AND (:allTagCount IS NULL OR (SELECT COUNT(tag) FROM t.tags tag WHERE tag.name IN :tagNames) = :allTagCount)")
+    Slice<UUID> findTaskIdSliceWithFilters(@Param("userId") UUID userId,
+                                           @Param("status") Task.TaskStatus status,
+                                           @Param("tagNames") List<String> tagNames,
+                                           @Param("allTagCount") Long allTagCount,
+                                           Pageable pageable);
+    
+    /**
+     * A page of the user's tasks carrying the given tag, read through {@code task_tags} and
+     * projected straight into summaries, so the tag's task collection is never loaded.
+     */
+    @Query(value = "SELECT new com.ignium.taskmanager.task.dto.TagDetailResponse$TaskSummary(" +
+           "t.id, t.title, t.status, t.priority, t.dueDate) " +
+           "FROM Task t JOIN t.tags tag WHERE tag.id = :tagId AND t.userId = :userId",
+           countQuery = "SELECT COUNT(t) FROM Task t JOIN t.tags tag WHERE tag.id = :tagId AND t.userId = :userId")
+    Page<TagDetailResponse.TaskSummary> findTaskSummariesByTagId(@Param("tagId") UUID tagId,
+                                                                 @Param("userId") UUID userId,
+                                                                 Pageable pageable);
+    
+    /**
+     * All of the user's tasks as type-ahead suggestions, for building the in-memory title index.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.ignium.taskmanager.task.dto.TaskSuggestionResponse(t.id, t.title, t.status, t.updatedAt) " +
+           "FROM Task t WHERE t.userId = :userId")
+    Stream<TaskSuggestionResponse> streamTaskSuggestions(@Param("userId") UUID userId);
     
     /**
-     * UPSERT method for updating calendar sync information without optimistic locking issues
+     * The user's tasks written after the position {@code (changeSeq, id)}, in change order, for
+     * delta sync. Served by the {@code (user_id, change_seq, id)} index, so a sync reads only
+     * what changed.
+     */
+    @Query("SELECT new com.ignium.taskmanager.task.repository.TaskChange(t.id, t.changeSeq) " +
+           "FROM Task t WHERE t.userId = :userId " +
+           "AND (t.changeSeq > :changeSeq OR (t.changeSeq = :changeSeq AND t.id > :id)) " +
+           "ORDER BY t.changeSeq, t.id")
+    List<TaskChange> findChangesAfter(@Param("userId") UUID userId,
+                                      @Param("changeSeq") long changeSeq,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+    
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.tags WHERE t.userId = :userId")
+    List<Task> findAllWithTagsByUserId(@Param("userId") UUID userId);
+    
+    /**
+     * Set-based update behind {@code PATCH /api/v1/tasks/bulk}. Null arguments leave the column
+     * unchanged. The version is bumped so that concurrent single-task edits still conflict, and
+     * the priority rank follows the priority as {@link Task#setPriority} would set it.
+     * {@code changeSeq} is the change stamp recorded for the update beforehand.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = COALESCE(:status, t.status), " +
+           "t.priority = COALESCE(:priority, t.priority), " +
+           "t.priorityRank = CASE COALESCE(:priority, t.priority) " +
+           "WHEN com.ignium.taskmanager.task.entity.Task.TaskPriority.LOW THEN 0 " +
+           "WHEN com.ignium.taskmanager.task.entity.Task.TaskPriority.MEDIUM THEN 1 " +
+           "WHEN com.ignium.taskmanager.task.entity.Task.TaskPriority.HIGH THEN 2 " +
+           "ELSE 3 END, " +
+           "t.dueDate = COALESCE(:dueDate, t.dueDate), " +
+           "t.version = t.version + 1, t.changeSeq = :changeSeq, t.updatedAt = :now " +
+           "WHERE t.userId = :userId AND t.id IN :ids")
+    int bulkUpdate(@Param("userId") UUID userId,
+                   @Param("ids") Collection<UUID> ids,
+                   @Param("status") Task.TaskStatus status,
+                   @Param("priority") Task.TaskPriority priority,
+                   @Param("dueDate") LocalDateTime dueDate,
+                   @Param("changeSeq") long changeSeq,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Set-based delete behind {@code DELETE /api/v1/tasks/bulk}. Hibernate removes the
+     * {@code task_tags} rows of the deleted tasks first.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.userId = :userId AND t.id IN :ids")
+    int bulkDelete(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Marks the tasks carrying any of the tags as changed, for tag renames and merges that change
+     * what those tasks look like without touching their rows. Like {@link #bulkUpdate} the version
+     * is bumped so that edits based on the old tags conflict. {@code changeSeq} is the change
+     * stamp recorded for the rename or merge beforehand.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = """
+        UPDATE tasks
+        SET version = version + 1,
+            updated_at = :now,
+            change_seq = :changeSeq
+        WHERE id IN (SELECT task_id FROM task_tags WHERE tag_id IN (:tagIds))
+        """, nativeQuery = true)
+    int touchTasksByTagIds(@Param("tagIds") Collection<UUID> tagIds, @Param("now") LocalDateTime now,
+                           @Param("changeSeq") long changeSeq);
+
+    /**
+     * UPSERT method for updating calendar sync information without optimistic locking issues.
+     * Neither column is part of the task's representation, so version and updated_at stay.
      */
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
     @Query(value = """
         UPDATE tasks 
         SET calendar_event_id = :eventId, 
-            last_synced_at = :syncedAt,
-            updated_at = NOW()
+            last_synced_at = :syncedAt
         WHERE id = :taskId
         """, nativeQuery = true)
     void upsertTaskCalendarInfo(@Param("taskId") UUID taskId, 
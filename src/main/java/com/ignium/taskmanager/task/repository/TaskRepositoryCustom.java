@@ -0,0 +1,93 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Task queries that are built dynamically and therefore can't be expressed as a single
+ * {@code @Query}. Implemented by {@link TaskRepositoryCustomImpl}.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Ids of a keyset page of the user's tasks ordered by {@code sortKey} then {@code id},
+     * starting right after {@code after} (or from the beginning when it is null). Unlike offset
+     * paging the cost does not grow with the depth of the page.
+     */
+    List<UUID> findTaskIdsAfter(UUID userId,
+                              Task.TaskStatus status,
+                              List<String> tagNames,
+                              TagMatch tagMatch,
+                              TaskSortKey sortKey,
+                              Sort.Direction direction,
+                              TaskCursor after,
+                              int limit);
+
+    /**
+     * Ids of a keyset page of the user's tasks due within {@code window}, soonest first then by
+     * id, starting right after {@code after} (or from the start when it is null). {@code after}
+     * must have been issued for due date ascending.
+     */
+    List<UUID> findTaskIdsDue(UUID userId,
+                              DueWindow window,
+                              Task.TaskStatus status,
+                              List<String> tagNames,
+                              TagMatch tagMatch,
+                              TaskCursor after,
+                              int limit);
+
+    /**
+     * Ids of a keyset page of the user's tasks whose title or description matches the
+     * {@code websearch_to_tsquery} syntax {@code query}, best {@code ts_rank} first then by id,
+     * starting right after {@code after} (or from the best match when it is null). PostgreSQL only:
+     * reads the generated {@code tasks.search_vector} column through its GIN index.
+     */
+    List<TaskSearchHit> searchTaskIds(UUID userId,
+                                      String query,
+                                      Task.TaskStatus status,
+                                      List<String> tagNames,
+                                      TagMatch tagMatch,
+                                      SearchCursor after,
+                                      int limit);
+
+    /**
+     * The user's most recently updated tasks with a title word starting with each of the
+     * lower-cased {@code prefixes}, for users with too many tasks to hold their titles in memory.
+     * The prefixes must consist of letters and digits only. PostgreSQL only: reads the
+     * {@code idx_tasks_user_title_words} GIN index.
+     */
+    List<TaskSuggestionResponse> findTaskSuggestions(UUID userId, Collection<String> prefixes, int limit);
+
+    long countTasksWithFilters(UUID userId, Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch);
+
+    /**
+     * Read-only projection of the given tasks straight into responses, with tag names
+     * aggregated in SQL. No entities are hydrated. The result is in no particular order.
+     */
+    List<TaskResponse> findTaskResponsesByIdIn(Collection<UUID> ids);
+
+    Optional<TaskResponse> findTaskResponseByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * All of the user's tasks matching the filter as responses, oldest first, read through a
+     * forward-only cursor. Rows are fetched from the database in chunks as the stream is consumed
+     * and never enter the persistence context. Must be consumed and closed inside a transaction.
+     */
+    Stream<TaskResponse> streamTaskResponses(UUID userId, Task.TaskStatus status, List<String> tagNames);
+
+    /**
+     * Locks the user's tasks matched by either {@code ids} (when not null) or the status/tag
+     * filter, and returns detached copies carrying the columns that task counters and calendar
+     * sync need. Tags, timestamps and version are not loaded.
+     */
+    List<Task> lockTaskSnapshots(UUID userId, Collection<UUID> ids, Task.TaskStatus status, List<String> tagNames);
+}
@@ -0,0 +1,367 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    /**
+     * Scalar projection of a task and its tag names. The FILTER drops the null produced by the
+     * outer join for tasks without tags, in which case the aggregate itself is null.
+     */
+    private static final String TASK_RESPONSE_SELECT = """
+            SELECT t.id AS id, t.title AS title, t.description AS description, t.status AS status,
+                   t.priority AS priority, t.dueDate AS dueDate, t.createdAt AS createdAt, t.updatedAt AS updatedAt,
+                   array_agg(tag.name) WITHIN GROUP (ORDER BY tag.name) FILTER (WHERE tag.name IS NOT NULL) AS tagNames
+            FROM Task t LEFT JOIN t.tags tag""";
+
+    private static final String TASK_RESPONSE_GROUP_BY =
+            " GROUP BY t.id, t.title, t.description, t.status, t.priority, t.dueDate, t.createdAt, t.updatedAt";
+
+    /**
+     * Same columns as {@link #TASK_RESPONSE_SELECT}, but tag names come from a correlated
+     * subquery instead of a GROUP BY, so the database can hand out rows as it reads them rather
+     * than aggregating the whole result first.
+     */
+    private static final String TASK_EXPORT_SELECT = """
+            SELECT t.id AS id, t.title AS title, t.description AS description, t.status AS status,
+                   t.priority AS priority, t.dueDate AS dueDate, t.createdAt AS createdAt, t.updatedAt AS updatedAt,
+                   (SELECT array_agg(tag.name) WITHIN GROUP (ORDER BY tag.name)
+                    FROM Task tagged JOIN tagged.tags tag WHERE tagged.id = t.id) AS tagNames
+            FROM Task t""";
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private static final String TASK_SNAPSHOT_SELECT = """
+            SELECT t.id AS id, t.title AS title, t.description AS description, t.status AS status,
+                   t.priority AS priority, t.dueDate AS dueDate, t.calendarEventId AS calendarEventId
+            FROM Task t""";
+
+    /**
+     * Text search configuration of both the generated {@code search_vector} column and the
+     * query; the two have to agree for stemmed words to match.
+     */
+    private static final String SEARCH_CONFIG = "english";
+
+    private static final String TASK_SEARCH_SELECT = """
+            SELECT t.id AS id, ts_rank(t.search_vector, query) AS rank
+            FROM tasks t, websearch_to_tsquery(CAST('%s' AS regconfig), :query) query
+            WHERE t.user_id = :userId AND t.search_vector @@ query""".formatted(SEARCH_CONFIG);
+
+    /**
+     * Text search configuration of the {@code idx_tasks_user_title_words} index. Unlike
+     * {@link #SEARCH_CONFIG} it neither stems nor drops stop words, so title words stay whole
+     * and match the word prefixes of the in-memory title index.
+     */
+    private static final String TITLE_WORDS_CONFIG = "simple";
+
+    private static final String TASK_SUGGESTION_SELECT = """
+            SELECT t.id, t.title, t.status, t.updated_at
+            FROM tasks t
+            WHERE t.user_id = :userId AND to_tsvector('%1$s', t.title) @@ to_tsquery('%1$s', :query)
+            ORDER BY t.updated_at DESC, t.id""".formatted(TITLE_WORDS_CONFIG);
+
+    /**
+     * Open statuses as literals rather than parameters: only then can PostgreSQL prove that the
+     * query is covered by the partial {@code idx_tasks_user_open_due_date} index.
+     */
+    private static final String OPEN_STATUS_PREDICATE =
+            " AND t.status IN (com.ignium.taskmanager.task.entity.Task.TaskStatus.TODO,"
+            + " com.ignium.taskmanager.task.entity.Task.TaskStatus.IN_PROGRESS)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> findTaskIdsAfter(UUID userId,
+                                     Task.TaskStatus status,
+                                     List<String> tagNames,
+                                     TagMatch tagMatch,
+                                     TaskSortKey sortKey,
+                                     Sort.Direction direction,
+                                     TaskCursor after,
+                                     int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT t.id FROM Task t");
+        appendFilters(jpql, params, userId, status, tagNames, tagMatch);
+        if (after != null) {
+            appendKeysetPredicate(jpql, params, sortKey, direction, after);
+        }
+
+        String dir = direction.isAscending() ? "ASC" : "DESC";
+        jpql.append(" ORDER BY t.").append(sortKey.getProperty()).append(' ').append(dir);
+        if (sortKey.isNullable()) {
+            jpql.append(" NULLS LAST");
+        }
+        jpql.append(", t.id ").append(dir);
+
+        TypedQuery<UUID> query = entityManager.createQuery(jpql.toString(), UUID.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<UUID> findTaskIdsDue(UUID userId,
+                                     DueWindow window,
+                                     Task.TaskStatus status,
+                                     List<String> tagNames,
+                                     TagMatch tagMatch,
+                                     TaskCursor after,
+                                     int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT t.id FROM Task t");
+        appendFilters(jpql, params, userId, status, tagNames, tagMatch);
+        jpql.append(" AND t.dueDate IS NOT NULL");
+        if (window.from() != null) {
+            jpql.append(" AND t.dueDate >= :dueFrom");
+            params.put("dueFrom", window.from());
+        }
+        if (window.to() != null) {
+            jpql.append(" AND t.dueDate < :dueTo");
+            params.put("dueTo", window.to());
+        }
+        if (window.openOnly()) {
+            jpql.append(OPEN_STATUS_PREDICATE);
+        }
+        // Due dates are never null here, so unlike appendKeysetPredicate there is no null tail
+        if (after != null) {
+            jpql.append(" AND (t.dueDate > :cursorValue OR (t.dueDate = :cursorValue AND t.id > :cursorId))");
+            params.put("cursorValue", after.value());
+            params.put("cursorId", after.id());
+        }
+        jpql.append(" ORDER BY t.dueDate, t.id");
+
+        TypedQuery<UUID> query = entityManager.createQuery(jpql.toString(), UUID.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<TaskSearchHit> searchTaskIds(UUID userId,
+                                             String query,
+                                             Task.TaskStatus status,
+                                             List<String> tagNames,
+                                             TagMatch tagMatch,
+                                             SearchCursor after,
+                                             int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("query", query);
+        StringBuilder sql = new StringBuilder("SELECT ranked.id, ranked.rank FROM (").append(TASK_SEARCH_SELECT);
+        if (status != null) {
+            sql.append(" AND t.status = :status");
+            params.put("status", status.name());
+        }
+        if (tagNames != null && !tagNames.isEmpty()) {
+            String tagged = "FROM task_tags tt JOIN tags tag ON tag.id = tt.tag_id WHERE tt.task_id = t.id AND tag.name IN (:tagNames)";
+            sql.append(" AND EXISTS (SELECT 1 ").append(tagged).append(')');
+            if (tagMatch == TagMatch.ALL) {
+                sql.append(" AND (SELECT COUNT(*) ").append(tagged).append(") = :allTagCount");
+                params.put("allTagCount", tagNames.stream().distinct().count());
+            }
+            params.put("tagNames", tagNames);
+        }
+        // The rank only exists once computed, so the keyset predicate goes on the outer query
+        sql.append(") ranked");
+        if (after != null) {
+            sql.append(" WHERE ranked.rank < :afterRank OR (ranked.rank = :afterRank AND ranked.id > :afterId)");
+            params.put("afterRank", after.rank());
+            params.put("afterId", after.id());
+        }
+        sql.append(" ORDER BY ranked.rank DESC, ranked.id");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString(), Tuple.class);
+        params.forEach(nativeQuery::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = nativeQuery.setMaxResults(limit).getResultList();
+        return rows.stream()
+                .map(row -> new TaskSearchHit(row.get("id", UUID.class), row.get("rank", Number.class).floatValue()))
+                .toList();
+    }
+
+    @Override
+    public List<TaskSuggestionResponse> findTaskSuggestions(UUID userId, Collection<String> prefixes, int limit) {
+        // Every prefix is a quoted lexeme matching by prefix; all of them have to match
+        String query = prefixes.stream().map(prefix -> "'" + prefix + "':*").collect(Collectors.joining(" & "));
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(TASK_SUGGESTION_SELECT)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("title", String.class)
+                .addScalar("status", String.class)
+                .addScalar("updated_at", LocalDateTime.class);
+        List<Object[]> rows = nativeQuery
+                .setParameter("userId", userId)
+                .setParameter("query", query)
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new TaskSuggestionResponse((UUID) row[0], (String) row[1],
+                        Task.TaskStatus.valueOf((String) row[2]), (LocalDateTime) row[3]))
+                .toList();
+    }
+
+    @Override
+    public long countTasksWithFilters(UUID userId, Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(t) FROM Task t");
+        appendFilters(jpql, params, userId, status, tagNames, tagMatch);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public List<TaskResponse> findTaskResponsesByIdIn(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(TASK_RESPONSE_SELECT + " WHERE t.id IN :ids" + TASK_RESPONSE_GROUP_BY, Tuple.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .map(this::toTaskResponse)
+                .toList();
+    }
+
+    @Override
+    public Optional<TaskResponse> findTaskResponseByIdAndUserId(UUID id, UUID userId) {
+        return entityManager.createQuery(
+                        TASK_RESPONSE_SELECT + " WHERE t.id = :id AND t.userId = :userId" + TASK_RESPONSE_GROUP_BY, Tuple.class)
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .findFirst()
+                .map(this::toTaskResponse);
+    }
+
+    @Override
+    public Stream<TaskResponse> streamTaskResponses(UUID userId, Task.TaskStatus status, List<String> tagNames) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(TASK_EXPORT_SELECT);
+        appendFilters(jpql, params, userId, status, tagNames, TagMatch.ANY);
+        jpql.append(" ORDER BY t.createdAt, t.id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        params.forEach(query::setParameter);
+        return query.getResultStream().map(this::toTaskResponse);
+    }
+
+    @Override
+    public List<Task> lockTaskSnapshots(UUID userId, Collection<UUID> ids, Task.TaskStatus status, List<String> tagNames) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(TASK_SNAPSHOT_SELECT);
+        if (ids != null) {
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            jpql.append(" WHERE t.userId = :userId AND t.id IN :ids");
+            params.put("userId", userId);
+            params.put("ids", ids);
+        } else {
+            appendFilters(jpql, params, userId, status, tagNames, TagMatch.ANY);
+        }
+        // A stable lock order keeps two overlapping bulk operations from deadlocking
+        jpql.append(" ORDER BY t.id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        params.forEach(query::setParameter);
+        return query.getResultStream()
+                .map(row -> Task.builder()
+                        .id(row.get("id", UUID.class))
+                        .userId(userId)
+                        .title(row.get("title", String.class))
+                        .description(row.get("description", String.class))
+                        .status(row.get("status", Task.TaskStatus.class))
+                        .priority(row.get("priority", Task.TaskPriority.class))
+                        .dueDate(row.get("dueDate", LocalDateTime.class))
+                        .calendarEventId(row.get("calendarEventId", String.class))
+                        .build())
+                .toList();
+    }
+
+    private TaskResponse toTaskResponse(Tuple row) {
+        String[] tagNames = row.get("tagNames", String[].class);
+        return new TaskResponse(
+                row.get("id", UUID.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("status", Task.TaskStatus.class),
+                row.get("priority", Task.TaskPriority.class),
+                row.get("dueDate", LocalDateTime.class),
+                tagNames == null ? List.of() : List.of(tagNames),
+                row.get("createdAt", LocalDateTime.class),
+                row.get("updatedAt", LocalDateTime.class));
+    }
+
+    /**
+     * Tag filtering uses EXISTS rather than a join so rows never need DISTINCT, which would
+     * otherwise force the database to materialise the whole result before applying the limit.
+     * {@link TagMatch#ALL} additionally counts the matching tags of each remaining task.
+     */
+    private void appendFilters(StringBuilder jpql, Map<String, Object> params,
+                               UUID userId, Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch) {
+        jpql.append(" WHERE t.userId = :userId");
+        params.put("userId", userId);
+        if (status != null) {
+            jpql.append(" AND t.status = :status");
+            params.put("status", status);
+        }
+        if (tagNames != null && !tagNames.isEmpty()) {
+            jpql.append(" AND EXISTS (SELECT 1 FROM t.tags tag WHERE tag.name IN :tagNames)");
+            params.put("tagNames", tagNames);
+            if (tagMatch == TagMatch.ALL) {
+                jpql.append(" AND (SELECT COUNT(tag) FROM t.tags tag WHERE tag.name IN :tagNames) = :allTagCount");
+                params.put("allTagCount", tagNames.stream().distinct().count());
+            }
+        }
+    }
+
+    /**
+     * Rows strictly after the cursor in (sortKey, id) order. Nullable keys are ordered
+     * NULLS LAST, so a null cursor value means only the null tail remains.
+     */
+    private void appendKeysetPredicate(StringBuilder jpql, Map<String, Object> params,
+                                       TaskSortKey sortKey, Sort.Direction direction, TaskCursor after) {
+        String key = "t." + sortKey.getProperty();
+        String cmp = direction.isAscending() ? ">" : "<";
+        params.put("cursorId", after.id());
+
+        if (after.value() == null) {
+            jpql.append(" AND (").append(key).append(" IS NULL AND t.id ").append(cmp).append(" :cursorId)");
+            return;
+        }
+
+        params.put("cursorValue", after.value());
+        jpql.append(" AND (").append(key).append(' ').append(cmp).append(" :cursorValue")
+            .append(" OR (").append(key).append(" = :cursorValue AND t.id ").append(cmp).append(" :cursorId)");
+        if (sortKey.isNullable()) {
+            jpql.append(" OR ").append(key).append(" IS NULL");
+        }
+        jpql.append(')');
+    }
+}
@@ -0,0 +1,9 @@
+package com.ignium.taskmanager.task.repository;
+
+import java.util.UUID;
+
+/**
+ * A task matched by full-text search with its {@code ts_rank} against the query.
+ */
+public record TaskSearchHit(UUID id, float rank) {
+}
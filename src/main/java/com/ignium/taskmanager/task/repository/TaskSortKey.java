@@ -0,0 +1,104 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The sort keys task lists accept. Each is backed by a {@code (user_id, key, id)} index and
+ * knows how to read its value from a task response and how to parse it back from a cursor.
+ * {@code param} is the name clients use, {@code property} the entity path sorted on; priority
+ * sorts on its rank so that it follows urgency rather than the alphabet.
+ */
+public enum TaskSortKey {
+
+    CREATED_AT("createdAt", "createdAt", false, TaskResponse::createdAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", "updatedAt", false, TaskResponse::updatedAt, LocalDateTime::parse),
+    DUE_DATE("dueDate", "dueDate", true, TaskResponse::dueDate, LocalDateTime::parse),
+    PRIORITY("priority", "priorityRank", false, task -> task.priority().rank(), Integer::valueOf),
+    TITLE("title", "title", false, TaskResponse::title, Function.identity());
+
+    private final String param;
+    private final String property;
+    private final boolean nullable;
+    private final Function<TaskResponse, Object> extractor;
+    private final Function<String, Object> parser;
+
+    TaskSortKey(String param, String property, boolean nullable,
+                Function<TaskResponse, ?> extractor, Function<String, ?> parser) {
+        this.param = param;
+        this.property = property;
+        this.nullable = nullable;
+        this.extractor = extractor::apply;
+        this.parser = parser::apply;
+    }
+
+    public static Optional<TaskSortKey> fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(key -> key.param.equals(param))
+                .findFirst();
+    }
+
+    /**
+     * Like {@link #fromParam} but rejecting anything else, naming the keys that are supported.
+     */
+    public static TaskSortKey require(String param) {
+        return fromParam(param).orElseThrow(() -> new InvalidRequestException(
+                "Unsupported sortBy value: " + param + " (expected " + Arrays.stream(values())
+                        .map(TaskSortKey::getParam)
+                        .collect(Collectors.joining(", ")) + ")"));
+    }
+
+    /**
+     * The {@code sortDirection} parameter, {@code asc} or {@code desc} in any case.
+     */
+    public static Sort.Direction direction(String param) {
+        try {
+            return Sort.Direction.fromString(param);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unsupported sortDirection value: " + param + " (expected asc or desc)", e);
+        }
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * Sort on this key then on id in the same direction, with nulls last as in keyset pages,
+     * matching the key's index column for column.
+     */
+    public Sort toSort(Sort.Direction direction) {
+        Sort.Order order = new Sort.Order(direction, property);
+        if (nullable) {
+            order = order.nullsLast();
+        }
+        return Sort.by(order, new Sort.Order(direction, "id"));
+    }
+
+    public Object valueOf(TaskResponse task) {
+        return extractor.apply(task);
+    }
+
+    public Object parse(String value) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    public String format(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.entity.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change to apply to a user's {@code user_task_stats} row. {@link #of(Task, LocalDateTime)} is the
+ * contribution of a single task; a write is the difference between the task after and before it.
+ */
+public record TaskStatsDelta(
+    long total,
+    long todo,
+    long inProgress,
+    long completed,
+    long cancelled,
+    long low,
+    long medium,
+    long high,
+    long urgent,
+    long overdue
+) {
+    public static final TaskStatsDelta NONE = new TaskStatsDelta(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    public static TaskStatsDelta of(Task task, LocalDateTime now) {
+        Task.TaskStatus status = task.getStatus();
+        Task.TaskPriority priority = task.getPriority();
+        return new TaskStatsDelta(
+            1,
+            status == Task.TaskStatus.TODO ? 1 : 0,
+            status == Task.TaskStatus.IN_PROGRESS ? 1 : 0,
+            status == Task.TaskStatus.COMPLETED ? 1 : 0,
+            status == Task.TaskStatus.CANCELLED ? 1 : 0,
+            priority == Task.TaskPriority.LOW ? 1 : 0,
+            priority == Task.TaskPriority.MEDIUM ? 1 : 0,
+            priority == Task.TaskPriority.HIGH ? 1 : 0,
+            priority == Task.TaskPriority.URGENT ? 1 : 0,
+            isOverdue(task, now) ? 1 : 0
+        );
+    }
+
+    /**
+     * A task is overdue while it is still open (TODO or IN_PROGRESS) and its due date has passed.
+     */
+    public static boolean isOverdue(Task task, LocalDateTime now) {
+        return task.getDueDate() != null
+            && task.getDueDate().isBefore(now)
+            && (task.getStatus() == Task.TaskStatus.TODO || task.getStatus() == Task.TaskStatus.IN_PROGRESS);
+    }
+
+    public TaskStatsDelta plus(TaskStatsDelta other) {
+        return new TaskStatsDelta(
+            total + other.total,
+            todo + other.todo,
+            inProgress + other.inProgress,
+            completed + other.completed,
+            cancelled + other.cancelled,
+            low + other.low,
+            medium + other.medium,
+            high + other.high,
+            urgent + other.urgent,
+            overdue + other.overdue
+        );
+    }
+
+    public TaskStatsDelta minus(TaskStatsDelta other) {
+        return new TaskStatsDelta(
+            total - other.total,
+            todo - other.todo,
+            inProgress - other.inProgress,
+            completed - other.completed,
+            cancelled - other.cancelled,
+            low - other.low,
+            medium - other.medium,
+            high - other.high,
+            urgent - other.urgent,
+            overdue - other.overdue
+        );
+    }
+
+    public TaskStatsDelta negate() {
+        return NONE.minus(this);
+    }
+
+    public boolean isZero() {
+        return equals(NONE);
+    }
+}
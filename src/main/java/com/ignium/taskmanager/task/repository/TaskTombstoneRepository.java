@@ -0,0 +1,34 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.entity.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    /**
+     * The user's deletions after the position {@code (changeSeq, id)}, in change order; the
+     * counterpart of {@link TaskRepository#findChangesAfter}.
+     */
+    @Query("SELECT new com.ignium.taskmanager.task.repository.TaskChange(t.taskId, t.changeSeq) " +
+           "FROM TaskTombstone t WHERE t.userId = :userId " +
+           "AND (t.changeSeq > :changeSeq OR (t.changeSeq = :changeSeq AND t.taskId > :id)) " +
+           "ORDER BY t.changeSeq, t.taskId")
+    List<TaskChange> findChangesAfter(@Param("userId") UUID userId,
+                                      @Param("changeSeq") long changeSeq,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,94 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserTaskStatsRepository extends JpaRepository<UserTaskStats, UUID> {
+
+    /**
+     * Adds a delta to the user's counters in place, so concurrent writers never overwrite each
+     * other, and bumps the change stamp. Returns 0 when the user has no counters row yet.
+     */
+    @Modifying
+    @Query("""
+        UPDATE UserTaskStats s SET
+            s.totalCount = s.totalCount + :#{#delta.total},
+            s.todoCount = s.todoCount + :#{#delta.todo},
+            s.inProgressCount = s.inProgressCount + :#{#delta.inProgress},
+            s.completedCount = s.completedCount + :#{#delta.completed},
+            s.cancelledCount = s.cancelledCount + :#{#delta.cancelled},
+            s.lowPriorityCount = s.lowPriorityCount + :#{#delta.low},
+            s.mediumPriorityCount = s.mediumPriorityCount + :#{#delta.medium},
+            s.highPriorityCount = s.highPriorityCount + :#{#delta.high},
+            s.urgentPriorityCount = s.urgentPriorityCount + :#{#delta.urgent},
+            s.overdueCount = s.overdueCount + :#{#delta.overdue},
+            s.changeStamp = s.changeStamp + 1,
+            s.updatedAt = :now
+        WHERE s.userId = :userId
+        """)
+    int applyDelta(@Param("userId") UUID userId, @Param("delta") TaskStatsDelta delta, @Param("now") LocalDateTime now);
+
+    /**
+     * Creates the user's counters row from the tasks table using PostgreSQL's ON CONFLICT clause.
+     * Does nothing if another transaction created it first; returns the number of rows inserted.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_task_stats"))
+    @Query(value = """
+        INSERT INTO user_task_stats (user_id, total_count, todo_count, in_progress_count, completed_count,
+                                     cancelled_count, low_priority_count, medium_priority_count, high_priority_count,
+                                     urgent_priority_count, overdue_count, change_stamp, updated_at)
+        SELECT :userId,
+               COUNT(*),
+               COUNT(*) FILTER (WHERE status = 'TODO'),
+               COUNT(*) FILTER (WHERE status = 'IN_PROGRESS'),
+               COUNT(*) FILTER (WHERE status = 'COMPLETED'),
+               COUNT(*) FILTER (WHERE status = 'CANCELLED'),
+               COUNT(*) FILTER (WHERE priority = 'LOW'),
+               COUNT(*) FILTER (WHERE priority = 'MEDIUM'),
+               COUNT(*) FILTER (WHERE priority = 'HIGH'),
+               COUNT(*) FILTER (WHERE priority = 'URGENT'),
+               COUNT(*) FILTER (WHERE due_date < :now AND status IN ('TODO', 'IN_PROGRESS')),
+               1,
+               :now
+        FROM tasks WHERE user_id = :userId
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int initializeFromTasks(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    /** The user's change stamp alone, without loading the counters. */
+    @Query("SELECT s.changeStamp FROM UserTaskStats s WHERE s.userId = :userId")
+    Optional<Long> findChangeStamp(@Param("userId") UUID userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserTaskStats s WHERE s.userId IN :userIds")
+    List<UserTaskStats> lockAllByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Counts for rebuilding counters: one row per user, status and priority with
+     * {@code [userId, status, priority, count, overdueCount]}.
+     */
+    @Query("""
+        SELECT t.userId, t.status, t.priority, count(t),
+               count(CASE WHEN t.dueDate < :now AND t.status IN (TODO, IN_PROGRESS) THEN 1 END)
+        FROM Task t WHERE t.userId IN :userIds
+        GROUP BY t.userId, t.status, t.priority
+        """)
+    List<Object[]> countTasksByUserIdIn(@Param("userIds") Collection<UUID> userIds, @Param("now") LocalDateTime now);
+}
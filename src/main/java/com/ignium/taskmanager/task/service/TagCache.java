@@ -0,0 +1,199 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.config.AfterCommit;
+import com.ignium.taskmanager.task.entity.Tag;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-process dictionary of tag ids by user and name, so that resolving the tags of a task write
+ * does not have to touch the tags table. Users are evicted least recently used first once
+ * {@code app.tag-cache.max-users} is reached, and each user's entries expire after
+ * {@code app.tag-cache.ttl} regardless of use. Only tags known to exist are cached, so creating
+ * a tag never makes an entry wrong; deleting or renaming one must call {@link #invalidate(UUID)}.
+ * Entries of a tag deleted on another node stay until evicted; task writes referencing one fail
+ * on its foreign key, evict the user and are retried.
+ * <p>
+ * Every eviction of a user moves on their generation. Readers take it with {@link #generation}
+ * before reading tags and hand it to {@code putAll}, which drops the entries if the user was
+ * evicted since: the read may have seen a name that a rename or merge committing meanwhile has
+ * moved to another tag.
+ */
+@Component
+@Slf4j
+public class TagCache {
+
+    private static final int MAX_TAGS_PER_USER = 1_000;
+
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final ObjectProvider<TagInvalidationBroadcaster> broadcaster;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private final LinkedHashMap<UUID, UserTags> tagsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, UserTags> eldest) {
+            if (size() > maxUsers) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Generations of recently evicted users; a user not held here is at {@link #forgottenGeneration},
+     * which forgetting a user raises to theirs, so a generation never appears to go back.
+     */
+    private long evictionCount;
+    private long forgottenGeneration;
+    private final LinkedHashMap<UUID, Long> generations = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            if (size() > maxUsers) {
+                forgottenGeneration = Math.max(forgottenGeneration, eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public TagCache(@Value("${app.tag-cache.max-users:10000}") int maxUsers,
+                    @Value("${app.tag-cache.ttl:10m}") Duration ttl,
+                    ObjectProvider<TagInvalidationBroadcaster> broadcaster,
+                    MeterRegistry meterRegistry) {
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttl.toNanos();
+        this.broadcaster = broadcaster;
+        this.hits = Counter.builder("tag.cache.gets").tag("result", "hit")
+                .description("Tag name lookups answered by the cache").register(meterRegistry);
+        this.misses = Counter.builder("tag.cache.gets").tag("result", "miss")
+                .description("Tag name lookups that went to the database").register(meterRegistry);
+        this.evictions = Counter.builder("tag.cache.evictions")
+                .description("Users evicted from the tag cache to stay within its size").register(meterRegistry);
+        Gauge.builder("tag.cache.users", this, TagCache::size)
+                .description("Users with cached tags").register(meterRegistry);
+    }
+
+    /**
+     * Cached ids of those of {@code names} the user has; names that are not cached are missing
+     * from the result.
+     */
+    public synchronized Map<String, UUID> getAll(UUID userId, Collection<String> names) {
+        UserTags userTags = tagsByUser.get(userId);
+        if (userTags != null && userTags.isExpired()) {
+            tagsByUser.remove(userId);
+            userTags = null;
+        }
+        Map<String, UUID> found = new HashMap<>();
+        for (String name : names) {
+            UUID id = userTags == null ? null : userTags.ids().get(name);
+            if (id != null) {
+                found.put(name, id);
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(names.size() - found.size());
+        return found;
+    }
+
+    /** The user's current generation; take it before reading the tags to cache. */
+    public synchronized long generation(UUID userId) {
+        return generations.getOrDefault(userId, forgottenGeneration);
+    }
+
+    public void putAll(UUID userId, long generation, Collection<Tag> tags) {
+        Map<String, UUID> ids = new HashMap<>();
+        for (Tag tag : tags) {
+            ids.put(tag.getName(), tag.getId());
+        }
+        putAll(userId, generation, ids);
+    }
+
+    /**
+     * Same as {@link #putAll(UUID, long, Collection)} for callers that only have names and ids,
+     * such as projections that never load the tag entities. Inside a transaction the entries are
+     * added once it commits, so that tags it creates are never cached if it rolls back, and only
+     * if the user is still at {@code generation} by then.
+     */
+    public void putAll(UUID userId, long generation, Map<String, UUID> idsByName) {
+        if (idsByName.isEmpty()) {
+            return;
+        }
+        Map<String, UUID> ids = Map.copyOf(idsByName);
+        AfterCommit.run(() -> putNow(userId, generation, ids));
+    }
+
+    private synchronized void putNow(UUID userId, long generation, Map<String, UUID> idsByName) {
+        if (generation(userId) != generation) {
+            log.debug("Dropped tags of user {} read before their cache was invalidated", userId);
+            return;
+        }
+        UserTags userTags = tagsByUser.get(userId);
+        if (userTags == null || userTags.isExpired()) {
+            userTags = new UserTags(new HashMap<>(), System.nanoTime() + ttlNanos);
+            tagsByUser.put(userId, userTags);
+        }
+        for (Map.Entry<String, UUID> entry : idsByName.entrySet()) {
+            if (userTags.ids().size() >= MAX_TAGS_PER_USER) {
+                break;
+            }
+            userTags.ids().put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Drops the user's entries on this node and, through the {@link TagInvalidationBroadcaster}
+     * if there is one, on the others. Inside a transaction this happens again after commit, so
+     * a concurrent read cannot put back a tag that the transaction deletes.
+     */
+    public void invalidate(UUID userId) {
+        evictLocal(userId);
+        AfterCommit.run(() -> {
+            evictLocal(userId);
+            broadcast(userId);
+        });
+    }
+
+    public synchronized void evictLocal(UUID userId) {
+        tagsByUser.remove(userId);
+        generations.put(userId, ++evictionCount);
+    }
+
+    public synchronized int size() {
+        return tagsByUser.size();
+    }
+
+    private void broadcast(UUID userId) {
+        broadcaster.ifAvailable(b -> {
+            try {
+                b.broadcast(userId);
+            } catch (RuntimeException e) {
+                // Other nodes still drop the entries once their TTL runs out
+                log.warn("Failed to broadcast tag cache invalidation for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    private record UserTags(Map<String, UUID> ids, long expiresAtNanos) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+}
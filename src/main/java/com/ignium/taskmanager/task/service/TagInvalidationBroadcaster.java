@@ -0,0 +1,13 @@
+package com.ignium.taskmanager.task.service;
+
+import java.util.UUID;
+
+/**
+ * Hook for running several application nodes: forwards a {@link TagCache} invalidation to the
+ * other nodes, which should call {@link TagCache#evictLocal(UUID)} when it arrives. Without a
+ * bean of this type each node only evicts its own entries and relies on the cache TTL for the rest.
+ */
+public interface TagInvalidationBroadcaster {
+
+    void broadcast(UUID userId);
+}
@@ -1,17 +1,30 @@
 package com.ignium.taskmanager.task.service;
 
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
 import com.ignium.taskmanager.config.exception.TagNotFoundException;
+import com.ignium.taskmanager.task.dto.PageResult;
 import com.ignium.taskmanager.task.dto.TagDetailResponse;
 import com.ignium.taskmanager.task.dto.TagResponse;
+import com.ignium.taskmanager.task.dto.TotalMode;
 import com.ignium.taskmanager.task.entity.Tag;
 import com.ignium.taskmanager.task.repository.TagRepository;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.task.repository.TaskSortKey;
 import com.ignium.taskmanager.user.service.UserContextService;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -20,22 +33,52 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TagService {
     
+    static final int MAX_SUGGESTIONS = 50;
+    
     private final TagRepository tagRepository;
+    private final TaskRepository taskRepository;
     private final UserContextService userContextService;
+    private final TagCache tagCache;
+    private final TaskCountEstimator taskCountEstimator;
+    private final TagSuggestionIndex tagSuggestionIndex;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskStatsService taskStatsService;
     
     @Transactional(readOnly = true)
     public List<TagResponse> getAllTags() {
         UUID currentUserId = userContextService.getCurrentUserId();
         log.info("Fetching all tags for user: {}", currentUserId);
-        return tagRepository.findAllByUserId(currentUserId).stream()
-            .map(TagResponse::from)
-            .collect(Collectors.toList());
+        long generation = tagCache.generation(currentUserId);
+        List<TagResponse> tags = tagRepository.findTagResponsesByUserId(currentUserId);
+        // Task counts change with every task write, so only the name dictionary is worth keeping
+        tagCache.putAll(currentUserId, generation, tags.stream()
+            .collect(Collectors.toMap(TagResponse::name, TagResponse::id)));
+        return tags;
+    }
+    
+    /**
+     * Type-ahead suggestions: the current user's tags starting with {@code prefix} (ignoring case),
+     * most used first.
+     */
+    @Transactional(readOnly = true)
+    public List<TagResponse> suggestTags(String prefix, int limit) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        log.debug("Suggesting tags for user: {} - prefix: {}, limit: {}", currentUserId, prefix, limit);
+        return tagSuggestionIndex.suggest(currentUserId, prefix.strip(), limit);
     }
     
+    /**
+     * The tag with one page of the current user's tasks that carry it. Only the page is read,
+     * so the cost does not depend on how many tasks the tag has.
+     */
     @Transactional(readOnly = true)
-    public TagDetailResponse getTagById(UUID id) {
+    public TagDetailResponse getTagById(UUID id, int page, int size, String sortBy, String sortDirection) {
         UUID currentUserId = userContextService.getCurrentUserId();
-        log.info("Fetching tag details for ID: {} and user: {}", id, currentUserId);
+        log.info("Fetching tag details for ID: {} and user: {} - page: {}, size: {}, sortBy: {}, sortDirection: {}",
+                id, currentUserId, page, size, sortBy, sortDirection);
         Tag tag = tagRepository.findById(id)
             .orElseThrow(() -> new TagNotFoundException(id));
         
@@ -44,13 +87,27 @@ public class TagService {
             throw new TagNotFoundException(id);
         }
         
-        return TagDetailResponse.from(tag, currentUserId);
+        if (page < 0 || size < 1) {
+            throw new InvalidRequestException("page must not be negative and size must be at least 1");
+        }
+        TaskSortKey sortKey = TaskSortKey.fromParam(sortBy)
+            .orElseThrow(() -> new InvalidRequestException("Tag tasks cannot be sorted by: " + sortBy));
+        // The id tie-breaker keeps pages stable when many tasks share a due date or priority
+        Pageable pageable = PageRequest.of(page, size, sortKey.toSort(TaskSortKey.direction(sortDirection)));
+        
+        Page<TagDetailResponse.TaskSummary> tasks = taskRepository.findTaskSummariesByTagId(id, currentUserId, pageable);
+        return TagDetailResponse.from(tag, new PageResult<>(tasks.getContent(), tasks.getTotalElements(),
+            TotalMode.EXACT, size, page, tasks.isLast(), null));
     }
     
+    /**
+     * Deletes the tag. A tag still in use is refused unless {@code force} is set, in which case
+     * it is first removed from all of its tasks. Neither path loads the tag's tasks.
+     */
     @Transactional
-    public void deleteTag(UUID id) {
+    public void deleteTag(UUID id, boolean force) {
         UUID currentUserId = userContextService.getCurrentUserId();
-        log.info("Deleting tag with ID: {} for user: {}", id, currentUserId);
+        log.info("Deleting tag with ID: {} for user: {} (force: {})", id, currentUserId, force);
         Tag tag = tagRepository.findById(id)
             .orElseThrow(() -> new TagNotFoundException(id));
         
@@ -59,15 +116,119 @@ public class TagService {
             throw new TagNotFoundException(id);
         }
         
-        // Check if tag has tasks
-        if (!tag.getTasks().isEmpty()) {
-            throw new IllegalStateException(
-                "Cannot delete tag with ID " + id + 
-                " because it is associated with " + tag.getTasks().size() + " tasks"
-            );
+        if (force) {
+            // Touch first: afterwards the tag no longer identifies the affected tasks
+            long changeSeq = taskStatsService.recordChanged(currentUserId);
+            taskRepository.touchTasksByTagIds(List.of(id), LocalDateTime.now(), changeSeq);
+            int detached = tagRepository.detachFromAllTasks(id);
+            if (detached > 0) {
+                // Cached counts and indexed tag bitmaps still include the tasks that just lost the tag
+                taskCountEstimator.evict(currentUserId);
+                taskFilterIndex.evict(currentUserId);
+                log.info("Detached tag {} from {} tasks", id, detached);
+            }
+        } else {
+            long taskCount = tagRepository.countTasksByTagId(id);
+            if (taskCount > 0) {
+                throw new IllegalStateException(
+                    "Cannot delete tag with ID " + id + 
+                    " because it is associated with " + taskCount + " tasks"
+                );
+            }
         }
         
         tagRepository.delete(tag);
+        tagCache.invalidate(currentUserId);
+        tagSuggestionIndex.tagDeleted(currentUserId, id);
         log.info("Tag deleted successfully with ID: {}", id);
     }
+    
+    /**
+     * Folds the source tags into the target: every task carrying a source tag carries the target
+     * instead, and the source tags are deleted. Runs as a fixed number of set-based statements
+     * whatever the number of tasks. No task events are published, so calendar sync is not
+     * involved; tags are not part of synced events.
+     */
+    @Transactional
+    public TagResponse mergeTags(UUID targetId, List<UUID> sourceIds) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        log.info("Merging tags {} into {} for user: {}", sourceIds, targetId, currentUserId);
+        Tag target = findOwnedTag(targetId, currentUserId);
+        
+        Set<UUID> distinctSourceIds = new LinkedHashSet<>(sourceIds);
+        if (distinctSourceIds.contains(targetId)) {
+            throw new InvalidRequestException("A tag cannot be merged into itself");
+        }
+        List<Tag> sources = tagRepository.findAllById(distinctSourceIds).stream()
+            .filter(tag -> tag.getUserId().equals(currentUserId))
+            .toList();
+        if (sources.size() != distinctSourceIds.size()) {
+            Set<UUID> found = sources.stream().map(Tag::getId).collect(Collectors.toSet());
+            throw new TagNotFoundException(distinctSourceIds.stream()
+                .filter(id -> !found.contains(id))
+                .findFirst()
+                .orElseThrow());
+        }
+        
+        merge(currentUserId, target, sources);
+        return tagRepository.findTagResponseById(targetId).orElseThrow(() -> new TagNotFoundException(targetId));
+    }
+    
+    /**
+     * Renames the tag. When the user already has a tag with the new name the two are merged
+     * into that one, since names are unique per user, and the surviving tag is returned.
+     */
+    @Transactional
+    public TagResponse renameTag(UUID id, String name) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        String newName = name.strip();
+        log.info("Renaming tag {} to '{}' for user: {}", id, newName, currentUserId);
+        Tag tag = findOwnedTag(id, currentUserId);
+        if (tag.getName().equals(newName)) {
+            return tagRepository.findTagResponseById(id).orElseThrow(() -> new TagNotFoundException(id));
+        }
+        
+        Optional<Tag> existing = tagRepository.findByNameAndUserId(newName, currentUserId);
+        if (existing.isPresent()) {
+            merge(currentUserId, existing.get(), List.of(tag));
+            return tagRepository.findTagResponseById(existing.get().getId())
+                .orElseThrow(() -> new TagNotFoundException(existing.get().getId()));
+        }
+        
+        tag.setName(newName);
+        // The native update flushes the new name first
+        long changeSeq = taskStatsService.recordChanged(currentUserId);
+        int touched = taskRepository.touchTasksByTagIds(List.of(id), LocalDateTime.now(), changeSeq);
+        tagsChanged(currentUserId, touched > 0);
+        log.info("Renamed tag {} on {} tasks", id, touched);
+        return tagRepository.findTagResponseById(id).orElseThrow(() -> new TagNotFoundException(id));
+    }
+    
+    private Tag findOwnedTag(UUID id, UUID userId) {
+        return tagRepository.findById(id)
+            .filter(tag -> tag.getUserId().equals(userId))
+            .orElseThrow(() -> new TagNotFoundException(id));
+    }
+    
+    private void merge(UUID userId, Tag target, List<Tag> sources) {
+        List<UUID> sourceIds = sources.stream().map(Tag::getId).toList();
+        // Touch first: afterwards the source tags no longer identify the affected tasks. The change
+        // is recorded before the touch so that the touched tasks carry its stamp
+        long changeSeq = taskStatsService.recordChanged(userId);
+        int touched = taskRepository.touchTasksByTagIds(sourceIds, LocalDateTime.now(), changeSeq);
+        int added = tagRepository.copyTaskLinks(sourceIds, target.getId());
+        // Hibernate removes the sources' task_tags rows as part of the bulk delete
+        tagRepository.deleteAllByIdInBatch(sourceIds);
+        tagsChanged(userId, touched > 0);
+        log.info("Merged tags {} into {}: {} tasks re-tagged, {} of them newly", sourceIds, target.getId(), touched, added);
+    }
+    
+    private void tagsChanged(UUID userId, boolean tasksChanged) {
+        tagCache.invalidate(userId);
+        tagSuggestionIndex.tagsChanged(userId);
+        if (tasksChanged) {
+            taskCountEstimator.evict(userId);
+            taskFilterIndex.evict(userId);
+        }
+    }
 }
@@ -0,0 +1,256 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.config.AfterCommit;
+import com.ignium.taskmanager.task.dto.TagResponse;
+import com.ignium.taskmanager.task.entity.Tag;
+import com.ignium.taskmanager.task.repository.TagRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user tag names sorted case-insensitively, for answering type-ahead prefixes with a binary
+ * search instead of a query. A user's tags are loaded on their first suggestion and kept until
+ * {@code app.tag-suggest.ttl} runs out or the user is evicted least recently used first. Tags
+ * created or deleted through this node are applied in place once their transaction commits; task
+ * counts are only refreshed on reload. Users with more than {@code app.tag-suggest.max-tags-per-user}
+ * tags are never held in memory and are answered from the database instead.
+ */
+@Component
+public class TagSuggestionIndex {
+
+    private static final Comparator<TagResponse> BY_USAGE = Comparator.comparingInt(TagResponse::taskCount).reversed()
+            .thenComparing(TagResponse::name);
+
+    private final TagRepository tagRepository;
+    private final int maxUsers;
+    private final int maxTagsPerUser;
+    private final long ttlNanos;
+
+    private final Timer memoryTimer;
+    private final Timer databaseTimer;
+
+    private final LinkedHashMap<UUID, UserTags> tagsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, UserTags> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    public TagSuggestionIndex(TagRepository tagRepository,
+                              @Value("${app.tag-suggest.max-users:10000}") int maxUsers,
+                              @Value("${app.tag-suggest.max-tags-per-user:5000}") int maxTagsPerUser,
+                              @Value("${app.tag-suggest.ttl:5m}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.tagRepository = tagRepository;
+        this.maxUsers = maxUsers;
+        this.maxTagsPerUser = maxTagsPerUser;
+        this.ttlNanos = ttl.toNanos();
+        this.memoryTimer = Timer.builder("tag.suggest").tag("source", "memory")
+                .description("Tag suggestions answered from the in-memory index")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.databaseTimer = Timer.builder("tag.suggest").tag("source", "database")
+                .description("Tag suggestions answered by a prefix query")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        Gauge.builder("tag.suggest.users", this, TagSuggestionIndex::size)
+                .description("Users with tags held in the suggestion index").register(meterRegistry);
+    }
+
+    /**
+     * Up to {@code limit} of the user's tags whose name starts with {@code prefix}, ignoring case,
+     * most used first and then by name. An empty prefix matches every tag.
+     */
+    public List<TagResponse> suggest(UUID userId, String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        UserTags userTags = get(userId);
+        if (userTags == null) {
+            userTags = load(userId);
+        }
+        if (userTags.tooLarge()) {
+            long start = System.nanoTime();
+            try {
+                return tagRepository.findTagSuggestions(userId, likePrefix(key), Limit.of(limit));
+            } finally {
+                databaseTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            return userTags.topByUsage(key, limit);
+        } finally {
+            memoryTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Adds newly created tags to the user's entry, if the user is held, once the current
+     * transaction commits. New tags start with a task count of zero.
+     */
+    public void tagsCreated(UUID userId, Collection<Tag> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        List<TagResponse> added = tags.stream()
+                .map(tag -> new TagResponse(tag.getId(), tag.getName(), tag.getColor(), 0,
+                        tag.getCreatedAt(), tag.getUpdatedAt()))
+                .toList();
+        AfterCommit.run(() -> update(userId, userTags -> userTags.with(added)));
+    }
+
+    /**
+     * Removes a deleted tag from the user's entry, if the user is held, once the current
+     * transaction commits.
+     */
+    public void tagDeleted(UUID userId, UUID tagId) {
+        AfterCommit.run(() -> update(userId, userTags -> userTags.without(tagId)));
+    }
+
+    /**
+     * Drops the user's entry once the current transaction commits, for changes such as renames
+     * and merges that are simpler to reload than to apply.
+     */
+    public void tagsChanged(UUID userId) {
+        AfterCommit.run(() -> evict(userId));
+    }
+
+    public synchronized void evict(UUID userId) {
+        tagsByUser.remove(userId);
+    }
+
+    public synchronized int size() {
+        return tagsByUser.size();
+    }
+
+    private synchronized UserTags get(UUID userId) {
+        UserTags userTags = tagsByUser.get(userId);
+        if (userTags != null && userTags.isExpired()) {
+            tagsByUser.remove(userId);
+            return null;
+        }
+        return userTags;
+    }
+
+    /**
+     * Reads the user's tags without holding the lock, so a slow load never blocks suggestions
+     * for other users. Two concurrent loads for the same user both succeed and the last one wins.
+     */
+    private UserTags load(UUID userId) {
+        long expiresAt = System.nanoTime() + ttlNanos;
+        UserTags userTags;
+        if (tagRepository.countByUserId(userId) > maxTagsPerUser) {
+            userTags = UserTags.tooLarge(expiresAt);
+        } else {
+            userTags = UserTags.of(tagRepository.findTagResponsesByUserId(userId), expiresAt);
+        }
+        synchronized (this) {
+            tagsByUser.put(userId, userTags);
+        }
+        return userTags;
+    }
+
+    private synchronized void update(UUID userId, UnaryOperator<UserTags> change) {
+        UserTags userTags = tagsByUser.get(userId);
+        if (userTags == null || userTags.tooLarge()) {
+            return;
+        }
+        UserTags changed = change.apply(userTags);
+        if (changed.tags().length > maxTagsPerUser) {
+            tagsByUser.put(userId, UserTags.tooLarge(userTags.expiresAtNanos()));
+        } else {
+            tagsByUser.put(userId, changed);
+        }
+    }
+
+    private static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Immutable snapshot of a user's tags; changes replace it. {@code keys[i]} is the lower-cased
+     * name of {@code tags[i]} and both arrays are sorted by it.
+     */
+    private record UserTags(String[] keys, TagResponse[] tags, boolean tooLarge, long expiresAtNanos) {
+
+        static UserTags of(Collection<TagResponse> tags, long expiresAtNanos) {
+            TagResponse[] sorted = tags.stream()
+                    .sorted(Comparator.comparing((TagResponse tag) -> tag.name().toLowerCase(Locale.ROOT))
+                            .thenComparing(TagResponse::name))
+                    .toArray(TagResponse[]::new);
+            String[] keys = Arrays.stream(sorted)
+                    .map(tag -> tag.name().toLowerCase(Locale.ROOT))
+                    .toArray(String[]::new);
+            return new UserTags(keys, sorted, false, expiresAtNanos);
+        }
+
+        static UserTags tooLarge(long expiresAtNanos) {
+            return new UserTags(new String[0], new TagResponse[0], true, expiresAtNanos);
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+
+        List<TagResponse> topByUsage(String prefix, int limit) {
+            int from = lowerBound(prefix);
+            // Keeps the best `limit` matches seen so far, worst on top
+            PriorityQueue<TagResponse> best = new PriorityQueue<>(limit + 1, BY_USAGE.reversed());
+            for (int i = from; i < keys.length && keys[i].startsWith(prefix); i++) {
+                best.add(tags[i]);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<TagResponse> result = new ArrayList<>(best);
+            result.sort(BY_USAGE);
+            return result;
+        }
+
+        UserTags with(Collection<TagResponse> added) {
+            Set<UUID> known = Arrays.stream(tags).map(TagResponse::id).collect(Collectors.toSet());
+            List<TagResponse> all = new ArrayList<>(Arrays.asList(tags));
+            added.stream()
+                    .filter(tag -> known.add(tag.id()))
+                    .forEach(all::add);
+            return of(all, expiresAtNanos);
+        }
+
+        UserTags without(UUID tagId) {
+            List<TagResponse> remaining = Arrays.stream(tags)
+                    .filter(tag -> !tag.id().equals(tagId))
+                    .toList();
+            return of(remaining, expiresAtNanos);
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.config.exception.ChangeCursorExpiredException;
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+import com.ignium.taskmanager.task.dto.TaskChangesResponse;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.repository.TaskChange;
+import com.ignium.taskmanager.task.repository.TaskChangeCursor;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.task.repository.TaskTombstoneRepository;
+import com.ignium.taskmanager.user.service.UserContextService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Delta sync of a user's tasks. Every write stores the user's new change stamp on the tasks it
+ * wrote ({@code tasks.change_seq}) and on tombstones of the tasks it deleted, so a sync reads both
+ * tables after the client's position through their {@code (user_id, change_seq, id)} indexes and
+ * costs as much as the changes it returns, however many tasks the user has. A task written several
+ * times since the client's position is sent once, as it is now.
+ */
+@Service
+@Slf4j
+public class TaskChangeService {
+
+    static final int MAX_CHANGES = 500;
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final UserContextService userContextService;
+    private final Duration tombstoneRetention;
+
+    public TaskChangeService(TaskRepository taskRepository,
+                             TaskTombstoneRepository taskTombstoneRepository,
+                             UserContextService userContextService,
+                             @Value("${app.task-changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.userContextService = userContextService;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code since}, oldest first; without {@code since}, every
+     * task the user has. Both tables are read in one snapshot, so a write committing in between
+     * cannot show up in one and not the other and be skipped by the returned cursor.
+     *
+     * @throws ChangeCursorExpiredException if {@code since} is older than the tombstones kept
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public TaskChangesResponse getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_CHANGES);
+        }
+        UUID currentUserId = userContextService.getCurrentUserId();
+        LocalDateTime now = LocalDateTime.now();
+        TaskChangeCursor from = since == null || since.isEmpty() ? TaskChangeCursor.start(now) : TaskChangeCursor.decode(since);
+        if (from.issuedAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new ChangeCursorExpiredException();
+        }
+        log.debug("Fetching task changes for user {} after {}/{}", currentUserId, from.changeSeq(), from.id());
+
+        // Each table returns one change more than asked, which tells whether there are more
+        Limit batch = Limit.of(limit + 1);
+        List<TaskChange> written = taskRepository.findChangesAfter(currentUserId, from.changeSeq(), from.id(), batch);
+        List<TaskChange> deleted = taskTombstoneRepository.findChangesAfter(currentUserId, from.changeSeq(), from.id(), batch);
+        List<TaskChange> changes = Stream.concat(written.stream(), deleted.stream())
+                .sorted(TaskChange.ORDER)
+                .limit(limit + 1)
+                .toList();
+        boolean hasMore = changes.size() > limit;
+        List<TaskChange> sent = hasMore ? changes.subList(0, limit) : changes;
+
+        Set<UUID> deletedIds = deleted.stream().map(TaskChange::id).collect(Collectors.toSet());
+        List<UUID> upsertedIds = sent.stream().map(TaskChange::id).filter(id -> !deletedIds.contains(id)).toList();
+        List<UUID> sentDeletedIds = sent.stream().map(TaskChange::id).filter(deletedIds::contains).toList();
+
+        TaskChangeCursor next = sent.isEmpty() ? from : from.after(sent.get(sent.size() - 1));
+        if (!hasMore) {
+            // Caught up as of this snapshot: no tombstone the client still needs is older than now
+            next = next.reissuedAt(now);
+        }
+        return new TaskChangesResponse(loadResponses(upsertedIds), sentDeletedIds, next.encode(), hasMore);
+    }
+
+    private List<TaskResponse> loadResponses(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, TaskResponse> responsesById = taskRepository.findTaskResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskResponse::id, Function.identity()));
+        return ids.stream()
+                .map(responsesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.config.AfterCommit;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.task.event.model.TaskCreatedEvent;
+import com.ignium.taskmanager.task.event.model.TaskDeletedEvent;
+import com.ignium.taskmanager.task.event.model.TaskUpdatedEvent;
+import com.ignium.taskmanager.task.event.model.TasksChangedEvent;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers {@code includeTotal=estimated}. Unfiltered and status-only totals come from the user's
+ * {@code user_task_stats} row. Tag-filtered totals are counted once per user and filter and kept
+ * until a transaction changing one of the user's tasks commits, or for {@code app.task-count.ttl}
+ * at most, so they may briefly lag a concurrent write. Users are evicted least recently used first
+ * once {@code app.task-count.max-users} is reached.
+ */
+@Component
+public class TaskCountEstimator {
+
+    private final TaskRepository taskRepository;
+    private final TaskStatsService taskStatsService;
+    private final int maxUsers;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<UUID, UserCounts> countsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, UserCounts> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    public TaskCountEstimator(TaskRepository taskRepository,
+                              TaskStatsService taskStatsService,
+                              @Value("${app.task-count.max-users:10000}") int maxUsers,
+                              @Value("${app.task-count.ttl:5m}") Duration ttl) {
+        this.taskRepository = taskRepository;
+        this.taskStatsService = taskStatsService;
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Counts are stored in the user's entry as found before counting: when the user is evicted
+     * meanwhile, a count that may predate the write goes with the old entry.
+     */
+    public long estimate(UUID userId, Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch) {
+        if (tagNames == null) {
+            Optional<UserTaskStats> stats = taskStatsService.find(userId);
+            if (stats.isPresent()) {
+                return status == null ? stats.get().getTotalCount() : stats.get().countFor(status);
+            }
+        }
+        CountKey key = tagNames == null
+                ? new CountKey(status, null, TagMatch.ANY)
+                : new CountKey(status, tagNames.stream().sorted().toList(), tagMatch);
+        return countsFor(userId).counts()
+                .computeIfAbsent(key, k -> taskRepository.countTasksWithFilters(userId, status, tagNames, tagMatch));
+    }
+
+    /** Drops the user's counts once the current transaction commits. */
+    public void evict(UUID userId) {
+        AfterCommit.run(() -> evictNow(userId));
+    }
+
+    private synchronized void evictNow(UUID userId) {
+        countsByUser.remove(userId);
+    }
+
+    private synchronized UserCounts countsFor(UUID userId) {
+        UserCounts userCounts = countsByUser.get(userId);
+        if (userCounts == null || userCounts.isExpired()) {
+            userCounts = new UserCounts(new ConcurrentHashMap<>(), System.nanoTime() + ttlNanos);
+            countsByUser.put(userId, userCounts);
+        }
+        return userCounts;
+    }
+
+    @EventListener
+    public void handleTaskCreatedEvent(TaskCreatedEvent event) {
+        evict(event.getTask().getUserId());
+    }
+
+    @EventListener
+    public void handleTasksChangedEvent(TasksChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @EventListener
+    public void handleTaskUpdatedEvent(TaskUpdatedEvent event) {
+        evict(event.getTask().getUserId());
+    }
+
+    @EventListener
+    public void handleTaskDeletedEvent(TaskDeletedEvent event) {
+        evict(event.getTask().getUserId());
+    }
+
+    private record CountKey(Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch) {
+    }
+
+    private record UserCounts(Map<CountKey, Long> counts, long expiresAtNanos) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ignium.taskmanager.task.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ignium.taskmanager.task.dto.ExportFormat;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes exported tasks one at a time to a response stream. Only the writer's own buffer is held
+ * in memory, so the size of an export does not matter. {@link #finish()} flushes but does not
+ * close the underlying stream, which belongs to the container.
+ */
+public abstract class TaskExportWriter {
+
+    public static TaskExportWriter create(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(out, objectMapper);
+            case CSV -> new CsvWriter(out);
+        };
+    }
+
+    public abstract void write(TaskResponse task) throws IOException;
+
+    public abstract void finish() throws IOException;
+
+    private static final class NdjsonWriter extends TaskExportWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setCodec(objectMapper);
+        }
+
+        @Override
+        public void write(TaskResponse task) throws IOException {
+            generator.writeObject(task);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvWriter extends TaskExportWriter {
+
+        private static final String HEADER = "id,title,description,status,priority,dueDate,tags,createdAt,updatedAt";
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(TaskResponse task) throws IOException {
+            String line = Stream.of(
+                            task.id().toString(),
+                            task.title(),
+                            task.description(),
+                            task.status().name(),
+                            task.priority().name(),
+                            format(task.dueDate()),
+                            String.join(";", task.tags()),
+                            format(task.createdAt()),
+                            format(task.updatedAt()))
+                    .map(CsvWriter::escape)
+                    .collect(Collectors.joining(","));
+            writer.write(line);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private static String format(LocalDateTime value) {
+            return value == null ? null : value.toString();
+        }
+
+        /**
+         * RFC 4180 quoting. Values that a spreadsheet would evaluate as a formula get a leading
+         * apostrophe, since titles and tags are user input.
+         */
+        private static String escape(String value) {
+            if (value == null || value.isEmpty()) {
+                return "";
+            }
+            if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.config.AfterCommit;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.task.event.model.TaskCreatedEvent;
+import com.ignium.taskmanager.task.event.model.TaskDeletedEvent;
+import com.ignium.taskmanager.task.event.model.TaskUpdatedEvent;
+import com.ignium.taskmanager.task.event.model.TasksChangedEvent;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.task.repository.TaskSortKey;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process filter engine for users with many tasks. When {@code app.task-index.enabled}
+ * is set, a user with at least {@code app.task-index.min-tasks} tasks gets a {@link UserTaskIndex}
+ * built on their first filtered list read, after which status/tag filters, sorting and offset
+ * paging are answered in memory and only the page's rows are read from the database. Smaller
+ * users, sorts by other properties and reads arriving while an index is being built go to the
+ * database as before.
+ * <p>
+ * Single-task and bulk task events, including edits taken over from Google Calendar, re-read the
+ * changed rows by id once their transaction commits and apply them in place. Tag renames, merges
+ * and deletions, which publish no task events, evict the user, and every index is rebuilt after
+ * {@code app.task-index.ttl}. Indexes are evicted
+ * least recently used first once their estimated size passes {@code app.task-index.max-memory}.
+ * <p>
+ * Writes made on other nodes publish no events here, so every index records the user's change
+ * stamp it reflects: the one it was built at, moved on by each applied event's {@code changeSeq}.
+ * A read finding the user's stamp elsewhere rebuilds the index instead of answering from it.
+ */
+@Component
+@Slf4j
+public class TaskFilterIndex {
+
+    /** Bulk changes touching more tasks than this are cheaper to rebuild from scratch. */
+    private static final int MAX_REFRESH_SIZE = 1000;
+
+    /** Guess of a task's footprint used to turn users away before reading their tasks. */
+    private static final long ESTIMATED_BYTES_PER_TASK = UserTaskIndex.BYTES_PER_TASK + 64;
+
+    private final TaskRepository taskRepository;
+    private final TaskStatsService taskStatsService;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+    private final long minTasks;
+    private final long maxMemoryBytes;
+    private final UserIndexes<UserTaskIndex> indexes;
+
+    private final Timer queryTimer;
+    private final Timer buildTimer;
+
+    public record IndexedPage(List<UUID> ids, long total) {
+    }
+
+    public TaskFilterIndex(TaskRepository taskRepository,
+                           TaskStatsService taskStatsService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.task-index.enabled:false}") boolean enabled,
+                           @Value("${app.task-index.min-tasks:2000}") long minTasks,
+                           @Value("${app.task-index.max-memory:64MB}") DataSize maxMemory,
+                           @Value("${app.task-index.ttl:10m}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.taskStatsService = taskStatsService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.enabled = enabled;
+        this.minTasks = minTasks;
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.indexes = new UserIndexes<>("task index", maxMemoryBytes, ttl);
+        this.queryTimer = Timer.builder("task.index.query")
+                .description("Filtered task pages answered from the in-memory index")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.buildTimer = Timer.builder("task.index.build")
+                .description("Time to read a user's tasks into the in-memory index")
+                .register(meterRegistry);
+        Gauge.builder("task.index.users", this, TaskFilterIndex::size)
+                .description("Users with tasks held in the filter index").register(meterRegistry);
+        Gauge.builder("task.index.bytes", this, TaskFilterIndex::usedBytes)
+                .description("Estimated memory held by the filter index").register(meterRegistry);
+    }
+
+    /**
+     * The ids of the requested page and the number of matching tasks, or empty when the query
+     * has to go to the database.
+     */
+    public Optional<IndexedPage> find(UUID userId, Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch,
+                                      String sortBy, Sort.Direction direction, int page, int size) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<TaskSortKey> sortKey = TaskSortKey.fromParam(sortBy);
+        long offset = (long) page * size;
+        if (sortKey.isEmpty() || offset > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        long changeStamp = taskStatsService.changeStamp(userId);
+        UserIndexes.Entry<UserTaskIndex> entry = indexes.get(userId);
+        if (entry != null && !isAt(entry, changeStamp)) {
+            log.debug("Task index of user {} missed writes, rebuilding it", userId);
+            indexes.evict(userId);
+            entry = null;
+        }
+        if (entry == null) {
+            entry = load(userId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+        }
+
+        long start = System.nanoTime();
+        entry.lock().readLock().lock();
+        try {
+            UserTaskIndex.Page result = entry.index()
+                    .query(status, tagNames, tagMatch, sortKey.get(), direction, (int) offset, size);
+            return Optional.of(new IndexedPage(result.ids(), result.total()));
+        } finally {
+            entry.lock().readLock().unlock();
+            queryTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    public void evict(UUID userId) {
+        indexes.evict(userId);
+    }
+
+    private static boolean isAt(UserIndexes.Entry<UserTaskIndex> entry, long changeStamp) {
+        entry.lock().readLock().lock();
+        try {
+            return entry.index().changeStamp() == changeStamp;
+        } finally {
+            entry.lock().readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return indexes.size();
+    }
+
+    public long usedBytes() {
+        return indexes.usedBytes();
+    }
+
+    @EventListener
+    public void handleTaskCreatedEvent(TaskCreatedEvent event) {
+        Task task = event.getTask();
+        changed(task.getUserId(), List.of(task.getId()), false, task.getChangeSeq());
+    }
+
+    @EventListener
+    public void handleTaskUpdatedEvent(TaskUpdatedEvent event) {
+        Task task = event.getTask();
+        changed(task.getUserId(), List.of(task.getId()), false, task.getChangeSeq());
+    }
+
+    @EventListener
+    public void handleTaskDeletedEvent(TaskDeletedEvent event) {
+        Task task = event.getTask();
+        changed(task.getUserId(), List.of(task.getId()), true, task.getChangeSeq());
+    }
+
+    /** The tasks of a bulk change share the {@code changeSeq} of the statements that wrote them. */
+    @EventListener
+    public void handleTasksChangedEvent(TasksChangedEvent event) {
+        List<UUID> ids = event.getTasks().stream().map(Task::getId).toList();
+        long changeSeq = event.getTasks().isEmpty() ? 0 : event.getTasks().get(0).getChangeSeq();
+        changed(event.getUserId(), ids, event.getChangeType() == TasksChangedEvent.ChangeType.DELETED, changeSeq);
+    }
+
+    private void changed(UUID userId, List<UUID> ids, boolean deleted, long changeSeq) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            indexes.changed(userId);
+            UserIndexes.Entry<UserTaskIndex> entry = indexes.peek(userId);
+            if (entry == null) {
+                return;
+            }
+            if (ids.size() > MAX_REFRESH_SIZE) {
+                indexes.evict(userId);
+            } else {
+                apply(userId, entry, ids, deleted, changeSeq);
+            }
+        });
+    }
+
+    /**
+     * Re-reads the changed tasks, unless deleted, and writes them into the index; ids that were
+     * not found any more are removed. The rows are read under the write lock, so when the commits
+     * of two writes to the same task are handled out of order, the one handled last still reads
+     * the newest row.
+     */
+    private void apply(UUID userId, UserIndexes.Entry<UserTaskIndex> entry, List<UUID> ids, boolean deleted,
+                       long changeSeq) {
+        UserTaskIndex index = entry.index();
+        boolean caughtUp;
+        entry.lock().writeLock().lock();
+        try {
+            if (index.reflects(changeSeq)) {
+                return;
+            }
+            List<TaskResponse> current = deleted
+                    ? List.of()
+                    : readTransaction.execute(status -> taskRepository.findTaskResponsesByIdIn(ids));
+            Set<UUID> missing = new HashSet<>(ids);
+            for (TaskResponse task : current) {
+                index.put(task);
+                missing.remove(task.id());
+            }
+            missing.forEach(index::remove);
+            caughtUp = index.applied(changeSeq);
+        } finally {
+            entry.lock().writeLock().unlock();
+        }
+        if (!caughtUp || index.removedCount() > index.size()) {
+            indexes.evict(userId);
+        } else {
+            indexes.evictOverBudget();
+        }
+    }
+
+    /** Reads all of the user's tasks into a new index, unless they are too few or too many. */
+    private UserIndexes.Entry<UserTaskIndex> load(UUID userId) {
+        if (indexes.isCold(userId)) {
+            return null;
+        }
+        long taskCount = taskStatsService.find(userId)
+                .map(UserTaskStats::getTotalCount)
+                .orElseGet(() -> taskRepository.countByUserId(userId));
+        if (taskCount < minTasks || taskCount * ESTIMATED_BYTES_PER_TASK > maxMemoryBytes) {
+            indexes.markCold(userId);
+            return null;
+        }
+
+        return indexes.build(userId, () -> {
+            long start = System.nanoTime();
+            UserTaskIndex index = readTransaction.execute(status -> {
+                // Read in the same snapshot as the tasks
+                UserTaskIndex built = new UserTaskIndex((int) taskCount, taskStatsService.changeStamp(userId));
+                try (Stream<TaskResponse> tasks = taskRepository.streamTaskResponses(userId, null, null)) {
+                    tasks.forEach(built::put);
+                }
+                return built;
+            });
+            buildTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            log.debug("Indexed {} tasks of user {}", index.size(), userId);
+            return index;
+        });
+    }
+}
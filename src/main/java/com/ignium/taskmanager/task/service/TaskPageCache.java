@@ -0,0 +1,247 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.dto.PageResult;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TotalMode;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.user.service.UserContextService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Recently served pages of {@code GET /api/v1/tasks}, per user and request, so that repeated
+ * identical list requests skip the database. Every page is stored with the user's change stamp
+ * (see {@link TaskStatsService#changeStamp}) read before it was queried, and is only served to a
+ * request that reads the same stamp. Each task write, tag change and calendar update moves the
+ * stamp in its own transaction, so no page survives a write, on this node or any other.
+ * <p>
+ * All pages together are kept under {@code app.task-page-cache.max-memory}, evicting whole users
+ * least recently used first; each user keeps at most {@code app.task-page-cache.max-pages-per-user}
+ * pages, and a user's pages are dropped {@code app.task-page-cache.ttl} after the first of them.
+ */
+@Component
+@Slf4j
+public class TaskPageCache {
+
+    /** Guess of the footprint of a cached page and of each task on it, apart from their strings. */
+    static final long BYTES_PER_PAGE = 256;
+    static final long BYTES_PER_TASK = 320;
+    static final long BYTES_PER_TAG = 48;
+
+    private final UserContextService userContextService;
+    private final long maxMemoryBytes;
+    private final int maxPagesPerUser;
+    private final long ttlNanos;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private final LinkedHashMap<UUID, UserPages> pagesByUser = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    public TaskPageCache(UserContextService userContextService,
+                         @Value("${app.task-page-cache.max-memory:16MB}") DataSize maxMemory,
+                         @Value("${app.task-page-cache.max-pages-per-user:50}") int maxPagesPerUser,
+                         @Value("${app.task-page-cache.ttl:5m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.userContextService = userContextService;
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.maxPagesPerUser = maxPagesPerUser;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = Counter.builder("task.page.cache.gets").tag("result", "hit")
+                .description("Task list requests answered by the page cache").register(meterRegistry);
+        this.misses = Counter.builder("task.page.cache.gets").tag("result", "miss")
+                .description("Task list requests that went to the database").register(meterRegistry);
+        this.evictions = Counter.builder("task.page.cache.evictions")
+                .description("Users evicted from the page cache to stay within its memory").register(meterRegistry);
+        Gauge.builder("task.page.cache.users", this, TaskPageCache::size)
+                .description("Users with cached task list pages").register(meterRegistry);
+        Gauge.builder("task.page.cache.bytes", this, TaskPageCache::usedBytes)
+                .description("Estimated memory held by the page cache").register(meterRegistry);
+    }
+
+    /**
+     * The current user's page for {@code key}, if it was stored under {@code stamp}. A newer stamp
+     * drops all of the user's pages, as they were all read before the write that moved it.
+     */
+    public synchronized Optional<PageResult<TaskResponse>> get(long stamp, Key key) {
+        UUID userId = userContextService.getCurrentUserId();
+        UserPages userPages = pagesByUser.get(userId);
+        if (userPages != null && (userPages.isExpired() || userPages.stamp < stamp)) {
+            remove(userId);
+            userPages = null;
+        }
+        CachedPage cached = userPages == null || userPages.stamp != stamp ? null : userPages.pages.get(key);
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached.page());
+    }
+
+    /**
+     * Stores the current user's page for {@code key}, read after {@code stamp}. Pages read under
+     * an older stamp than the user's cached ones are not kept, since a write has already passed
+     * them.
+     */
+    public synchronized void put(long stamp, Key key, PageResult<TaskResponse> page) {
+        long bytes = estimatedBytes(page);
+        if (bytes > maxMemoryBytes) {
+            return;
+        }
+        UUID userId = userContextService.getCurrentUserId();
+        UserPages userPages = pagesByUser.get(userId);
+        if (userPages != null && !userPages.isExpired() && userPages.stamp > stamp) {
+            return;
+        }
+        if (userPages == null || userPages.isExpired() || userPages.stamp < stamp) {
+            remove(userId);
+            userPages = new UserPages(stamp, System.nanoTime() + ttlNanos);
+            pagesByUser.put(userId, userPages);
+        }
+        CachedPage replaced = userPages.pages.put(key, new CachedPage(page, bytes));
+        userPages.bytes += bytes - (replaced == null ? 0 : replaced.bytes());
+        usedBytes += bytes - (replaced == null ? 0 : replaced.bytes());
+
+        Iterator<CachedPage> eldestPages = userPages.pages.values().iterator();
+        while (userPages.pages.size() > maxPagesPerUser && eldestPages.hasNext()) {
+            long evicted = eldestPages.next().bytes();
+            eldestPages.remove();
+            userPages.bytes -= evicted;
+            usedBytes -= evicted;
+        }
+        evictOverBudget(userId);
+    }
+
+    public synchronized int size() {
+        return pagesByUser.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    /** Evicts other users least recently used first, and only then the given user's older pages. */
+    private void evictOverBudget(UUID userId) {
+        Iterator<Map.Entry<UUID, UserPages>> eldestFirst = pagesByUser.entrySet().iterator();
+        while (usedBytes > maxMemoryBytes && eldestFirst.hasNext()) {
+            Map.Entry<UUID, UserPages> eldest = eldestFirst.next();
+            if (eldest.getKey().equals(userId)) {
+                continue;
+            }
+            usedBytes -= eldest.getValue().bytes;
+            eldestFirst.remove();
+            evictions.increment();
+            log.debug("Evicted task list pages of user {} to stay within {} bytes", eldest.getKey(), maxMemoryBytes);
+        }
+        UserPages userPages = pagesByUser.get(userId);
+        Iterator<CachedPage> eldestPages = userPages.pages.values().iterator();
+        while (usedBytes > maxMemoryBytes && eldestPages.hasNext()) {
+            long evicted = eldestPages.next().bytes();
+            eldestPages.remove();
+            userPages.bytes -= evicted;
+            usedBytes -= evicted;
+        }
+    }
+
+    private void remove(UUID userId) {
+        UserPages removed = pagesByUser.remove(userId);
+        if (removed != null) {
+            usedBytes -= removed.bytes;
+        }
+    }
+
+    static long estimatedBytes(PageResult<TaskResponse> page) {
+        long bytes = BYTES_PER_PAGE + length(page.nextCursor());
+        for (TaskResponse task : page.content()) {
+            bytes += BYTES_PER_TASK + length(task.title()) + length(task.description());
+            if (task.tags() != null) {
+                for (String tag : task.tags()) {
+                    bytes += BYTES_PER_TAG + length(tag);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long length(String value) {
+        // The most a String takes per character; Latin-1 text takes half
+        return value == null ? 0 : 2L * value.length();
+    }
+
+    /**
+     * A list request reduced to what selects its page: tags are sorted and deduplicated, and
+     * parameters that the request's mode ignores are left out, so equivalent requests share a page.
+     */
+    public record Key(Task.TaskStatus status, List<String> tags, TagMatch tagMatch, String sortBy,
+                      String sortDirection, TotalMode totalMode, LocalDateTime dueFrom, LocalDateTime dueTo,
+                      String cursor, int page, int size) {
+
+        public static Key page(Task.TaskStatus status, List<String> tags, TagMatch tagMatch, int page, int size,
+                               String sortBy, String sortDirection, TotalMode totalMode) {
+            List<String> effectiveTags = effectiveTags(tags);
+            return new Key(status, effectiveTags, effectiveTagMatch(effectiveTags, tagMatch), sortBy,
+                    sortDirection.toLowerCase(Locale.ROOT), totalMode, null, null, null, page, size);
+        }
+
+        public static Key cursor(Task.TaskStatus status, List<String> tags, TagMatch tagMatch, String cursor, int size,
+                                 String sortBy, String sortDirection, TotalMode totalMode) {
+            List<String> effectiveTags = effectiveTags(tags);
+            return new Key(status, effectiveTags, effectiveTagMatch(effectiveTags, tagMatch), sortBy,
+                    sortDirection.toLowerCase(Locale.ROOT), totalMode, null, null, cursor, 0, size);
+        }
+
+        public static Key dueBetween(LocalDateTime dueFrom, LocalDateTime dueTo, Task.TaskStatus status,
+                                     List<String> tags, TagMatch tagMatch, String cursor, int size) {
+            List<String> effectiveTags = effectiveTags(tags);
+            return new Key(status, effectiveTags, effectiveTagMatch(effectiveTags, tagMatch), null, null, null,
+                    dueFrom, dueTo, cursor, 0, size);
+        }
+
+        private static List<String> effectiveTags(List<String> tags) {
+            return tags == null || tags.isEmpty() ? null : tags.stream().distinct().sorted().toList();
+        }
+
+        private static TagMatch effectiveTagMatch(List<String> effectiveTags, TagMatch tagMatch) {
+            return effectiveTags == null ? TagMatch.ANY : tagMatch;
+        }
+    }
+
+    private record CachedPage(PageResult<TaskResponse> page, long bytes) {
+    }
+
+    private static final class UserPages {
+
+        private final long stamp;
+        private final long expiresAtNanos;
+        private final LinkedHashMap<Key, CachedPage> pages = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+
+        private UserPages(long stamp, long expiresAtNanos) {
+            this.stamp = stamp;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -1,64 +1,186 @@
 package com.ignium.taskmanager.task.service;
 
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+import com.ignium.taskmanager.config.exception.StaleTagReferenceException;
 import com.ignium.taskmanager.config.exception.TaskNotFoundException;
+import com.ignium.taskmanager.task.dto.BulkDeleteTasksRequest;
+import com.ignium.taskmanager.task.dto.BulkUpdateTasksRequest;
 import com.ignium.taskmanager.task.dto.CreateTaskRequest;
+import com.ignium.taskmanager.task.dto.PageResult;
+import com.ignium.taskmanager.task.dto.TagMatch;
 import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TaskSelector;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.dto.TotalMode;
 import com.ignium.taskmanager.task.dto.UpdateTaskRequest;
 import com.ignium.taskmanager.task.entity.Task;
 import com.ignium.taskmanager.task.entity.Tag;
+import com.ignium.taskmanager.task.entity.TaskTombstone;
 import com.ignium.taskmanager.task.event.model.TaskCreatedEvent;
 import com.ignium.taskmanager.task.event.model.TaskDeletedEvent;
 import com.ignium.taskmanager.task.event.model.TaskUpdatedEvent;
+import com.ignium.taskmanager.task.event.model.TasksChangedEvent;
+import com.ignium.taskmanager.task.repository.DueWindow;
+import com.ignium.taskmanager.task.repository.SearchCursor;
+import com.ignium.taskmanager.task.repository.TaskCursor;
 import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.task.repository.TaskSearchHit;
+import com.ignium.taskmanager.task.repository.TaskSortKey;
+import com.ignium.taskmanager.task.repository.TaskStatsDelta;
+import com.ignium.taskmanager.task.repository.TaskTombstoneRepository;
 import com.ignium.taskmanager.task.repository.TagRepository;
 import com.ignium.taskmanager.user.service.UserContextService;
 import com.ignium.taskmanager.user.service.UserSyncService;
 
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class TaskService {
     
+    private static final int BULK_CHUNK_SIZE = 1000;
+    
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    
+    static final int MAX_SUGGESTIONS = 50;
+    
+    static final int MAX_DUE_PAGE_SIZE = 100;
+    
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
+    static final int MAX_UPCOMING_DAYS = 366;
+    
     private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
     private final TagRepository tagRepository;
     private final UserContextService userContextService;
     private final UserSyncService userSyncService;
     private final ApplicationEventPublisher eventPublisher;
+    private final TaskCountEstimator taskCountEstimator;
+    private final TaskStatsService taskStatsService;
+    private final TagCache tagCache;
+    private final TagSuggestionIndex tagSuggestionIndex;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskSuggestionIndex taskSuggestionIndex;
 
     private Set<Tag> findOrCreateTags(List<String> tagNames, UUID userId) {
         if (tagNames == null || tagNames.isEmpty()) {
             return new HashSet<>();
         }
+        return new HashSet<>(findOrCreateTagsByName(new HashSet<>(tagNames), userId).values());
+    }
+    
+    /**
+     * Resolves tag names in a constant number of statements, none at all when every name is in
+     * the {@link TagCache}; cached tags are attached as references without being loaded. Names not
+     * cached take one lookup, then one insert of the missing ones and a read of what was inserted.
+     * The insert skips names another request created in the meantime, and the read picks those up too.
+     */
+    private Map<String, Tag> findOrCreateTagsByName(Set<String> tagNames, UUID userId) {
+        if (tagNames.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Tag> tagsByName = new HashMap<>();
+        tagCache.getAll(userId, tagNames)
+                .forEach((name, id) -> tagsByName.put(name, tagRepository.getReferenceById(id)));
+        if (tagsByName.size() == tagNames.size()) {
+            return tagsByName;
+        }
         
-        Set<Tag> tags = new HashSet<>();
-        for (String tagName : tagNames) {
-            Tag tag = tagRepository.findByNameAndUserId(tagName, userId)
-                .orElseGet(() -> {
-                    Tag newTag = Tag.builder()
-                        .name(tagName)
-                        .userId(userId)
-                        .build();
-                    return tagRepository.save(newTag);
-                });
-            tags.add(tag);
+        List<String> uncached = tagNames.stream()
+                .filter(name -> !tagsByName.containsKey(name))
+                .toList();
+        long generation = tagCache.generation(userId);
+        List<Tag> resolved = new ArrayList<>(tagRepository.findAllByUserIdAndNameIn(userId, uncached));
+        Set<String> found = resolved.stream().map(Tag::getName).collect(Collectors.toSet());
+        List<String> missing = uncached.stream()
+                .filter(name -> !found.contains(name))
+                .toList();
+        if (!missing.isEmpty()) {
+            tagRepository.insertIgnoringExisting(userId, missing);
+            List<Tag> created = tagRepository.findAllByUserIdAndNameIn(userId, missing);
+            tagSuggestionIndex.tagsCreated(userId, created);
+            resolved.addAll(created);
         }
-        return tags;
+        resolved.forEach(tag -> tagsByName.put(tag.getName(), tag));
+        tagCache.putAll(userId, generation, resolved);
+        return tagsByName;
+    }
+    
+    /**
+     * Writes the task's pending rows now, while a failure can still be told apart. A tag id taken
+     * from the {@link TagCache} may belong to a tag deleted on another node, which fails the
+     * task_tags foreign key; the user's cached tags are then dropped, and the write is retried
+     * in a new transaction that resolves every name through the database.
+     */
+    private void flushTags(UUID userId) {
+        try {
+            taskRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            tagCache.evictLocal(userId);
+            throw new StaleTagReferenceException(userId, e);
+        }
+    }
+    
+    private static List<String> distinctTagNames(List<String> tagNames) {
+        return tagNames == null ? List.of() : tagNames.stream().distinct().toList();
+    }
+    
+    /**
+     * Null for no tag filter, otherwise the names without duplicates, so that matching all of
+     * them can compare against how many there are.
+     */
+    private static List<String> effectiveTagNames(List<String> tagNames) {
+        return (tagNames == null || tagNames.isEmpty()) ? null : tagNames.stream().distinct().toList();
+    }
+    
+    private static Long allTagCount(List<String> effectiveTagNames, TagMatch tagMatch) {
+        return effectiveTagNames != null && tagMatch == TagMatch.ALL ? (long) effectiveTagNames.size() : null;
+    }
+    
+    /**
+     * Reads the tasks of a page as responses in a single projection query, keeping the order
+     * of {@code ids}. Nothing is loaded into the persistence context on this path.
+     */
+    private List<TaskResponse> loadResponses(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, TaskResponse> responsesById = taskRepository.findTaskResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskResponse::id, Function.identity()));
+        return ids.stream()
+                .map(responsesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
     
     /**
@@ -73,6 +195,7 @@ public class TaskService {
     }
     
     @Transactional
+    @Retryable(retryFor = StaleTagReferenceException.class, maxAttempts = 2)
     public TaskResponse createTask(CreateTaskRequest request) {
         
         UUID currentUserId = userContextService.getCurrentUserId();
@@ -88,11 +211,60 @@ public class TaskService {
             .tags(findOrCreateTags(request.tags(), currentUserId))
             .build();
         
+        // Stamped before the insert, so the task is written once
+        task.setChangeSeq(taskStatsService.recordCreated(task));
         task = taskRepository.save(task);
+        if (!task.getTags().isEmpty()) {
+            flushTags(currentUserId);
+        }
         eventPublisher.publishEvent(new TaskCreatedEvent(task));
         
         log.info("Task created successfully with ID: {}", task.getId());
-        return TaskResponse.from(task);
+        return TaskResponse.from(task, distinctTagNames(request.tags()));
+    }
+    
+    /**
+     * Creates several tasks for the current user in one transaction. Inserts go out in JDBC
+     * batches, tags are resolved once for the whole batch, and calendar sync gets a single event.
+     */
+    @Transactional
+    @Retryable(retryFor = StaleTagReferenceException.class, maxAttempts = 2)
+    public List<TaskResponse> createTasks(List<CreateTaskRequest> requests) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        
+        ensureUserExists(currentUserId);
+        Set<String> tagNames = requests.stream()
+            .filter(request -> request.tags() != null)
+            .flatMap(request -> request.tags().stream())
+            .collect(Collectors.toSet());
+        Map<String, Tag> tagsByName = findOrCreateTagsByName(tagNames, currentUserId);
+        
+        List<Task> tasks = requests.stream()
+            .map(request -> Task.builder()
+                .userId(currentUserId)
+                .title(request.title())
+                .description(request.description())
+                .status(request.status())
+                .priority(request.priority())
+                .dueDate(request.dueDate())
+                .tags(request.tags() == null ? new HashSet<>() : request.tags().stream()
+                    .map(tagsByName::get)
+                    .collect(Collectors.toCollection(HashSet::new)))
+                .build())
+            .toList();
+        
+        long changeSeq = taskStatsService.recordCreated(currentUserId, tasks);
+        tasks.forEach(task -> task.setChangeSeq(changeSeq));
+        List<Task> saved = taskRepository.saveAll(tasks);
+        if (!tagsByName.isEmpty()) {
+            flushTags(currentUserId);
+        }
+        eventPublisher.publishEvent(new TasksChangedEvent(currentUserId, TasksChangedEvent.ChangeType.CREATED, saved));
+        
+        log.info("Created {} tasks in batch for user {}", saved.size(), currentUserId);
+        return IntStream.range(0, saved.size())
+            .mapToObj(i -> TaskResponse.from(saved.get(i), distinctTagNames(requests.get(i).tags())))
+            .collect(Collectors.toList());
     }
     
     public TaskResponse getTaskById(UUID id) {
@@ -100,10 +272,28 @@ public class TaskService {
         
         UUID currentUserId = userContextService.getCurrentUserId();
         
-        Task task = taskRepository.findByIdAndUserId(id, currentUserId)
+        return taskRepository.findTaskResponseByIdAndUserId(id, currentUserId)
                 .orElseThrow(() -> new TaskNotFoundException(id));
-        
-        return TaskResponse.from(task);
+    }
+    
+    /**
+     * Version of one of the current user's tasks, the ETag of {@code GET /api/v1/tasks/{id}}.
+     * Read on its own so that an unchanged task is answered without loading it.
+     */
+    @Transactional(readOnly = true)
+    public long getTaskVersion(UUID id) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        return taskRepository.findVersionByIdAndUserId(id, currentUserId)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+    
+    /**
+     * The current user's change stamp, the ETag of task list pages: any change to any of their
+     * tasks moves it, whatever the page shows.
+     */
+    public long getTaskListStamp() {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        return taskStatsService.changeStamp(currentUserId);
     }
     
     public List<TaskResponse> getAllTasks() {
@@ -111,18 +301,44 @@ public class TaskService {
         
         UUID currentUserId = userContextService.getCurrentUserId();
         
-        return taskRepository.findAllByUserId(currentUserId, Pageable.unpaged()).getContent().stream()
+        return taskRepository.findAllWithTagsByUserId(currentUserId).stream()
                 .map(TaskResponse::from)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Writes the current user's tasks matching the filter, oldest first. Rows are read through a
+     * database cursor a chunk at a time and written as they arrive, so memory use does not grow
+     * with the number of tasks. The read-only transaction stays open until the last row is written.
+     *
+     * @return the number of tasks written
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(Task.TaskStatus status, List<String> tagNames, TaskExportWriter writer) throws IOException {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        List<String> effectiveTagNames = (tagNames == null || tagNames.isEmpty()) ? null : tagNames;
+        
+        long count = 0;
+        try (Stream<TaskResponse> tasks = taskRepository.streamTaskResponses(currentUserId, status, effectiveTagNames)) {
+            Iterator<TaskResponse> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                count++;
+            }
+        }
+        writer.finish();
+        
+        log.info("Exported {} tasks for user {}", count, currentUserId);
+        return count;
+    }
+    
     public Page<TaskResponse> getTasksPaginated(int page, int size, String sortBy, String sortDirection) {
         log.info("Fetching tasks with pagination - page: {}, size: {}, sortBy: {}, sortDirection: {}", 
                 page, size, sortBy, sortDirection);
         
         UUID currentUserId = userContextService.getCurrentUserId();
         
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        Sort sort = TaskSortKey.require(sortBy).toSort(TaskSortKey.direction(sortDirection));
         Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<Task> tasks = taskRepository.findAllByUserId(currentUserId, pageable);
@@ -130,25 +346,225 @@ public class TaskService {
         return tasks.map(TaskResponse::from);
     }
     
-    public Page<TaskResponse> getTasksWithFilters(Task.TaskStatus status, List<String> tagNames, 
-                                                    int page, int size, String sortBy, String sortDirection) {
-        log.info("Fetching tasks with filters - status: {}, tags: {}, page: {}, size: {}, sortBy: {}, sortDirection: {}", 
-                status, tagNames, page, size, sortBy, sortDirection);
+    public PageResult<TaskResponse> getTasksWithFilters(Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch,
+                                                         int page, int size, String sortBy, String sortDirection,
+                                                         TotalMode totalMode) {
+        log.info("Fetching tasks with filters - status: {}, tags: {}, tagMatch: {}, page: {}, size: {}, sortBy: {}, sortDirection: {}, includeTotal: {}", 
+                status, tagNames, tagMatch, page, size, sortBy, sortDirection, totalMode);
         
         UUID currentUserId = userContextService.getCurrentUserId();
         
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // Only indexed keys are accepted, each with the id as tiebreaker so that pages never overlap
+        if (page < 0 || size < 1) {
+            throw new InvalidRequestException("page must not be negative and size must be at least 1");
+        }
+        TaskSortKey sortKey = TaskSortKey.require(sortBy);
+        Sort.Direction direction = TaskSortKey.direction(sortDirection);
+        Pageable pageable = PageRequest.of(page, size, sortKey.toSort(direction));
         
         // Handle empty tagNames list - if empty, pass null to query to avoid filtering by tags
-        List<String> effectiveTagNames = (tagNames == null || tagNames.isEmpty()) ? null : tagNames;
+        List<String> effectiveTagNames = effectiveTagNames(tagNames);
+        
+        // The index counts every match anyway, so its total is exact whatever was asked for
+        Optional<TaskFilterIndex.IndexedPage> indexed = taskFilterIndex.find(
+                currentUserId, status, effectiveTagNames, tagMatch, sortBy, direction, page, size);
+        if (indexed.isPresent()) {
+            long total = indexed.get().total();
+            return new PageResult<>(loadResponses(indexed.get().ids()), totalMode == TotalMode.NONE ? null : total,
+                    totalMode, size, page, (long) (page + 1) * size >= total, null);
+        }
         
-        Page<Task> tasks = taskRepository.findTasksWithFilters(currentUserId, status, effectiveTagNames, pageable);
+        Long allTagCount = allTagCount(effectiveTagNames, tagMatch);
+        if (totalMode == TotalMode.EXACT) {
+            Page<UUID> taskIds = taskRepository.findTaskIdsWithFilters(currentUserId, status, effectiveTagNames, allTagCount, pageable);
+            return new PageResult<>(loadResponses(taskIds.getContent()), taskIds.getTotalElements(), totalMode,
+                    size, page, taskIds.isLast(), null);
+        }
         
-        return tasks.map(TaskResponse::from);
+        Slice<UUID> taskIds = taskRepository.findTaskIdSliceWithFilters(currentUserId, status, effectiveTagNames, allTagCount, pageable);
+        Long total = totalMode == TotalMode.ESTIMATED
+                ? taskCountEstimator.estimate(currentUserId, status, effectiveTagNames, tagMatch)
+                : null;
+        
+        return new PageResult<>(loadResponses(taskIds.getContent()), total, totalMode,
+                size, page, taskIds.isLast(), null);
+    }
+    
+    /**
+     * Keyset variant of {@link #getTasksWithFilters}. The cursor is the opaque token returned as
+     * {@code nextCursor} by the previous page; an empty cursor starts from the first page.
+     */
+    public PageResult<TaskResponse> getTasksWithCursor(Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch,
+                                                       String cursor, int size, String sortBy, String sortDirection,
+                                                       TotalMode totalMode) {
+        log.info("Fetching tasks with cursor - status: {}, tags: {}, tagMatch: {}, size: {}, sortBy: {}, sortDirection: {}",
+                status, tagNames, tagMatch, size, sortBy, sortDirection);
+        
+        UUID currentUserId = userContextService.getCurrentUserId();
+        
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidRequestException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        TaskSortKey sortKey = TaskSortKey.fromParam(sortBy)
+                .orElseThrow(() -> new InvalidRequestException("Cursor pagination does not support sorting by: " + sortBy));
+        Sort.Direction direction = TaskSortKey.direction(sortDirection);
+        
+        TaskCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = TaskCursor.decode(cursor);
+            if (after.sortKey() != sortKey || after.direction() != direction) {
+                throw new InvalidRequestException("Cursor was issued for a different sort order");
+            }
+        }
+        int pageNumber = after == null ? 0 : after.page();
+        
+        List<String> effectiveTagNames = effectiveTagNames(tagNames);
+        
+        // Fetch one extra row to learn whether another page follows without a second query
+        List<UUID> taskIds = taskRepository.findTaskIdsAfter(
+                currentUserId, status, effectiveTagNames, tagMatch, sortKey, direction, after, size + 1);
+        boolean last = taskIds.size() <= size;
+        List<TaskResponse> pageContent = loadResponses(last ? taskIds : taskIds.subList(0, size));
+        
+        String nextCursor = nextCursor(pageContent, last, sortKey, direction, pageNumber);
+        Long total = switch (totalMode) {
+            case EXACT -> taskRepository.countTasksWithFilters(currentUserId, status, effectiveTagNames, tagMatch);
+            case ESTIMATED -> taskCountEstimator.estimate(currentUserId, status, effectiveTagNames, tagMatch);
+            case NONE -> null;
+        };
+        
+        return new PageResult<>(pageContent, total, totalMode, size, pageNumber, nextCursor == null, nextCursor);
+    }
+    
+    /**
+     * Open tasks due from now until {@code days} days ahead, soonest first.
+     */
+    public PageResult<TaskResponse> getUpcomingTasks(int days, String cursor, int size) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        if (days < 1 || days > MAX_UPCOMING_DAYS) {
+            throw new InvalidRequestException("days must be between 1 and " + MAX_UPCOMING_DAYS);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return getTasksDue(currentUserId, DueWindow.upcoming(now, now.plusDays(days)), null, null, TagMatch.ANY, cursor, size);
+    }
+    
+    /**
+     * Open tasks whose due date has passed, longest overdue first.
+     */
+    public PageResult<TaskResponse> getOverdueTasks(String cursor, int size) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        return getTasksDue(currentUserId, DueWindow.overdue(LocalDateTime.now()), null, null, TagMatch.ANY, cursor, size);
+    }
+    
+    /**
+     * Tasks due at or after {@code dueFrom} and before {@code dueTo}, soonest first, with the
+     * list's status and tag filters. Either bound may be left out, but not both.
+     */
+    public PageResult<TaskResponse> getTasksDueBetween(LocalDateTime dueFrom, LocalDateTime dueTo, Task.TaskStatus status,
+                                                       List<String> tagNames, TagMatch tagMatch, String cursor, int size) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        if (dueFrom == null && dueTo == null) {
+            throw new InvalidRequestException("dueFrom or dueTo is required");
+        }
+        if (dueFrom != null && dueTo != null && !dueFrom.isBefore(dueTo)) {
+            throw new InvalidRequestException("dueFrom must be before dueTo");
+        }
+        return getTasksDue(currentUserId, DueWindow.between(dueFrom, dueTo), status, tagNames, tagMatch, cursor, size);
+    }
+    
+    /**
+     * Keyset page of a due date window in (dueDate, id) order. The window is evaluated afresh on
+     * every page, so tasks falling into or out of it between pages are picked up or dropped.
+     */
+    private PageResult<TaskResponse> getTasksDue(UUID userId, DueWindow window, Task.TaskStatus status, List<String> tagNames,
+                                                 TagMatch tagMatch, String cursor, int size) {
+        if (size < 1 || size > MAX_DUE_PAGE_SIZE) {
+            throw new InvalidRequestException("size must be between 1 and " + MAX_DUE_PAGE_SIZE);
+        }
+        log.info("Fetching tasks due - window: {}, status: {}, tags: {}, tagMatch: {}, size: {}",
+                window, status, tagNames, tagMatch, size);
+        
+        TaskCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = TaskCursor.decode(cursor);
+            if (after.sortKey() != TaskSortKey.DUE_DATE || after.direction() != Sort.Direction.ASC || after.value() == null) {
+                throw new InvalidRequestException("Cursor was not issued for a due date window");
+            }
+        }
+        int pageNumber = after == null ? 0 : after.page();
+        
+        List<UUID> taskIds = taskRepository.findTaskIdsDue(
+                userId, window, status, effectiveTagNames(tagNames), tagMatch, after, size + 1);
+        boolean last = taskIds.size() <= size;
+        List<TaskResponse> pageContent = loadResponses(last ? taskIds : taskIds.subList(0, size));
+        
+        String nextCursor = nextCursor(pageContent, last, TaskSortKey.DUE_DATE, Sort.Direction.ASC, pageNumber);
+        return new PageResult<>(pageContent, null, TotalMode.NONE, size, pageNumber, nextCursor == null, nextCursor);
+    }
+    
+    /**
+     * Cursor to the page after {@code pageContent}, positioned on its last task. Tasks deleted
+     * between the id query and loading the page are missing from it; should that leave the page
+     * empty, there is no position to continue from and the listing ends here.
+     */
+    private static String nextCursor(List<TaskResponse> pageContent, boolean last, TaskSortKey sortKey,
+                                     Sort.Direction direction, int pageNumber) {
+        if (last || pageContent.isEmpty()) {
+            return null;
+        }
+        return TaskCursor.after(pageContent.get(pageContent.size() - 1), sortKey, direction, pageNumber + 1).encode();
+    }
+    
+    /**
+     * Full-text search over the current user's task titles and descriptions, best match first.
+     * {@code query} takes web search syntax (quoted phrases, {@code or}, {@code -word}); the
+     * cursor is the {@code nextCursor} of the previous page. No total is counted, since that would
+     * have to rank every match.
+     */
+    public PageResult<TaskResponse> searchTasks(String query, Task.TaskStatus status, List<String> tagNames,
+                                                TagMatch tagMatch, String cursor, int size) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidRequestException("size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        log.info("Searching tasks - query: {}, status: {}, tags: {}, tagMatch: {}, size: {}",
+                query, status, tagNames, tagMatch, size);
+        
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        int pageNumber = after == null ? 0 : after.page();
+        
+        List<TaskSearchHit> hits = taskRepository.searchTaskIds(
+                currentUserId, query.strip(), status, effectiveTagNames(tagNames), tagMatch, after, size + 1);
+        boolean last = hits.size() <= size;
+        List<TaskSearchHit> pageHits = last ? hits : hits.subList(0, size);
+        
+        String nextCursor = last ? null : SearchCursor.after(pageHits.get(pageHits.size() - 1), pageNumber + 1).encode();
+        return new PageResult<>(loadResponses(pageHits.stream().map(TaskSearchHit::id).toList()), null,
+                TotalMode.NONE, size, pageNumber, last, nextCursor);
+    }
+    
+    /**
+     * Type-ahead suggestions: the current user's tasks with a title word starting with each word
+     * of {@code query}, most recently updated first. Answered from memory, without a transaction,
+     * once the user's titles are indexed.
+     */
+    public List<TaskSuggestionResponse> suggestTasks(String query, int limit) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        if (query.isBlank()) {
+            return List.of();
+        }
+        log.debug("Suggesting tasks for user: {} - query: {}, limit: {}", currentUserId, query, limit);
+        return taskSuggestionIndex.suggest(currentUserId, query, limit);
     }
     
     @Transactional
+    @Retryable(retryFor = StaleTagReferenceException.class, maxAttempts = 2)
     public TaskResponse updateTask(UUID id, UpdateTaskRequest request) {
         log.info("Updating task with ID: {}", id);
         
@@ -156,6 +572,7 @@ public class TaskService {
         
         Task task = taskRepository.findByIdAndUserId(id, currentUserId)
                 .orElseThrow(() -> new TaskNotFoundException(id));
+        TaskStatsDelta before = taskStatsService.snapshot(task);
         
         if (request.title() != null) {
             task.setTitle(request.title());
@@ -176,11 +593,19 @@ public class TaskService {
             task.setTags(findOrCreateTags(request.tags(), currentUserId));
         }
         
+        // Stamped before the write, so the task is written once and, as in every other task
+        // write, the user's stats row is locked before the task row
+        task.setChangeSeq(taskStatsService.recordUpdated(task, before));
         task = taskRepository.save(task);
+        if (request.tags() != null && !request.tags().isEmpty()) {
+            flushTags(currentUserId);
+        }
         eventPublisher.publishEvent(new TaskUpdatedEvent(task));
         
         log.info("Task updated successfully with ID: {}", task.getId());
-        return TaskResponse.from(task);
+        return request.tags() != null
+                ? TaskResponse.from(task, distinctTagNames(request.tags()))
+                : TaskResponse.from(task);
     }
     
     @Transactional
@@ -192,10 +617,118 @@ public class TaskService {
         Task task = taskRepository.findByIdAndUserId(id, currentUserId)
                 .orElseThrow(() -> new TaskNotFoundException(id));
         
-        eventPublisher.publishEvent(new TaskDeletedEvent(task));
-        
         taskRepository.delete(task);
+        long changeSeq = taskStatsService.recordDeleted(task);
+        taskTombstoneRepository.save(tombstone(task, changeSeq, LocalDateTime.now()));
+        task.setChangeSeq(changeSeq);
+        
+        eventPublisher.publishEvent(new TaskDeletedEvent(task));
         
         log.info("Task deleted successfully with ID: {}", id);
     }
+
+    /**
+     * Applies the same status, priority and/or due date to all selected tasks of the current user
+     * with set-based updates. Selected ids that don't exist or belong to someone else are skipped.
+     *
+     * @return ids of the updated tasks
+     */
+    @Transactional
+    public List<UUID> updateTasks(BulkUpdateTasksRequest request) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+
+        List<Task> tasks = lockSelectedTasks(currentUserId, request.select());
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        TaskStatsDelta before = taskStatsService.snapshot(tasks);
+        List<UUID> ids = tasks.stream().map(Task::getId).toList();
+
+        // The snapshots are detached, so the change is applied to them and recorded before the
+        // statements that write it, which then carry its stamp
+        for (Task task : tasks) {
+            if (request.status() != null) {
+                task.setStatus(request.status());
+            }
+            if (request.priority() != null) {
+                task.setPriority(request.priority());
+            }
+            if (request.dueDate() != null) {
+                task.setDueDate(request.dueDate());
+            }
+        }
+        long changeSeq = taskStatsService.recordUpdated(currentUserId, tasks, before);
+        LocalDateTime now = LocalDateTime.now();
+        for (List<UUID> chunk : chunks(ids)) {
+            taskRepository.bulkUpdate(currentUserId, chunk, request.status(), request.priority(), request.dueDate(),
+                    changeSeq, now);
+        }
+        tasks.forEach(task -> task.setChangeSeq(changeSeq));
+        eventPublisher.publishEvent(new TasksChangedEvent(currentUserId, TasksChangedEvent.ChangeType.UPDATED, tasks));
+
+        log.info("Updated {} tasks in bulk for user {}", ids.size(), currentUserId);
+        return ids;
+    }
+
+    /**
+     * Deletes all selected tasks of the current user with set-based deletes. Selected ids that
+     * don't exist or belong to someone else are skipped.
+     *
+     * @return ids of the deleted tasks
+     */
+    @Transactional
+    public List<UUID> deleteTasks(BulkDeleteTasksRequest request) {
+        UUID currentUserId = userContextService.getCurrentUserId();
+
+        List<Task> tasks = lockSelectedTasks(currentUserId, request.select());
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = tasks.stream().map(Task::getId).toList();
+
+        for (List<UUID> chunk : chunks(ids)) {
+            taskRepository.bulkDelete(currentUserId, chunk);
+        }
+        long changeSeq = taskStatsService.recordDeleted(currentUserId, tasks);
+        LocalDateTime now = LocalDateTime.now();
+        taskTombstoneRepository.saveAll(tasks.stream().map(task -> tombstone(task, changeSeq, now)).toList());
+        tasks.forEach(task -> task.setChangeSeq(changeSeq));
+        eventPublisher.publishEvent(new TasksChangedEvent(currentUserId, TasksChangedEvent.ChangeType.DELETED, tasks));
+
+        log.info("Deleted {} tasks in bulk for user {}", ids.size(), currentUserId);
+        return ids;
+    }
+
+    private static TaskTombstone tombstone(Task task, long changeSeq, LocalDateTime deletedAt) {
+        return TaskTombstone.builder()
+                .taskId(task.getId())
+                .userId(task.getUserId())
+                .changeSeq(changeSeq)
+                .deletedAt(deletedAt)
+                .build();
+    }
+
+    /**
+     * Reads and locks the selected tasks up front, so the counters delta and the calendar change
+     * set describe exactly the rows the bulk statements then touch.
+     */
+    private List<Task> lockSelectedTasks(UUID userId, TaskSelector select) {
+        if (select.hasIds()) {
+            return taskRepository.lockTaskSnapshots(userId, new HashSet<>(select.ids()), null, null);
+        }
+        List<String> effectiveTagNames = (select.tags() == null || select.tags().isEmpty()) ? null : select.tags();
+        return taskRepository.lockTaskSnapshots(userId, null, select.status(), effectiveTagNames);
+    }
+
+    /**
+     * Splits ids selected by a filter, which are not capped like explicit ids, so a single IN list
+     * stays well below the bind parameter limit of the driver.
+     */
+    private static List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rebuilds {@code user_task_stats} from the tasks table, one batch of users per transaction.
+ * Besides fixing drift, this is what moves tasks into the overdue count once their due date passes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsRepairJob {
+
+    private final UserRepository userRepository;
+    private final TaskStatsService taskStatsService;
+
+    @Value("${app.task-stats.repair-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.task-stats.repair-cron:0 */15 * * * *}")
+    public void repairAll() {
+        log.info("Starting task stats repair");
+        int users = 0;
+        int repaired = 0;
+        UUID after = null;
+        List<UUID> batch;
+        do {
+            batch = userRepository.findIdsAfter(after, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                repaired += taskStatsService.rebuild(batch);
+            } catch (Exception e) {
+                // Most likely a concurrent first write for one of these users; the next run retries
+                log.warn("Failed to repair task stats for batch starting at user {}: {}", batch.get(0), e.getMessage());
+            }
+            users += batch.size();
+            after = batch.get(batch.size() - 1);
+        } while (batch.size() == batchSize);
+        log.info("Task stats repair finished: {} users checked, {} updated", users, repaired);
+    }
+}
@@ -0,0 +1,243 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.dto.TaskStatsResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.task.repository.TaskStatsDelta;
+import com.ignium.taskmanager.task.repository.UserTaskStatsRepository;
+import com.ignium.taskmanager.user.service.UserContextService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@code user_task_stats}. Writers apply deltas inside their own transaction, so the
+ * counters commit or roll back together with the task change. The overdue count also moves as
+ * due dates pass without any write; {@link TaskStatsRepairJob} catches those up. Every write also
+ * bumps the user's change stamp, even when no count moves, so the stamp changes whenever any of
+ * the user's tasks looks different.
+ * <p>
+ * The record methods return the new stamp, which writers store as the change sequence of the
+ * tasks they wrote or deleted. Bumping the stamp locks the user's counters row until commit, so
+ * each user's stamps commit in increasing order and delta sync never skips a change. Creates and
+ * bulk updates are recorded before their statements run, so that those can carry the stamp;
+ * everything else is recorded once the change is in the persistence context or the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsService {
+
+    private final UserTaskStatsRepository userTaskStatsRepository;
+    private final TaskRepository taskRepository;
+    private final UserContextService userContextService;
+
+    /**
+     * Contribution of a task to the counters as of now; take it before a change and pass it to
+     * {@link #recordUpdated} afterwards.
+     */
+    public TaskStatsDelta snapshot(Task task) {
+        return TaskStatsDelta.of(task, LocalDateTime.now());
+    }
+
+    /**
+     * Combined contribution of several tasks, for changes applied to a set of tasks at once.
+     */
+    public TaskStatsDelta snapshot(Collection<Task> tasks) {
+        LocalDateTime now = LocalDateTime.now();
+        return tasks.stream()
+                .map(task -> TaskStatsDelta.of(task, now))
+                .reduce(TaskStatsDelta.NONE, TaskStatsDelta::plus);
+    }
+
+    /**
+     * Records a task about to be saved; call it before the task is persisted, with its status
+     * and priority set.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordCreated(Task task) {
+        return apply(task.getUserId(), snapshot(task), false);
+    }
+
+    /**
+     * Records tasks of one user about to be saved together with a single counters update, like
+     * {@link #recordCreated(Task)}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordCreated(UUID userId, Collection<Task> tasks) {
+        return apply(userId, snapshot(tasks), false);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordUpdated(Task task, TaskStatsDelta before) {
+        return apply(task.getUserId(), snapshot(task).minus(before), true);
+    }
+
+    /**
+     * Records tasks of one user about to be updated together by set-based statements.
+     * {@code tasks} are detached copies already showing the change, and {@code before} is their
+     * {@link #snapshot(Collection)} taken before it was applied to them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordUpdated(UUID userId, Collection<Task> tasks, TaskStatsDelta before) {
+        return apply(userId, snapshot(tasks).minus(before), false);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordDeleted(Task task) {
+        return apply(task.getUserId(), snapshot(task).negate(), true);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordDeleted(UUID userId, Collection<Task> tasks) {
+        return apply(userId, snapshot(tasks).negate(), true);
+    }
+
+    /**
+     * Records a change to the user's tasks that moves no counter, such as a tag rename showing
+     * on every task carrying the tag.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordChanged(UUID userId) {
+        return apply(userId, TaskStatsDelta.NONE, true);
+    }
+
+    /**
+     * The user's change stamp, 0 before their first write. Any change to their tasks commits a
+     * different one.
+     */
+    @Transactional(readOnly = true)
+    public long changeStamp(UUID userId) {
+        return userTaskStatsRepository.findChangeStamp(userId).orElse(0L);
+    }
+
+    @Transactional
+    public TaskStatsResponse getStats() {
+        UUID currentUserId = userContextService.getCurrentUserId();
+        return TaskStatsResponse.from(findOrInitialize(currentUserId));
+    }
+
+    /**
+     * Counters for a user without creating them; empty if the user has not written a task
+     * since the table was introduced and the repair job has not reached them yet.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserTaskStats> find(UUID userId) {
+        return userTaskStatsRepository.findById(userId);
+    }
+
+    /**
+     * Recounts the given users from the tasks table and overwrites their counters. The counters
+     * rows are locked first so that deltas from concurrent writers land after the rebuild.
+     */
+    @Transactional
+    public int rebuild(Collection<UUID> userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, UserTaskStats> statsByUser = userTaskStatsRepository.lockAllByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserTaskStats::getUserId, Function.identity()));
+        Map<UUID, UserTaskStats> counted = userIds.stream()
+                .collect(Collectors.toMap(Function.identity(),
+                        userId -> UserTaskStats.builder().userId(userId).updatedAt(now).build()));
+
+        for (Object[] row : userTaskStatsRepository.countTasksByUserIdIn(userIds, now)) {
+            UserTaskStats stats = counted.get((UUID) row[0]);
+            long count = (Long) row[3];
+            stats.setTotalCount(stats.getTotalCount() + count);
+            stats.setOverdueCount(stats.getOverdueCount() + (Long) row[4]);
+            switch ((Task.TaskStatus) row[1]) {
+                case TODO -> stats.setTodoCount(stats.getTodoCount() + count);
+                case IN_PROGRESS -> stats.setInProgressCount(stats.getInProgressCount() + count);
+                case COMPLETED -> stats.setCompletedCount(stats.getCompletedCount() + count);
+                case CANCELLED -> stats.setCancelledCount(stats.getCancelledCount() + count);
+            }
+            switch ((Task.TaskPriority) row[2]) {
+                case LOW -> stats.setLowPriorityCount(stats.getLowPriorityCount() + count);
+                case MEDIUM -> stats.setMediumPriorityCount(stats.getMediumPriorityCount() + count);
+                case HIGH -> stats.setHighPriorityCount(stats.getHighPriorityCount() + count);
+                case URGENT -> stats.setUrgentPriorityCount(stats.getUrgentPriorityCount() + count);
+            }
+        }
+
+        int repaired = 0;
+        for (UserTaskStats fresh : counted.values()) {
+            UserTaskStats existing = statsByUser.get(fresh.getUserId());
+            if (existing == null) {
+                if (fresh.getTotalCount() > 0) {
+                    userTaskStatsRepository.save(fresh);
+                }
+            } else if (!sameCounts(existing, fresh)) {
+                log.debug("Updating task counters for user {}", fresh.getUserId());
+                copyCounts(fresh, existing);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * @param written whether the change is already in the database or the persistence context,
+     *                rather than about to be written
+     */
+    private long apply(UUID userId, TaskStatsDelta delta, boolean written) {
+        // A zero delta still bumps the change stamp
+        LocalDateTime now = LocalDateTime.now();
+        if (userTaskStatsRepository.applyDelta(userId, delta, now) == 0) {
+            // First write for this user: count from the tasks table, which holds a written change once flushed
+            if (written) {
+                taskRepository.flush();
+            }
+            if (userTaskStatsRepository.initializeFromTasks(userId, now) == 0 || !written) {
+                // Another transaction created the row first, or the count lacks our change
+                userTaskStatsRepository.applyDelta(userId, delta, now);
+            }
+        }
+        return userTaskStatsRepository.findChangeStamp(userId)
+                .orElseThrow(() -> new IllegalStateException("Missing task stats for user: " + userId));
+    }
+
+    private UserTaskStats findOrInitialize(UUID userId) {
+        return userTaskStatsRepository.findById(userId).orElseGet(() -> {
+            userTaskStatsRepository.initializeFromTasks(userId, LocalDateTime.now());
+            return userTaskStatsRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalStateException("Failed to initialize task stats for user: " + userId));
+        });
+    }
+
+    private static boolean sameCounts(UserTaskStats a, UserTaskStats b) {
+        return a.getTotalCount() == b.getTotalCount()
+                && a.getTodoCount() == b.getTodoCount()
+                && a.getInProgressCount() == b.getInProgressCount()
+                && a.getCompletedCount() == b.getCompletedCount()
+                && a.getCancelledCount() == b.getCancelledCount()
+                && a.getLowPriorityCount() == b.getLowPriorityCount()
+                && a.getMediumPriorityCount() == b.getMediumPriorityCount()
+                && a.getHighPriorityCount() == b.getHighPriorityCount()
+                && a.getUrgentPriorityCount() == b.getUrgentPriorityCount()
+                && a.getOverdueCount() == b.getOverdueCount();
+    }
+
+    private static void copyCounts(UserTaskStats from, UserTaskStats to) {
+        to.setTotalCount(from.getTotalCount());
+        to.setTodoCount(from.getTodoCount());
+        to.setInProgressCount(from.getInProgressCount());
+        to.setCompletedCount(from.getCompletedCount());
+        to.setCancelledCount(from.getCancelledCount());
+        to.setLowPriorityCount(from.getLowPriorityCount());
+        to.setMediumPriorityCount(from.getMediumPriorityCount());
+        to.setHighPriorityCount(from.getHighPriorityCount());
+        to.setUrgentPriorityCount(from.getUrgentPriorityCount());
+        to.setOverdueCount(from.getOverdueCount());
+        to.setUpdatedAt(from.getUpdatedAt());
+    }
+}
@@ -0,0 +1,218 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.config.AfterCommit;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.task.event.model.TaskCreatedEvent;
+import com.ignium.taskmanager.task.event.model.TaskDeletedEvent;
+import com.ignium.taskmanager.task.event.model.TaskUpdatedEvent;
+import com.ignium.taskmanager.task.event.model.TasksChangedEvent;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Per-user inverted index of task titles for type-ahead suggestions. A user's titles are read
+ * into a {@link UserTitleIndex} on their first suggestion, after which suggestions are answered
+ * in memory. Task events carry the tasks' new titles, so they are applied in place once their
+ * transaction commits without reading the database again; every index is still rebuilt after
+ * {@code app.task-suggest.ttl} to pick up changes made on other nodes.
+ * <p>
+ * All indexes together are kept under {@code app.task-suggest.max-memory}, evicting whole users
+ * least recently used first. Users with more than {@code app.task-suggest.max-tasks-per-user}
+ * tasks, or too many for the budget, are never held and are answered by a title query instead,
+ * as are suggestions arriving while the user's index is being built.
+ */
+@Component
+@Slf4j
+public class TaskSuggestionIndex {
+
+    /** Guess of a task's footprint used to turn users away before reading their tasks. */
+    private static final long ESTIMATED_BYTES_PER_TASK = UserTitleIndex.BYTES_PER_TASK + 96;
+
+    private final TaskRepository taskRepository;
+    private final TaskStatsService taskStatsService;
+    private final TransactionTemplate readTransaction;
+    private final long maxMemoryBytes;
+    private final long maxTasksPerUser;
+    private final UserIndexes<UserTitleIndex> indexes;
+
+    private final Timer memoryTimer;
+    private final Timer databaseTimer;
+    private final Timer buildTimer;
+
+    public TaskSuggestionIndex(TaskRepository taskRepository,
+                               TaskStatsService taskStatsService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.task-suggest.max-memory:32MB}") DataSize maxMemory,
+                               @Value("${app.task-suggest.max-tasks-per-user:50000}") long maxTasksPerUser,
+                               @Value("${app.task-suggest.ttl:30m}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.taskStatsService = taskStatsService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.maxTasksPerUser = maxTasksPerUser;
+        this.indexes = new UserIndexes<>("title index", maxMemoryBytes, ttl);
+        this.memoryTimer = Timer.builder("task.suggest").tag("source", "memory")
+                .description("Task suggestions answered from the in-memory title index")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.databaseTimer = Timer.builder("task.suggest").tag("source", "database")
+                .description("Task suggestions answered by a title query")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.buildTimer = Timer.builder("task.suggest.build")
+                .description("Time to read a user's task titles into the suggestion index")
+                .register(meterRegistry);
+        Gauge.builder("task.suggest.users", this, TaskSuggestionIndex::size)
+                .description("Users with task titles held in the suggestion index").register(meterRegistry);
+        Gauge.builder("task.suggest.bytes", this, TaskSuggestionIndex::usedBytes)
+                .description("Estimated memory held by the suggestion index").register(meterRegistry);
+    }
+
+    /**
+     * Up to {@code limit} of the user's tasks with a title word starting with each word of
+     * {@code query}, ignoring case, most recently updated first.
+     */
+    public List<TaskSuggestionResponse> suggest(UUID userId, String query, int limit) {
+        UserIndexes.Entry<UserTitleIndex> entry = indexes.get(userId);
+        if (entry == null) {
+            entry = load(userId);
+        }
+        if (entry == null) {
+            Set<String> prefixes = UserTitleIndex.words(query);
+            if (prefixes.isEmpty()) {
+                return List.of();
+            }
+            long start = System.nanoTime();
+            try {
+                return taskRepository.findTaskSuggestions(userId, prefixes, limit);
+            } finally {
+                databaseTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+
+        long start = System.nanoTime();
+        entry.lock().readLock().lock();
+        try {
+            return entry.index().suggest(query, limit);
+        } finally {
+            entry.lock().readLock().unlock();
+            memoryTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    public void evict(UUID userId) {
+        indexes.evict(userId);
+    }
+
+    public int size() {
+        return indexes.size();
+    }
+
+    public long usedBytes() {
+        return indexes.usedBytes();
+    }
+
+    @EventListener
+    public void handleTaskCreatedEvent(TaskCreatedEvent event) {
+        changed(event.getTask().getUserId(), List.of(event.getTask()), false);
+    }
+
+    @EventListener
+    public void handleTaskUpdatedEvent(TaskUpdatedEvent event) {
+        changed(event.getTask().getUserId(), List.of(event.getTask()), false);
+    }
+
+    @EventListener
+    public void handleTaskDeletedEvent(TaskDeletedEvent event) {
+        changed(event.getTask().getUserId(), List.of(event.getTask()), true);
+    }
+
+    @EventListener
+    public void handleTasksChangedEvent(TasksChangedEvent event) {
+        changed(event.getUserId(), event.getTasks(), event.getChangeType() == TasksChangedEvent.ChangeType.DELETED);
+    }
+
+    /**
+     * Applies the tasks' state once the transaction commits; by then the timestamps set on flush
+     * are filled in. Bulk updates don't load timestamps, so those tasks count as updated now.
+     */
+    private void changed(UUID userId, List<Task> tasks, boolean deleted) {
+        AfterCommit.run(() -> {
+            indexes.changed(userId);
+            UserIndexes.Entry<UserTitleIndex> entry = indexes.peek(userId);
+            if (entry == null) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            entry.lock().writeLock().lock();
+            try {
+                for (Task task : tasks) {
+                    if (deleted) {
+                        entry.index().remove(task.getId());
+                    } else {
+                        entry.index().put(new TaskSuggestionResponse(task.getId(), task.getTitle(), task.getStatus(),
+                                task.getUpdatedAt() == null ? now : task.getUpdatedAt()));
+                    }
+                }
+                if (entry.index().removedCount() > entry.index().size()) {
+                    entry.index().compact();
+                }
+            } finally {
+                entry.lock().writeLock().unlock();
+            }
+            if (entry.index().size() > maxTasksPerUser) {
+                indexes.evict(userId);
+            } else {
+                indexes.evictOverBudget();
+            }
+        });
+    }
+
+    /** Reads all of the user's titles into a new index, unless they are too many. */
+    private UserIndexes.Entry<UserTitleIndex> load(UUID userId) {
+        if (indexes.isCold(userId)) {
+            return null;
+        }
+        long taskCount = taskStatsService.find(userId)
+                .map(UserTaskStats::getTotalCount)
+                .orElseGet(() -> taskRepository.countByUserId(userId));
+        if (taskCount > maxTasksPerUser || taskCount * ESTIMATED_BYTES_PER_TASK > maxMemoryBytes) {
+            indexes.markCold(userId);
+            return null;
+        }
+
+        return indexes.build(userId, () -> {
+            long start = System.nanoTime();
+            UserTitleIndex index = readTransaction.execute(status -> {
+                UserTitleIndex built = new UserTitleIndex((int) taskCount);
+                try (Stream<TaskSuggestionResponse> tasks = taskRepository.streamTaskSuggestions(userId)) {
+                    tasks.forEach(built::put);
+                }
+                return built;
+            });
+            buildTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            log.debug("Indexed {} task titles of user {}", index.size(), userId);
+            return index;
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.repository.TaskTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes tombstones of tasks deleted more than {@code app.task-changes.tombstone-retention} ago.
+ * {@link TaskChangeService} turns away cursors that old, so no client can still be missing them.
+ */
+@Component
+@Slf4j
+public class TaskTombstonePruneJob {
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final Duration tombstoneRetention;
+
+    public TaskTombstonePruneJob(TaskTombstoneRepository taskTombstoneRepository,
+                                 @Value("${app.task-changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Scheduled(cron = "${app.task-changes.prune-cron:0 30 3 * * *}")
+    @Transactional
+    public void pruneTombstones() {
+        int pruned = taskTombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Pruned {} task tombstones", pruned);
+    }
+}
@@ -0,0 +1,164 @@
+package com.ignium.taskmanager.task.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-user in-memory indexes of one kind, kept together under a memory budget by evicting whole
+ * users least recently used first, and rebuilt once their TTL runs out. Each index comes with a
+ * lock: readers query it under the read lock and changes are applied under the write lock.
+ * <p>
+ * Indexes are built without holding this holder's lock, so a slow build never blocks other
+ * users. A change to the user reported through {@link #changed(UUID)} while their index is being
+ * built throws the build away, since it may have read the user's tasks before the change. Users
+ * found unsuitable for an index can be turned away for a TTL with {@link #markCold(UUID)}.
+ */
+@Slf4j
+final class UserIndexes<I extends UserIndexes.Index> {
+
+    private static final int MAX_COLD_USERS = 100_000;
+
+    /** What the holder needs to know of an index to keep it within the budget. */
+    interface Index {
+
+        int size();
+
+        long estimatedBytes();
+    }
+
+    record Entry<I>(I index, ReadWriteLock lock, long expiresAtNanos) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+
+    private final String name;
+    private final long maxMemoryBytes;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<UUID, Entry<I>> indexesByUser = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Users last turned away, until when that holds; the least recently turned away go first. */
+    private final LinkedHashMap<UUID, Long> coldUntil = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            return size() > MAX_COLD_USERS;
+        }
+    };
+
+    /** Users whose index is being built, flagged when one of their tasks changes meanwhile. */
+    private final Map<UUID, AtomicBoolean> builds = new ConcurrentHashMap<>();
+
+    UserIndexes(String name, long maxMemoryBytes, Duration ttl) {
+        this.name = name;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /** The user's index, counting as a use, or null if there is none or it has expired. */
+    synchronized Entry<I> get(UUID userId) {
+        Entry<I> entry = indexesByUser.get(userId);
+        if (entry != null && entry.isExpired()) {
+            evict(userId);
+            return null;
+        }
+        return entry;
+    }
+
+    /** Like {@link #get} without counting as a use. */
+    synchronized Entry<I> peek(UUID userId) {
+        Entry<I> entry = indexesByUser.get(userId);
+        return entry == null || entry.isExpired() ? null : entry;
+    }
+
+    synchronized void evict(UUID userId) {
+        indexesByUser.remove(userId);
+        changed(userId);
+    }
+
+    synchronized int size() {
+        return indexesByUser.size();
+    }
+
+    /**
+     * Sum of the held indexes' estimates. They are read without the indexes' locks; a value torn
+     * by a concurrent change is off by one task at most and only steers eviction.
+     */
+    synchronized long usedBytes() {
+        long used = 0;
+        for (Entry<I> entry : indexesByUser.values()) {
+            used += entry.index().estimatedBytes();
+        }
+        return used;
+    }
+
+    synchronized boolean isCold(UUID userId) {
+        Long until = coldUntil.get(userId);
+        return until != null && System.nanoTime() - until < 0;
+    }
+
+    /** Turns the user away until the TTL runs out, as their size then may have changed. */
+    synchronized void markCold(UUID userId) {
+        coldUntil.put(userId, System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * Throws away the user's index build, if one is running. Holding the monitor, like the
+     * check in {@link #build} that installs the index, means a change reported here either
+     * discards the build or finds its index through {@link #peek} afterwards.
+     */
+    synchronized void changed(UUID userId) {
+        AtomicBoolean build = builds.get(userId);
+        if (build != null) {
+            build.set(true);
+        }
+    }
+
+    /**
+     * Builds the user's index with {@code reader} and holds it. Returns null without holding it
+     * if another build for the user is running, if the user changed during the build, or if the
+     * index alone exceeds the budget.
+     */
+    Entry<I> build(UUID userId, Supplier<I> reader) {
+        AtomicBoolean changed = new AtomicBoolean();
+        if (builds.putIfAbsent(userId, changed) != null) {
+            return null;
+        }
+        try {
+            I index = reader.get();
+            Entry<I> entry = new Entry<>(index, new ReentrantReadWriteLock(), System.nanoTime() + ttlNanos);
+            synchronized (this) {
+                if (changed.get()) {
+                    return null;
+                }
+                indexesByUser.put(userId, entry);
+                evictOverBudget();
+                return indexesByUser.containsKey(userId) ? entry : null;
+            }
+        } finally {
+            builds.remove(userId);
+        }
+    }
+
+    synchronized void evictOverBudget() {
+        long usedBytes = usedBytes();
+        Iterator<Map.Entry<UUID, Entry<I>>> eldestFirst = indexesByUser.entrySet().iterator();
+        while (usedBytes > maxMemoryBytes && eldestFirst.hasNext()) {
+            Map.Entry<UUID, Entry<I>> eldest = eldestFirst.next();
+            usedBytes -= eldest.getValue().index().estimatedBytes();
+            eldestFirst.remove();
+            log.debug("Evicted {} of user {} to stay within {} bytes", name, eldest.getKey(), maxMemoryBytes);
+        }
+    }
+}
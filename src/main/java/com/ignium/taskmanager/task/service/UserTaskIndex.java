@@ -0,0 +1,272 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.repository.TaskSortKey;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Column store of one user's tasks behind {@link TaskFilterIndex}. Every task gets an ordinal,
+ * its position in the primitive columns, and filters are bit sets over ordinals, so status and tag
+ * conditions combine a word at a time. Ordinals of removed tasks are cleared from {@code live} but
+ * not reused; the owner rebuilds the index once too many of them pile up. Not thread-safe, the
+ * owner locks around every call.
+ */
+final class UserTaskIndex implements UserIndexes.Index {
+
+    /** Stand-in for a null date; sorts after every real one, as the database orders nulls by default. */
+    private static final long NULL_DATE = Long.MAX_VALUE;
+
+    /** Rough per-task cost of the columns and the id lookup, not counting the title's characters. */
+    static final long BYTES_PER_TASK = 200;
+
+    /** Writes applied ahead of a missing earlier one that are tracked before giving up on it. */
+    private static final int MAX_APPLIED_AHEAD = 64;
+
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final Task.TaskPriority[] PRIORITIES = Task.TaskPriority.values();
+
+    private UUID[] ids;
+    private String[] titles;
+    private byte[] statuses;
+    private byte[] priorities;
+    private long[] dueDates;
+    private long[] createdAts;
+    private long[] updatedAts;
+    private int nextOrdinal;
+    private long titleChars;
+    private long changeStamp;
+
+    private final BitSet live = new BitSet();
+    private final BitSet[] byStatus = new BitSet[STATUSES.length];
+    private final Map<String, BitSet> byTag = new HashMap<>();
+    private final Map<UUID, Integer> ordinalsById = new HashMap<>();
+    private final TreeSet<Long> appliedAhead = new TreeSet<>();
+
+    record Page(List<UUID> ids, long total) {
+    }
+
+    /**
+     * @param changeStamp the user's change stamp the tasks are read at (see
+     *                    {@link TaskStatsService#changeStamp})
+     */
+    UserTaskIndex(int expectedTasks, long changeStamp) {
+        this.changeStamp = changeStamp;
+        int capacity = Math.max(16, expectedTasks);
+        ids = new UUID[capacity];
+        titles = new String[capacity];
+        statuses = new byte[capacity];
+        priorities = new byte[capacity];
+        dueDates = new long[capacity];
+        createdAts = new long[capacity];
+        updatedAts = new long[capacity];
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new BitSet(capacity);
+        }
+    }
+
+    /**
+     * Adds the task or, when its id is already held, overwrites it under the same ordinal.
+     */
+    void put(TaskResponse task) {
+        Integer existing = ordinalsById.get(task.id());
+        int ordinal;
+        if (existing != null) {
+            ordinal = existing;
+            clearBits(ordinal);
+            titleChars -= titles[ordinal].length();
+        } else {
+            ordinal = nextOrdinal++;
+            ensureCapacity(nextOrdinal);
+            ordinalsById.put(task.id(), ordinal);
+            ids[ordinal] = task.id();
+        }
+        titles[ordinal] = task.title();
+        titleChars += task.title().length();
+        statuses[ordinal] = (byte) task.status().ordinal();
+        priorities[ordinal] = (byte) task.priority().ordinal();
+        dueDates[ordinal] = toSortable(task.dueDate());
+        createdAts[ordinal] = toSortable(task.createdAt());
+        updatedAts[ordinal] = toSortable(task.updatedAt());
+
+        live.set(ordinal);
+        byStatus[statuses[ordinal]].set(ordinal);
+        for (String tagName : task.tags()) {
+            byTag.computeIfAbsent(tagName, name -> new BitSet()).set(ordinal);
+        }
+    }
+
+    void remove(UUID id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        clearBits(ordinal);
+        live.clear(ordinal);
+        titleChars -= titles[ordinal].length();
+        titles[ordinal] = null;
+        ids[ordinal] = null;
+    }
+
+    @Override
+    public int size() {
+        return ordinalsById.size();
+    }
+
+    /** Ordinals given to tasks that have since been removed. */
+    int removedCount() {
+        return nextOrdinal - ordinalsById.size();
+    }
+
+    /** The change stamp up to which every write to the user's tasks is reflected. */
+    long changeStamp() {
+        return changeStamp;
+    }
+
+    /** Whether the write stamped {@code changeSeq} is already reflected. */
+    boolean reflects(long changeSeq) {
+        return changeSeq <= changeStamp || appliedAhead.contains(changeSeq);
+    }
+
+    /**
+     * Records that the write stamped {@code changeSeq} has been applied. The change stamp only
+     * moves once every write before it has been applied too, so a write made on another node
+     * holds it back for good. Returns false when too many writes wait on a missing one, after
+     * which the index should be rebuilt.
+     */
+    boolean applied(long changeSeq) {
+        if (changeSeq > changeStamp) {
+            appliedAhead.add(changeSeq);
+        }
+        while (!appliedAhead.isEmpty() && appliedAhead.first() == changeStamp + 1) {
+            changeStamp = appliedAhead.pollFirst();
+        }
+        return appliedAhead.size() <= MAX_APPLIED_AHEAD;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long bitSetBytes = (long) (byTag.size() + STATUSES.length + 1) * (nextOrdinal / 8 + 64);
+        return (long) ids.length * BYTES_PER_TASK + titleChars + bitSetBytes + byTag.size() * 64L;
+    }
+
+    /**
+     * The ids of tasks {@code offset} to {@code offset + limit} matching the filter in
+     * ({@code sortKey}, id) order, plus the number of matching tasks. Only the first
+     * {@code offset + limit} matches are ordered, through a bounded heap.
+     */
+    Page query(Task.TaskStatus status, List<String> tagNames, TagMatch tagMatch,
+               TaskSortKey sortKey, Sort.Direction direction, int offset, int limit) {
+        BitSet matches = (BitSet) live.clone();
+        if (status != null) {
+            matches.and(byStatus[status.ordinal()]);
+        }
+        if (tagNames != null && !tagNames.isEmpty()) {
+            matches.and(tagMatch == TagMatch.ALL ? allOf(tagNames) : anyOf(tagNames));
+        }
+
+        int total = matches.cardinality();
+        if (offset >= total) {
+            return new Page(List.of(), total);
+        }
+
+        Comparator<Integer> order = direction.isAscending() ? comparator(sortKey) : comparator(sortKey).reversed();
+        int wanted = (int) Math.min((long) offset + limit, total);
+        // Keeps the first `wanted` ordinals seen so far, the one sorting last on top
+        PriorityQueue<Integer> first = new PriorityQueue<>(wanted + 1, order.reversed());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            first.add(ordinal);
+            if (first.size() > wanted) {
+                first.poll();
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(first);
+        sorted.sort(order);
+
+        List<UUID> page = sorted.subList(offset, sorted.size()).stream()
+                .map(ordinal -> ids[ordinal])
+                .toList();
+        return new Page(page, total);
+    }
+
+    private BitSet anyOf(List<String> tagNames) {
+        BitSet union = new BitSet();
+        for (String tagName : tagNames) {
+            BitSet tagged = byTag.get(tagName);
+            if (tagged != null) {
+                union.or(tagged);
+            }
+        }
+        return union;
+    }
+
+    private BitSet allOf(List<String> tagNames) {
+        BitSet intersection = null;
+        for (String tagName : tagNames) {
+            BitSet tagged = byTag.get(tagName);
+            if (tagged == null) {
+                return new BitSet();
+            }
+            if (intersection == null) {
+                intersection = (BitSet) tagged.clone();
+            } else {
+                intersection.and(tagged);
+            }
+        }
+        return intersection;
+    }
+
+    private Comparator<Integer> comparator(TaskSortKey sortKey) {
+        Comparator<Integer> byKey = switch (sortKey) {
+            case CREATED_AT -> Comparator.comparingLong(ordinal -> createdAts[ordinal]);
+            case UPDATED_AT -> Comparator.comparingLong(ordinal -> updatedAts[ordinal]);
+            case DUE_DATE -> Comparator.comparingLong(ordinal -> dueDates[ordinal]);
+            case PRIORITY -> Comparator.comparingInt(ordinal -> PRIORITIES[priorities[ordinal]].rank());
+            case TITLE -> Comparator.comparing(ordinal -> titles[ordinal]);
+        };
+        return byKey.thenComparing(ordinal -> ids[ordinal]);
+    }
+
+    private void clearBits(int ordinal) {
+        byStatus[statuses[ordinal]].clear(ordinal);
+        byTag.values().removeIf(tagged -> {
+            tagged.clear(ordinal);
+            return tagged.isEmpty();
+        });
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        dueDates = Arrays.copyOf(dueDates, capacity);
+        createdAts = Arrays.copyOf(createdAts, capacity);
+        updatedAts = Arrays.copyOf(updatedAts, capacity);
+    }
+
+    private static long toSortable(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NULL_DATE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+}
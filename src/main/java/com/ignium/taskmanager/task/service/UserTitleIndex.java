@@ -0,0 +1,234 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.entity.Task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over one user's task titles behind {@link TaskSuggestionIndex}. Every task gets
+ * an ordinal, its position in the columns, and each lower-cased title word maps to the ordinals of
+ * the tasks containing it. Words are kept sorted, so the words starting with a prefix are one
+ * contiguous range. A changed task gets a new ordinal; the old one is only cleared from
+ * {@code live} and stays in its postings until {@link #compact()}. Not thread-safe, the owner
+ * locks around every call.
+ */
+final class UserTitleIndex implements UserIndexes.Index {
+
+    /** Rough per-task cost of the columns and the id lookup, not counting the title's characters. */
+    static final long BYTES_PER_TASK = 160;
+
+    /** Rough per-word cost of the tree entry and its posting list, not counting the characters. */
+    private static final long BYTES_PER_WORD = 96;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    private UUID[] ids;
+    private String[] titles;
+    private byte[] statuses;
+    private long[] updatedAts;
+    private int nextOrdinal;
+    private long titleChars;
+    private long wordChars;
+    private long postingCount;
+
+    private final BitSet live = new BitSet();
+    private final Map<UUID, Integer> ordinalsById = new HashMap<>();
+    private final TreeMap<String, Postings> postingsByWord = new TreeMap<>();
+
+    /** Ordinals of the tasks containing one word, ascending since ordinals only grow. */
+    private static final class Postings {
+
+        private int[] ordinals = new int[2];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(ordinals[i]);
+            }
+        }
+    }
+
+    UserTitleIndex(int expectedTasks) {
+        int capacity = Math.max(16, expectedTasks);
+        ids = new UUID[capacity];
+        titles = new String[capacity];
+        statuses = new byte[capacity];
+        updatedAts = new long[capacity];
+    }
+
+    /**
+     * Adds the task, replacing an earlier version of it. A null {@code updatedAt} sorts as most
+     * recent, which is what a change that has just been committed is.
+     */
+    void put(TaskSuggestionResponse task) {
+        remove(task.id());
+        int ordinal = nextOrdinal++;
+        ensureCapacity(nextOrdinal);
+        ordinalsById.put(task.id(), ordinal);
+        ids[ordinal] = task.id();
+        titles[ordinal] = task.title();
+        titleChars += task.title().length();
+        statuses[ordinal] = (byte) task.status().ordinal();
+        updatedAts[ordinal] = task.updatedAt() == null ? Long.MAX_VALUE : toSortable(task.updatedAt());
+        live.set(ordinal);
+
+        for (String word : words(task.title())) {
+            postingsByWord.computeIfAbsent(word, key -> {
+                wordChars += key.length();
+                return new Postings();
+            }).add(ordinal);
+            postingCount++;
+        }
+    }
+
+    void remove(UUID id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        live.clear(ordinal);
+        titleChars -= titles[ordinal].length();
+        titles[ordinal] = null;
+        ids[ordinal] = null;
+    }
+
+    @Override
+    public int size() {
+        return ordinalsById.size();
+    }
+
+    /** Ordinals given to tasks that have since been removed or replaced. */
+    int removedCount() {
+        return nextOrdinal - ordinalsById.size();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return (long) ids.length * BYTES_PER_TASK + titleChars + wordChars
+                + postingsByWord.size() * BYTES_PER_WORD + postingCount * Integer.BYTES + nextOrdinal / 8;
+    }
+
+    /**
+     * Up to {@code limit} tasks whose title has, for every word of {@code query}, a word starting
+     * with it, most recently updated first. A query without words matches nothing.
+     */
+    List<TaskSuggestionResponse> suggest(String query, int limit) {
+        Set<String> prefixes = words(query);
+        if (prefixes.isEmpty()) {
+            return List.of();
+        }
+        BitSet matches = (BitSet) live.clone();
+        for (String prefix : prefixes) {
+            BitSet withPrefix = new BitSet();
+            // Every word sorting between the prefix itself and the prefix followed by the highest char
+            for (Postings postings : postingsByWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                postings.addTo(withPrefix);
+            }
+            matches.and(withPrefix);
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        Comparator<Integer> order = Comparator.<Integer>comparingLong(ordinal -> updatedAts[ordinal]).reversed()
+                .thenComparing(ordinal -> ids[ordinal]);
+        // Keeps the best `limit` matches seen so far, worst on top
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, order.reversed());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            best.add(ordinal);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(best);
+        sorted.sort(order);
+        return sorted.stream()
+                .map(ordinal -> new TaskSuggestionResponse(ids[ordinal], titles[ordinal], STATUSES[statuses[ordinal]],
+                        fromSortable(updatedAts[ordinal])))
+                .toList();
+    }
+
+    /**
+     * Rebuilds the columns and postings from the live tasks only, dropping the ordinals left
+     * behind by removed and replaced tasks.
+     */
+    void compact() {
+        List<TaskSuggestionResponse> current = new ArrayList<>(size());
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            current.add(new TaskSuggestionResponse(ids[ordinal], titles[ordinal], STATUSES[statuses[ordinal]],
+                    updatedAts[ordinal] == Long.MAX_VALUE ? null : fromSortable(updatedAts[ordinal])));
+        }
+        int capacity = Math.max(16, current.size());
+        ids = new UUID[capacity];
+        titles = new String[capacity];
+        statuses = new byte[capacity];
+        updatedAts = new long[capacity];
+        nextOrdinal = 0;
+        titleChars = 0;
+        wordChars = 0;
+        postingCount = 0;
+        live.clear();
+        ordinalsById.clear();
+        postingsByWord.clear();
+        current.forEach(this::put);
+    }
+
+    /** The distinct lower-cased words of {@code text}, split on anything but letters and digits. */
+    static Set<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        updatedAts = Arrays.copyOf(updatedAts, capacity);
+    }
+
+    private static long toSortable(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    private static LocalDateTime fromSortable(long value) {
+        if (value == Long.MAX_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1_000_000_000L),
+                (int) Math.floorMod(value, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
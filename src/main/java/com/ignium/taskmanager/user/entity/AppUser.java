@@ -3,6 +3,10 @@ package com.ignium.taskmanager.user.entity;
 import com.ignium.taskmanager.task.entity.Task;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -12,8 +16,16 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Kept in the {@code users} second-level cache region, and by email in {@code users-by-email}.
+ * Updates write every column: Hibernate can only update the cached copy of an unversioned entity
+ * in place when it does, with dynamic updates it evicts it instead.
+ */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Getter
 @Setter
 @Builder
@@ -26,6 +38,7 @@ public class AppUser {
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
+    @NaturalId(mutable = true)
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
@@ -1,19 +1,22 @@
 package com.ignium.taskmanager.user.repository;
 
 import com.ignium.taskmanager.user.entity.AppUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<AppUser, UUID> {
-
-    Optional<AppUser> findByEmail(String email);
+public interface UserRepository extends JpaRepository<AppUser, UUID>, UserRepositoryCustom {
 
     Optional<AppUser> findByPreferredUsername(String preferredUsername);
 
@@ -21,11 +24,20 @@ public interface UserRepository extends JpaRepository<AppUser, UUID> {
 
     boolean existsByPreferredUsername(String preferredUsername);
 
+    /**
+     * User ids in id order, for jobs that walk all users in batches. Pass null to start.
+     */
+    @Query("SELECT u.id FROM AppUser u WHERE :after IS NULL OR u.id > :after ORDER BY u.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
     /**
      * Upsert (insert or update) a user using PostgreSQL's ON CONFLICT clause.
      * This method handles concurrent user creation atomically at the database level.
+     * Hibernate can't tell which row it wrote, so it evicts the whole {@code users} cache region:
+     * use it to create users, and refresh existing ones with {@link #updateProfile}.
      */
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
     @Query(value = """
         INSERT INTO users (id, email, full_name, preferred_username, last_login, created_at, updated_at, calendar_connected)
         VALUES (:#{#user.id}, :#{#user.email}, :#{#user.fullName}, :#{#user.preferredUsername}, :#{#user.lastLogin}, 
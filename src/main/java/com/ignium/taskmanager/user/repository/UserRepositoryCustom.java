@@ -0,0 +1,27 @@
+package com.ignium.taskmanager.user.repository;
+
+import com.ignium.taskmanager.user.entity.AppUser;
+
+import java.util.Optional;
+
+/**
+ * User lookups and writes that Spring Data can't derive. Implemented by {@link UserRepositoryCustomImpl}.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * The user with this email, looked up by natural id, so that a repeated lookup is answered
+     * from the second-level cache without a statement.
+     */
+    Optional<AppUser> findByEmail(String email);
+
+    /**
+     * Writes the columns taken from the identity provider (email, names and last login) to an
+     * existing user and no others, so that Google tokens or calendar state written meanwhile are
+     * kept. Only this user's cached entry is evicted, where a native or bulk update would evict
+     * every cached user.
+     *
+     * @return false if there is no such user
+     */
+    boolean updateProfile(AppUser user);
+}
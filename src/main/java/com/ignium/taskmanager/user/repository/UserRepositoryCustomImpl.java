@@ -0,0 +1,75 @@
+package com.ignium.taskmanager.user.repository;
+
+import com.ignium.taskmanager.config.AfterCommit;
+import com.ignium.taskmanager.user.entity.AppUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String UPDATE_PROFILE = """
+            UPDATE users
+            SET email = ?, full_name = ?, preferred_username = ?, last_login = ?, updated_at = NOW()
+            WHERE id = ?
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<AppUser> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(AppUser.class)
+                .loadOptional(email);
+    }
+
+    /**
+     * The current row is read through the cache, usually without a statement, to tell whether
+     * the email changes. The update runs as plain JDBC, which Hibernate does not follow with an
+     * eviction of its own; the user's entry, and on a new email the email lookups, are evicted
+     * here instead, again after commit so that a read racing the transaction cannot keep the old
+     * values cached.
+     */
+    @Override
+    public boolean updateProfile(AppUser user) {
+        AppUser current = entityManager.find(AppUser.class, user.getId());
+        if (current == null) {
+            return false;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_PROFILE)) {
+                statement.setString(1, user.getEmail());
+                statement.setString(2, user.getFullName());
+                statement.setString(3, user.getPreferredUsername());
+                statement.setObject(4, user.getLastLogin() == null
+                        ? null
+                        : OffsetDateTime.ofInstant(user.getLastLogin(), ZoneOffset.UTC));
+                statement.setObject(5, user.getId());
+                statement.executeUpdate();
+            }
+        });
+        // Later reads in this transaction must not get the copy from before the update
+        session.detach(current);
+
+        boolean emailChanged = !Objects.equals(current.getEmail(), user.getEmail());
+        Cache cache = session.getSessionFactory().getCache();
+        Runnable evict = () -> {
+            cache.evictEntityData(AppUser.class, user.getId());
+            if (emailChanged) {
+                cache.evictNaturalIdData(AppUser.class);
+            }
+        };
+        evict.run();
+        AfterCommit.run(evict);
+        return true;
+    }
+}
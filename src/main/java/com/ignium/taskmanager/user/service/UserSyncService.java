@@ -21,8 +21,14 @@ public class UserSyncService {
     private final UserRepository appUserRepository;
 
 
+    /**
+     * Creates or refreshes the user from the token's claims, writing only the columns the token
+     * carries: a known user is updated through {@link UserRepository#updateProfile}, which evicts
+     * only their cached entry. Only a user seen for the first time goes through the upsert, which
+     * keeps concurrent first requests from failing on the primary key but evicts every cached user.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public AppUser syncFromJwt(Jwt jwt) {
+    public void syncFromJwt(Jwt jwt) {
         UUID keycloakId = UUID.fromString(jwt.getSubject());
         
         AppUser user = AppUser.builder()
@@ -34,9 +40,9 @@ public class UserSyncService {
                 .calendarConnected(false)
                 .build();
         
-        appUserRepository.upsertUser(user);
-        return appUserRepository.findById(keycloakId)
-                .orElseThrow(() -> new RuntimeException("Failed to upsert user: " + keycloakId));
+        if (!appUserRepository.updateProfile(user)) {
+            appUserRepository.upsertUser(user);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -44,9 +50,10 @@ public class UserSyncService {
         return appUserRepository.findById(userId);
     }
     
+    /** Loads by id rather than counting, so that a cached user costs no statement. */
     @Transactional(readOnly = true)
     public boolean userExists(UUID userId) {
-        return appUserRepository.existsById(userId);
+        return appUserRepository.findById(userId).isPresent();
     }
 
     @Transactional(readOnly = true)
@@ -60,7 +67,7 @@ public class UserSyncService {
      * Use this when you're already in a transaction context.
      */
     public boolean userExistsNonTransactional(UUID userId) {
-        return appUserRepository.existsById(userId);
+        return appUserRepository.findById(userId).isPresent();
     }
 }
 
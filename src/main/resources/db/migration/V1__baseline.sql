@@ -0,0 +1,91 @@
+-- Schema as validated by Hibernate (spring.jpa.hibernate.ddl-auto=validate). Existing databases
+-- that were set up by hand are baselined at this version and start from V2.
+
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE TABLE users (
+    id                   UUID PRIMARY KEY,
+    email                VARCHAR(255) NOT NULL UNIQUE,
+    full_name            VARCHAR(255),
+    preferred_username   VARCHAR(255),
+    created_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at           TIMESTAMP(6) NOT NULL,
+    last_login           TIMESTAMP(6) WITH TIME ZONE,
+    google_access_token  TEXT,
+    google_refresh_token TEXT,
+    google_token_expiry  TIMESTAMP(6),
+    calendar_connected   BOOLEAN
+);
+
+CREATE TABLE tasks (
+    id                UUID PRIMARY KEY,
+    user_id           UUID NOT NULL REFERENCES users (id),
+    title             VARCHAR(255) NOT NULL,
+    description       TEXT,
+    status            VARCHAR(255) NOT NULL,
+    priority          VARCHAR(255) NOT NULL,
+    -- Urgency order of priority (LOW = 0 .. URGENT = 3), kept in step by the application
+    priority_rank     INTEGER NOT NULL,
+    due_date          TIMESTAMP(6),
+    version           BIGINT,
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL,
+    calendar_event_id VARCHAR(255),
+    last_synced_at    TIMESTAMP(6),
+    -- Not mapped; read by full-text search only
+    search_vector     TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED
+);
+
+CREATE TABLE tags (
+    id         UUID PRIMARY KEY,
+    user_id    UUID NOT NULL,
+    name       VARCHAR(100) NOT NULL,
+    color      VARCHAR(7),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    UNIQUE (name, user_id)
+);
+
+CREATE TABLE task_tags (
+    task_id UUID NOT NULL REFERENCES tasks (id),
+    tag_id  UUID NOT NULL REFERENCES tags (id),
+    PRIMARY KEY (task_id, tag_id)
+);
+
+CREATE TABLE user_task_stats (
+    user_id               UUID PRIMARY KEY,
+    total_count           BIGINT NOT NULL,
+    todo_count            BIGINT NOT NULL,
+    in_progress_count     BIGINT NOT NULL,
+    completed_count       BIGINT NOT NULL,
+    cancelled_count       BIGINT NOT NULL,
+    low_priority_count    BIGINT NOT NULL,
+    medium_priority_count BIGINT NOT NULL,
+    high_priority_count   BIGINT NOT NULL,
+    urgent_priority_count BIGINT NOT NULL,
+    overdue_count         BIGINT NOT NULL,
+    updated_at            TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE calendar_subscriptions (
+    id           UUID PRIMARY KEY,
+    user_id      UUID NOT NULL,
+    resource_id  VARCHAR(255) NOT NULL,
+    channel_id   VARCHAR(255) NOT NULL,
+    expiration   TIMESTAMP(6) NOT NULL,
+    sync_token   VARCHAR(1000),
+    last_sync_at TIMESTAMP(6),
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE calendar_sync_log (
+    id            UUID PRIMARY KEY,
+    task_id       UUID NOT NULL,
+    operation     VARCHAR(255) NOT NULL,
+    status        VARCHAR(255) NOT NULL,
+    error_message TEXT,
+    synced_at     TIMESTAMP(6) NOT NULL
+);
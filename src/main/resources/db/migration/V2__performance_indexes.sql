@@ -0,0 +1,35 @@
+-- Built CONCURRENTLY so that tables stay writable while the indexes build; Flyway runs this
+-- script outside a transaction. IF NOT EXISTS skips indexes created by hand before Flyway. A
+-- build that fails leaves an INVALID index behind: drop it and run the migration again.
+-- Each index names the repository method(s) it serves.
+
+-- Tasks: list sorts and cursors, TaskRepository#findTaskIdsWithFilters / TaskRepositoryCustom#findTaskIdsAfter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_created_at ON tasks (user_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_updated_at ON tasks (user_id, updated_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_priority_rank ON tasks (user_id, priority_rank, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_title ON tasks (user_id, title, id);
+
+-- Tasks: due date windows, TaskRepositoryCustom#findTaskIdsDue (the partial index for /upcoming and /overdue)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_due_date ON tasks (user_id, due_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_open_due_date ON tasks (user_id, due_date, id)
+    WHERE status IN ('TODO', 'IN_PROGRESS');
+
+-- Tasks: full-text search, TaskRepositoryCustom#searchTaskIds
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_search ON tasks USING GIN (user_id, search_vector);
+
+-- Tasks: calendar webhooks, TaskRepository#findByCalendarEventId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_calendar_event_id ON tasks (calendar_event_id);
+
+-- Task tags: tag detail pages, counts and renames, TaskRepository#findTaskSummariesByTagId / #touchTasksByTagIds
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_tags_tag_id ON task_tags (tag_id);
+
+-- Tags: tag autocomplete, TagRepository#findTagSuggestions. It leads with user_id, so it also
+-- serves TagRepository#findAllByUserId; a separate tags (user_id) index would only add writes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tags_user_lower_name ON tags (user_id, lower(name) text_pattern_ops);
+
+-- Calendar: CalendarSubscriptionRepository#findByUserId and #findByChannelId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_calendar_subscriptions_user_id ON calendar_subscriptions (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_calendar_subscriptions_channel_id ON calendar_subscriptions (channel_id);
+
+-- Calendar: CalendarSyncLogRepository#findByTaskIdOrderBySyncedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_calendar_sync_log_task_synced_at ON calendar_sync_log (task_id, synced_at);
@@ -0,0 +1,2 @@
+-- Per-user change stamp behind the ETag of task lists, bumped by every write to the user's tasks
+ALTER TABLE user_task_stats ADD COLUMN change_stamp BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- Delta sync behind GET /api/v1/tasks/changes. change_seq is the user's change stamp as of the
+-- task's last write; existing tasks start at 0 and are all sent to a client's first sync.
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- One row per deleted task, kept for app.task-changes.tombstone-retention
+CREATE TABLE task_tombstones (
+    task_id    UUID PRIMARY KEY,
+    user_id    UUID NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+-- TaskTombstoneRepository#findChangesAfter and #deleteByDeletedAtBefore
+CREATE INDEX idx_task_tombstones_user_change_seq ON task_tombstones (user_id, change_seq, task_id);
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
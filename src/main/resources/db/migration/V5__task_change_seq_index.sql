@@ -0,0 +1,5 @@
+-- Built CONCURRENTLY like V2, so it lives apart from the schema changes of V4, which need a
+-- transaction. A build that fails leaves an INVALID index behind: drop it and run again.
+
+-- Tasks: delta sync, TaskRepository#findChangesAfter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_change_seq ON tasks (user_id, change_seq, id);
@@ -0,0 +1,7 @@
+-- Built CONCURRENTLY like V2, in a file of its own as it can't run inside a transaction. A build
+-- that fails leaves an INVALID index behind: drop it and run again.
+
+-- Tasks: title suggestions for users too large for the in-memory title index,
+-- TaskRepositoryCustom#findTaskSuggestions. The 'simple' configuration only lower-cases and splits
+-- words, without stemming or stop words, so title words are kept whole for prefix matching.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_title_words ON tasks USING GIN (user_id, to_tsvector('simple', title));
@@ -0,0 +1,6 @@
+-- Built CONCURRENTLY like V2, in a file of its own as it can't run inside a transaction. A build
+-- that fails leaves an INVALID index behind: drop it and run again.
+
+-- Tasks: due date descending list sort, TaskRepositoryCustom#findTaskIdsAfter. Tasks without a due
+-- date go last in both directions, which a backward scan of idx_tasks_user_due_date can't give.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_due_date_desc ON tasks (user_id, due_date DESC NULLS LAST, id DESC);
@@ -0,0 +1,99 @@
+package com.ignium.taskmanager;
+
+import com.ignium.taskmanager.config.PostgresContainerConfig;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, the way production applies them, with Hibernate
+ * validating the entities against the result: the context only starts if they agree. H2 tests
+ * build their schema from the entities instead, so only this test exercises the migration SQL.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresContainerConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Database migration Tests")
+class DatabaseMigrationTest {
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+        "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(?:CONCURRENTLY\\s+)?(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)",
+        Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static List<String> migrationIndexes() throws IOException {
+        List<String> names = new ArrayList<>();
+        for (Resource script : new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql")) {
+            Matcher index = CREATE_INDEX.matcher(script.getContentAsString(StandardCharsets.UTF_8));
+            while (index.find()) {
+                names.add(index.group(1));
+            }
+        }
+        return names;
+    }
+
+    @Test
+    @DisplayName("migrate_shouldApplyEveryMigration")
+    void migrate_shouldApplyEveryMigration() {
+        // Act
+        MigrationInfo[] migrations = flyway.info().all();
+
+        // Assert
+        assertThat(migrations).isNotEmpty();
+        assertThat(Arrays.stream(migrations).map(MigrationInfo::getState)).containsOnly(MigrationState.SUCCESS);
+    }
+
+    @Test
+    @DisplayName("migrate_shouldBuildEveryIndexValid")
+    void migrate_shouldBuildEveryIndexValid() throws IOException {
+        // Arrange
+        List<String> expected = migrationIndexes();
+
+        // Act - a failed CONCURRENTLY build leaves its index behind, marked invalid
+        List<String> valid = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE i.indisvalid", String.class);
+        List<String> invalid = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE NOT i.indisvalid", String.class);
+
+        // Assert
+        assertThat(expected).contains("idx_tasks_user_search", "idx_tasks_user_title_words");
+        assertThat(valid).containsAll(expected);
+        assertThat(invalid).isEmpty();
+    }
+
+    @Test
+    @DisplayName("migrate_shouldInstallBtreeGin")
+    void migrate_shouldInstallBtreeGin() {
+        // Act
+        List<String> extensions = jdbcTemplate.queryForList("SELECT extname FROM pg_extension", String.class);
+
+        // Assert - the GIN indexes that lead with user_id need it
+        assertThat(extensions).contains("btree_gin");
+    }
+}
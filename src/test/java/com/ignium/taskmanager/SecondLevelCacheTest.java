@@ -0,0 +1,149 @@
+package com.ignium.taskmanager;
+
+import com.ignium.taskmanager.task.entity.Tag;
+import com.ignium.taskmanager.task.repository.TagRepository;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.user.entity.AppUser;
+import com.ignium.taskmanager.user.repository.UserRepository;
+import com.ignium.taskmanager.user.service.UserSyncService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that AppUser and Tag are served from the second-level cache and that native writes
+ * only evict the regions of the tables they name. Every step commits on its own, as requests
+ * do: a read-write region does not hand an entry to a transaction that started before it was
+ * stored.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:second-level-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserSyncService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-level cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserSyncService userSyncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userId = transaction.execute(status ->
+            userRepository.save(AppUser.builder().email(UUID.randomUUID() + "@example.com").build()).getId());
+    }
+
+    private Jwt jwt(String email, String name) {
+        return Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject(userId.toString())
+            .claim("email", email)
+            .claim("name", name)
+            .claim("preferred_username", "ada")
+            .build();
+    }
+
+    @Test
+    @DisplayName("syncFromJwt_forKnownUser_shouldWriteOnlyProfileColumnsAndEvictOnlyThatUser")
+    void syncFromJwt_forKnownUser_shouldWriteOnlyProfileColumnsAndEvictOnlyThatUser() {
+        // Arrange - both users are cached, then another node connects the calendar behind the cached copy
+        UUID otherId = transaction.execute(status ->
+            userRepository.save(AppUser.builder().email(UUID.randomUUID() + "@example.com").build()).getId());
+        String oldEmail = transaction.execute(status -> userRepository.findById(userId).orElseThrow().getEmail());
+        userSyncService.userExists(otherId);
+        jdbcTemplate.update("UPDATE users SET google_refresh_token = ?, calendar_connected = true WHERE id = ?",
+            "refresh-token", userId);
+
+        // Act
+        userSyncService.syncFromJwt(jwt(userId + "@lovelace.dev", "Ada Lovelace"));
+        statistics.clear();
+        boolean otherCached = userSyncService.userExists(otherId) && statistics.getPrepareStatementCount() == 0;
+        AppUser synced = transaction.execute(status -> userRepository.findByEmail(userId + "@lovelace.dev").orElseThrow());
+        boolean oldEmailFound = transaction.execute(status -> userRepository.findByEmail(oldEmail).isPresent());
+
+        // Assert - the token columns are kept and the other user stays cached
+        assertThat(synced.getFullName()).isEqualTo("Ada Lovelace");
+        assertThat(synced.getGoogleRefreshToken()).isEqualTo("refresh-token");
+        assertThat(synced.isCalendarConnected()).isTrue();
+        assertThat(oldEmailFound).isFalse();
+        assertThat(otherCached).isTrue();
+    }
+
+    @Test
+    @DisplayName("nativeWrites_shouldOnlyEvictTheRegionsOfTheirTables")
+    void nativeWrites_shouldOnlyEvictTheRegionsOfTheirTables() {
+        // Arrange
+        UUID tagId = transaction.execute(status -> tagRepository.save(Tag.builder().userId(userId).name("work").build()).getId());
+        userSyncService.userExists(userId);
+
+        // Act - writes to tasks and task_tags, then an insert into tags
+        transaction.executeWithoutResult(status -> {
+            taskRepository.upsertTaskCalendarInfo(UUID.randomUUID(), "event-1", LocalDateTime.now());
+            tagRepository.detachFromAllTasks(tagId);
+        });
+        statistics.clear();
+        userSyncService.userExists(userId);
+        transaction.execute(status -> tagRepository.findById(tagId));
+        long afterTaskWrites = statistics.getPrepareStatementCount();
+
+        transaction.executeWithoutResult(status -> tagRepository.insertIgnoringExisting(userId, List.of("home")));
+        statistics.clear();
+        userSyncService.userExists(userId);
+        transaction.execute(status -> tagRepository.findById(tagId));
+        long afterTagInsert = statistics.getPrepareStatementCount();
+
+        // Assert - only the tag is read again
+        assertThat(afterTaskWrites).isZero();
+        assertThat(afterTagInsert).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.ignium.taskmanager.calendar.repository;
+
+import com.ignium.taskmanager.calendar.entity.CalendarSubscription;
+import com.ignium.taskmanager.calendar.entity.CalendarSyncLog;
+import com.ignium.taskmanager.config.PostgresContainerConfig;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.user.entity.AppUser;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the lookups behind calendar sync and webhooks use their indexes. Each test runs
+ * the repository method, captures the SQL Hibernate sent and EXPLAINs that statement on
+ * PostgreSQL, against the indexes the migrations created. The tables only hold a few rows, so
+ * sequential scans are disabled for the EXPLAIN; the planner still falls back to one when no
+ * index applies.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.ignium.taskmanager.calendar.repository.CalendarLookupIndexTest$LastStatement"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresContainerConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Calendar lookup index Tests")
+class CalendarLookupIndexTest {
+
+    /** Remembers the last statement Hibernate prepared. */
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CalendarSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private CalendarSyncLogRepository syncLogRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UUID userId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        userId = entityManager.persistAndGetId(AppUser.builder().email("calendar@example.com").build(), UUID.class);
+        Task task = entityManager.persist(Task.builder().userId(userId).title("Synced").calendarEventId("event-1").build());
+        taskId = task.getId();
+        entityManager.persist(CalendarSubscription.builder().userId(userId).resourceId("resource-1").channelId("channel-1")
+            .expiration(LocalDateTime.now().plusDays(7)).build());
+        entityManager.persist(CalendarSyncLog.builder().taskId(taskId).operation(CalendarSyncLog.SyncOperation.CREATE)
+            .status(CalendarSyncLog.SyncStatus.SUCCESS).syncedAt(LocalDateTime.now()).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /** The plan of the statement {@code query} ran last, with {@code parameter} bound. */
+    private String explain(Runnable query, Object parameter) {
+        query.run();
+        String sql = LastStatement.sql;
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement settings = connection.createStatement()) {
+                settings.execute("SET LOCAL enable_seqscan = off");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                statement.setObject(1, parameter);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1).toLowerCase()).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("findByCalendarEventId_shouldUseCalendarEventIndex")
+    void findByCalendarEventId_shouldUseCalendarEventIndex() {
+        // Act
+        String plan = explain(() -> assertThat(taskRepository.findByCalendarEventId("event-1")).isPresent(), "event-1");
+
+        // Assert
+        assertThat(plan).contains("idx_tasks_calendar_event_id");
+    }
+
+    @Test
+    @DisplayName("subscriptionLookups_shouldUseUserAndChannelIndexes")
+    void subscriptionLookups_shouldUseUserAndChannelIndexes() {
+        // Act
+        String byUser = explain(() -> assertThat(subscriptionRepository.findByUserId(userId)).isPresent(), userId);
+        String byChannel = explain(() -> assertThat(subscriptionRepository.findByChannelId("channel-1")).isPresent(), "channel-1");
+
+        // Assert
+        assertThat(byUser).contains("idx_calendar_subscriptions_user_id");
+        assertThat(byChannel).contains("idx_calendar_subscriptions_channel_id");
+    }
+
+    @Test
+    @DisplayName("findByTaskIdOrderBySyncedAtDesc_shouldUseTaskSyncedAtIndex")
+    void findByTaskIdOrderBySyncedAtDesc_shouldUseTaskSyncedAtIndex() {
+        // Act
+        String plan = explain(() -> assertThat(syncLogRepository.findByTaskIdOrderBySyncedAtDesc(taskId)).hasSize(1), taskId);
+
+        // Assert
+        assertThat(plan).contains("idx_calendar_sync_log_task_synced_at");
+    }
+}
@@ -16,8 +16,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -46,7 +49,9 @@ class CalendarSyncServiceTest {
 
     @BeforeEach
     void setUp() {
-        // Common setup if needed
+        // Same attempts as in production, without waiting between them
+        ReflectionTestUtils.setField(calendarSyncService, "taskSyncRetry",
+            RetryTemplate.builder().maxAttempts(3).noBackoff().retryOn(IOException.class).build());
     }
 
     @Test
@@ -236,4 +241,85 @@ class CalendarSyncServiceTest {
         assertThat(capturedLog.getStatus()).isEqualTo(CalendarSyncLog.SyncStatus.FAILED);
         assertThat(capturedLog.getErrorMessage()).contains("Google API error");
     }
+
+    @Test
+    @DisplayName("syncTasksToCalendar_withNoCalendarConnected_shouldCheckUserOnce")
+    void syncTasksToCalendar_withNoCalendarConnected_shouldCheckUserOnce() throws IOException {
+        // Arrange
+        List<Task> tasks = List.of(CalendarTestDataFactory.createTask(), CalendarTestDataFactory.createTask());
+        AppUser user = CalendarTestDataFactory.createAppUserWithoutCalendar();
+
+        when(userRepository.findById(CalendarTestDataFactory.TEST_USER_ID))
+            .thenReturn(Optional.of(user));
+
+        // Act
+        calendarSyncService.syncTasksToCalendar(CalendarTestDataFactory.TEST_USER_ID, tasks, CalendarSyncLog.SyncOperation.CREATE);
+
+        // Assert
+        verify(userRepository, times(1)).findById(CalendarTestDataFactory.TEST_USER_ID);
+        verify(googleCalendarService, never()).createEvent(any(), any(), any(), any());
+        verify(syncLogRepository, never()).save(any(CalendarSyncLog.class));
+    }
+
+    @Test
+    @DisplayName("syncTasksToCalendar_withOneFailure_shouldSyncTheRest")
+    void syncTasksToCalendar_withOneFailure_shouldSyncTheRest() throws IOException {
+        // Arrange
+        Task failing = CalendarTestDataFactory.createTask();
+        failing.setTitle("Failing");
+        Task succeeding = CalendarTestDataFactory.createTask();
+        Task withoutDueDate = CalendarTestDataFactory.createTaskWithoutDueDate();
+        AppUser user = CalendarTestDataFactory.createAppUser();
+
+        when(userRepository.findById(CalendarTestDataFactory.TEST_USER_ID))
+            .thenReturn(Optional.of(user));
+        when(googleCalendarService.createEvent(any(), eq("Failing"), any(), any()))
+            .thenThrow(new IOException("Google API error"));
+        when(googleCalendarService.createEvent(any(), eq(succeeding.getTitle()), any(), any()))
+            .thenReturn(CalendarTestDataFactory.createCalendarEvent());
+
+        // Act
+        calendarSyncService.syncTasksToCalendar(CalendarTestDataFactory.TEST_USER_ID,
+            List.of(failing, succeeding, withoutDueDate), CalendarSyncLog.SyncOperation.CREATE);
+
+        // Assert
+        ArgumentCaptor<CalendarSyncLog> logCaptor = ArgumentCaptor.forClass(CalendarSyncLog.class);
+        verify(syncLogRepository, times(2)).save(logCaptor.capture());
+        assertThat(logCaptor.getAllValues())
+            .extracting(CalendarSyncLog::getStatus)
+            .containsExactly(CalendarSyncLog.SyncStatus.FAILED, CalendarSyncLog.SyncStatus.SUCCESS);
+        verify(googleCalendarService, times(3)).createEvent(any(), eq("Failing"), any(), any());
+        verify(taskRepository, times(1)).upsertTaskCalendarInfo(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("syncTasksToCalendar_withTransientFailure_shouldRetryOnlyThatTask")
+    void syncTasksToCalendar_withTransientFailure_shouldRetryOnlyThatTask() throws IOException {
+        // Arrange
+        Task flaky = CalendarTestDataFactory.createTask();
+        flaky.setTitle("Flaky");
+        Task succeeding = CalendarTestDataFactory.createTask();
+        AppUser user = CalendarTestDataFactory.createAppUser();
+
+        when(userRepository.findById(CalendarTestDataFactory.TEST_USER_ID))
+            .thenReturn(Optional.of(user));
+        when(googleCalendarService.createEvent(any(), eq("Flaky"), any(), any()))
+            .thenThrow(new IOException("Google API error"))
+            .thenReturn(CalendarTestDataFactory.createCalendarEvent());
+        when(googleCalendarService.createEvent(any(), eq(succeeding.getTitle()), any(), any()))
+            .thenReturn(CalendarTestDataFactory.createCalendarEvent());
+
+        // Act
+        calendarSyncService.syncTasksToCalendar(CalendarTestDataFactory.TEST_USER_ID,
+            List.of(flaky, succeeding), CalendarSyncLog.SyncOperation.CREATE);
+
+        // Assert
+        ArgumentCaptor<CalendarSyncLog> logCaptor = ArgumentCaptor.forClass(CalendarSyncLog.class);
+        verify(syncLogRepository, times(2)).save(logCaptor.capture());
+        assertThat(logCaptor.getAllValues())
+            .extracting(CalendarSyncLog::getStatus)
+            .containsExactly(CalendarSyncLog.SyncStatus.SUCCESS, CalendarSyncLog.SyncStatus.SUCCESS);
+        verify(googleCalendarService, times(2)).createEvent(any(), eq("Flaky"), any(), any());
+        verify(googleCalendarService, times(1)).createEvent(any(), eq(succeeding.getTitle()), any(), any());
+    }
 }
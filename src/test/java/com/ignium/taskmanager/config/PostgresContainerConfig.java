@@ -0,0 +1,21 @@
+package com.ignium.taskmanager.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * A throwaway PostgreSQL for tests that need the real database: Flyway migrates it on startup, so
+ * the schema and indexes are the ones production gets. 16 or later for {@code EXPLAIN (GENERIC_PLAN)}.
+ * Needs Docker; pair it with {@code @Testcontainers(disabledWithoutDocker = true)}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresContainerConfig {
+
+    @Bean
+    @ServiceConnection
+    public PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
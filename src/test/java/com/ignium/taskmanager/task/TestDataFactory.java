@@ -1,9 +1,12 @@
 package com.ignium.taskmanager.task;
 
 import com.ignium.taskmanager.task.dto.CreateTaskRequest;
+import com.ignium.taskmanager.task.dto.PageResult;
+import com.ignium.taskmanager.task.dto.PaginatedResponse;
 import com.ignium.taskmanager.task.dto.TagDetailResponse;
 import com.ignium.taskmanager.task.dto.TagResponse;
 import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TotalMode;
 import com.ignium.taskmanager.task.dto.UpdateTaskRequest;
 import com.ignium.taskmanager.task.entity.Tag;
 import com.ignium.taskmanager.task.entity.Task;
@@ -158,19 +161,20 @@ public class TestDataFactory {
     }
 
     public static TagDetailResponse createTagDetailResponse() {
+        List<TagDetailResponse.TaskSummary> tasks = List.of(
+            new TagDetailResponse.TaskSummary(
+                TEST_TASK_ID,
+                "Test Task",
+                Task.TaskStatus.TODO,
+                Task.TaskPriority.MEDIUM,
+                LocalDateTime.now().plusDays(1)
+            )
+        );
         return new TagDetailResponse(
             TEST_TAG_ID,
             "test-tag",
             "#0088CC",
-            List.of(
-                new TagDetailResponse.TaskSummary(
-                    TEST_TASK_ID,
-                    "Test Task",
-                    Task.TaskStatus.TODO,
-                    Task.TaskPriority.MEDIUM,
-                    LocalDateTime.now().plusDays(1)
-                )
-            ),
+            PaginatedResponse.from(new PageResult<>(tasks, 1L, TotalMode.EXACT, 20, 0, true, null)),
             LocalDateTime.now().minusDays(1),
             LocalDateTime.now()
         );
@@ -2,8 +2,11 @@ package com.ignium.taskmanager.task.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ignium.taskmanager.config.TestSecurityConfig;
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
 import com.ignium.taskmanager.config.exception.TagNotFoundException;
 import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.dto.MergeTagsRequest;
+import com.ignium.taskmanager.task.dto.RenameTagRequest;
 import com.ignium.taskmanager.task.dto.TagDetailResponse;
 import com.ignium.taskmanager.task.dto.TagResponse;
 import com.ignium.taskmanager.task.service.TagService;
@@ -13,21 +16,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
 import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,6 +51,9 @@ class TagControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private TagService tagService;
 
@@ -104,6 +118,51 @@ class TagControllerTest {
             ));
     }
 
+    // GET /api/v1/tags/suggest - Tag Autocomplete
+
+    @Test
+    @DisplayName("suggestTags_shouldReturnMatchingTags")
+    void suggestTags_shouldReturnMatchingTags() throws Exception {
+        // Arrange
+        List<TagResponse> suggestions = TestDataFactory.createTagResponseList().subList(0, 1);
+
+        when(tagService.suggestTags("wo", 5)).thenReturn(suggestions);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tags/suggest").param("prefix", "wo").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("work"))
+            .andExpect(jsonPath("$[0].taskCount").value(3))
+            .andDo(document("suggest-tags",
+                queryParameters(
+                    parameterWithName("prefix").description("Start of the tag name, case-insensitive (default: empty, matching every tag)").optional(),
+                    parameterWithName("limit").description("Maximum number of suggestions, 1 to 50 (default: 10)").optional()
+                ),
+                responseFields(
+                    fieldWithPath("[]").description("Matching tags, most used first").type("List<TagResponse>"),
+                    fieldWithPath("[].id").description("Unique tag identifier (UUID)").type("UUID"),
+                    fieldWithPath("[].name").description("Tag name").type("String"),
+                    fieldWithPath("[].color").description("Tag color in hex format").type("String"),
+                    fieldWithPath("[].taskCount").description("Number of tasks associated with tag; may lag recent task writes by a few minutes").type("int"),
+                    fieldWithPath("[].createdAt").description("Creation timestamp").type("LocalDateTime"),
+                    fieldWithPath("[].updatedAt").description("Last update timestamp").type("LocalDateTime")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("suggestTags_withInvalidLimit_shouldReturn400")
+    void suggestTags_withInvalidLimit_shouldReturn400() throws Exception {
+        // Arrange
+        doThrow(new InvalidRequestException("limit must be between 1 and 50"))
+            .when(tagService).suggestTags("", 0);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tags/suggest").param("limit", "0"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("limit must be between 1 and 50"));
+    }
+
     // GET /api/v1/tags/{id} - Get Tag Details
 
     @Test
@@ -112,33 +171,54 @@ class TagControllerTest {
         // Arrange
         TagDetailResponse response = TestDataFactory.createTagDetailResponse();
 
-        when(tagService.getTagById(TestDataFactory.TEST_TAG_ID)).thenReturn(response);
+        when(tagService.getTagById(TestDataFactory.TEST_TAG_ID, 0, 20, "dueDate", "asc")).thenReturn(response);
 
         // Act & Assert
-        mockMvc.perform(get("/api/v1/tags/{id}", TestDataFactory.TEST_TAG_ID))
+        mockMvc.perform(get("/api/v1/tags/{id}", TestDataFactory.TEST_TAG_ID)
+                .param("page", "0")
+                .param("size", "20")
+                .param("sortBy", "dueDate")
+                .param("sortDirection", "asc"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id").value(TestDataFactory.TEST_TAG_ID.toString()))
             .andExpect(jsonPath("$.name").value("test-tag"))
             .andExpect(jsonPath("$.color").value("#0088CC"))
-            .andExpect(jsonPath("$.tasks").isArray())
-            .andExpect(jsonPath("$.tasks[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
-            .andExpect(jsonPath("$.tasks[0].title").value("Test Task"))
-            .andExpect(jsonPath("$.tasks[0].status").value("TODO"))
-            .andExpect(jsonPath("$.tasks[0].priority").value("MEDIUM"))
+            .andExpect(jsonPath("$.tasks.content").isArray())
+            .andExpect(jsonPath("$.tasks.content[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andExpect(jsonPath("$.tasks.content[0].title").value("Test Task"))
+            .andExpect(jsonPath("$.tasks.content[0].status").value("TODO"))
+            .andExpect(jsonPath("$.tasks.content[0].priority").value("MEDIUM"))
+            .andExpect(jsonPath("$.tasks.totalElements").value(1))
             .andDo(document("get-tag-by-id",
                 pathParameters(
                     parameterWithName("id").description("Unique tag identifier (UUID)")
                 ),
+                queryParameters(
+                    parameterWithName("page").description("Page of the tag's tasks, 0-based (default: 0)").optional(),
+                    parameterWithName("size").description("Tasks per page (default: 20)").optional(),
+                    parameterWithName("sortBy").description("Sort field for the tasks: dueDate (default, missing due dates last), priority, createdAt, updatedAt or title").optional(),
+                    parameterWithName("sortDirection").description("Sort direction: asc (default) or desc").optional()
+                ),
                 responseFields(
                     fieldWithPath("id").description("Unique tag identifier (UUID)").type("UUID"),
                     fieldWithPath("name").description("Tag name").type("String"),
                     fieldWithPath("color").description("Tag color in hex format").type("String"),
-                    fieldWithPath("tasks").description("Array of task summaries").type("List<TaskSummary>"),
-                    fieldWithPath("tasks[].id").description("Task identifier").type("UUID"),
-                    fieldWithPath("tasks[].title").description("Task title").type("String"),
-                    fieldWithPath("tasks[].status").description("Task status").type("TaskStatus"),
-                    fieldWithPath("tasks[].priority").description("Task priority").type("TaskPriority"),
-                    fieldWithPath("tasks[].dueDate").description("Task due date").type("LocalDateTime"),
+                    fieldWithPath("tasks").description("Page of the current user's tasks with this tag").type("PaginatedResponse<TaskSummary>"),
+                    fieldWithPath("tasks.content").description("Task summaries of this page").type("List<TaskSummary>"),
+                    fieldWithPath("tasks.content[].id").description("Task identifier").type("UUID"),
+                    fieldWithPath("tasks.content[].title").description("Task title").type("String"),
+                    fieldWithPath("tasks.content[].status").description("Task status").type("TaskStatus"),
+                    fieldWithPath("tasks.content[].priority").description("Task priority").type("TaskPriority"),
+                    fieldWithPath("tasks.content[].dueDate").description("Task due date").type("LocalDateTime"),
+                    fieldWithPath("tasks.totalElements").description("Number of the user's tasks with this tag").type("long"),
+                    fieldWithPath("tasks.totalPages").description("Total number of pages").type("int"),
+                    fieldWithPath("tasks.size").description("Page size").type("int"),
+                    fieldWithPath("tasks.number").description("Current page number").type("int"),
+                    fieldWithPath("tasks.first").description("Is first page").type("boolean"),
+                    fieldWithPath("tasks.last").description("Is last page").type("boolean"),
+                    fieldWithPath("tasks.empty").description("Is page empty").type("boolean"),
+                    fieldWithPath("tasks.nextCursor").description("Always null; tag tasks are paged by number").type("String").optional(),
+                    fieldWithPath("tasks.totalMode").description("Always exact").type("String"),
                     fieldWithPath("createdAt").description("Creation timestamp").type("LocalDateTime"),
                     fieldWithPath("updatedAt").description("Last update timestamp").type("LocalDateTime")
                 )
@@ -150,7 +230,7 @@ class TagControllerTest {
     void getTagById_notFound_shouldReturn404() throws Exception {
         // Arrange
         doThrow(new TagNotFoundException(TestDataFactory.TEST_TAG_ID))
-            .when(tagService).getTagById(TestDataFactory.TEST_TAG_ID);
+            .when(tagService).getTagById(TestDataFactory.TEST_TAG_ID, 0, 20, "dueDate", "asc");
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/tags/{id}", TestDataFactory.TEST_TAG_ID))
@@ -172,6 +252,88 @@ class TagControllerTest {
             ));
     }
 
+    // POST /api/v1/tags/{id}/merge - Merge Tags
+
+    @Test
+    @DisplayName("mergeTags_shouldReturnTargetTag")
+    void mergeTags_shouldReturnTargetTag() throws Exception {
+        // Arrange
+        List<UUID> sourceIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(tagService.mergeTags(TestDataFactory.TEST_TAG_ID, sourceIds)).thenReturn(TestDataFactory.createTagResponse());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/tags/{id}/merge", TestDataFactory.TEST_TAG_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MergeTagsRequest(sourceIds))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(TestDataFactory.TEST_TAG_ID.toString()))
+            .andDo(document("merge-tags",
+                pathParameters(
+                    parameterWithName("id").description("Tag that the source tags are merged into")
+                ),
+                requestFields(
+                    fieldWithPath("sourceTagIds").description("Tags to merge; their tasks get the target tag and they are deleted (at most 100)").type("List<UUID>")
+                ),
+                responseFields(
+                    fieldWithPath("id").description("Unique tag identifier (UUID)").type("UUID"),
+                    fieldWithPath("name").description("Tag name").type("String"),
+                    fieldWithPath("color").description("Tag color in hex format").type("String"),
+                    fieldWithPath("taskCount").description("Number of tasks carrying the tag after the merge").type("int"),
+                    fieldWithPath("createdAt").description("Creation timestamp").type("LocalDateTime"),
+                    fieldWithPath("updatedAt").description("Last update timestamp").type("LocalDateTime")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("mergeTags_withoutSources_shouldReturn400")
+    void mergeTags_withoutSources_shouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/tags/{id}/merge", TestDataFactory.TEST_TAG_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MergeTagsRequest(List.of()))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400));
+
+        verify(tagService, never()).mergeTags(any(), any());
+    }
+
+    // POST /api/v1/tags/{id}/rename - Rename Tag
+
+    @Test
+    @DisplayName("renameTag_shouldReturnRenamedTag")
+    void renameTag_shouldReturnRenamedTag() throws Exception {
+        // Arrange
+        when(tagService.renameTag(TestDataFactory.TEST_TAG_ID, "test-tag")).thenReturn(TestDataFactory.createTagResponse());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/tags/{id}/rename", TestDataFactory.TEST_TAG_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RenameTagRequest("test-tag"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("test-tag"))
+            .andDo(document("rename-tag",
+                pathParameters(
+                    parameterWithName("id").description("Unique tag identifier (UUID)")
+                ),
+                requestFields(
+                    fieldWithPath("name").description("New tag name; if another of your tags already has it, the two are merged").type("String")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("renameTag_withBlankName_shouldReturn400")
+    void renameTag_withBlankName_shouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/tags/{id}/rename", TestDataFactory.TEST_TAG_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RenameTagRequest(" "))))
+            .andExpect(status().isBadRequest());
+
+        verify(tagService, never()).renameTag(any(), any());
+    }
+
     // DELETE /api/v1/tags/{id} - Delete Tag
 
     @Test
@@ -185,6 +347,26 @@ class TagControllerTest {
                     parameterWithName("id").description("Unique tag identifier (UUID)")
                 )
             ));
+
+        verify(tagService).deleteTag(TestDataFactory.TEST_TAG_ID, false);
+    }
+
+    @Test
+    @DisplayName("deleteTag_withForce_shouldReturnNoContent")
+    void deleteTag_withForce_shouldReturnNoContent() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/tags/{id}", TestDataFactory.TEST_TAG_ID).param("force", "true"))
+            .andExpect(status().isNoContent())
+            .andDo(document("delete-tag-force",
+                pathParameters(
+                    parameterWithName("id").description("Unique tag identifier (UUID)")
+                ),
+                queryParameters(
+                    parameterWithName("force").description("Remove the tag from all of its tasks first instead of refusing to delete a tag in use (default: false)").optional()
+                )
+            ));
+
+        verify(tagService).deleteTag(TestDataFactory.TEST_TAG_ID, true);
     }
 
     @Test
@@ -192,7 +374,7 @@ class TagControllerTest {
     void deleteTag_withTasks_shouldReturn400() throws Exception {
         // Arrange
         doThrow(new IllegalStateException("Cannot delete tag with ID " + TestDataFactory.TEST_TAG_ID + " because it is associated with 2 tasks"))
-            .when(tagService).deleteTag(TestDataFactory.TEST_TAG_ID);
+            .when(tagService).deleteTag(TestDataFactory.TEST_TAG_ID, false);
 
         // Act & Assert
         mockMvc.perform(delete("/api/v1/tags/{id}", TestDataFactory.TEST_TAG_ID))
@@ -218,7 +400,7 @@ class TagControllerTest {
     void deleteTag_notFound_shouldReturn404() throws Exception {
         // Arrange
         doThrow(new TagNotFoundException(TestDataFactory.TEST_TAG_ID))
-            .when(tagService).deleteTag(TestDataFactory.TEST_TAG_ID);
+            .when(tagService).deleteTag(TestDataFactory.TEST_TAG_ID, false);
 
         // Act & Assert
         mockMvc.perform(delete("/api/v1/tags/{id}", TestDataFactory.TEST_TAG_ID))
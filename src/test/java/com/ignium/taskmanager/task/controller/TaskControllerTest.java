@@ -2,14 +2,30 @@ package com.ignium.taskmanager.task.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ignium.taskmanager.config.TestSecurityConfig;
+import com.ignium.taskmanager.config.exception.ChangeCursorExpiredException;
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
 import com.ignium.taskmanager.config.exception.TaskNotFoundException;
 import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.dto.BulkDeleteTasksRequest;
+import com.ignium.taskmanager.task.dto.BulkUpdateTasksRequest;
 import com.ignium.taskmanager.task.dto.CreateTaskRequest;
+import com.ignium.taskmanager.task.dto.CreateTasksBatchRequest;
+import com.ignium.taskmanager.task.dto.PageResult;
 import com.ignium.taskmanager.task.dto.PaginatedResponse;
+import com.ignium.taskmanager.task.dto.TaskChangesResponse;
+import com.ignium.taskmanager.task.dto.TagMatch;
 import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TaskSelector;
+import com.ignium.taskmanager.task.dto.TaskStatsResponse;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.dto.TotalMode;
 import com.ignium.taskmanager.task.dto.UpdateTaskRequest;
 import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.service.TaskChangeService;
+import com.ignium.taskmanager.task.service.TaskExportWriter;
+import com.ignium.taskmanager.task.service.TaskPageCache;
 import com.ignium.taskmanager.task.service.TaskService;
+import com.ignium.taskmanager.task.service.TaskStatsService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,23 +33,37 @@ import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDoc
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
+import static org.springframework.restdocs.headers.HeaderDocumentation.responseHeaders;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.patch;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.put;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
@@ -42,9 +72,11 @@ import static org.springframework.restdocs.payload.PayloadDocumentation.response
 import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
 import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
@@ -60,6 +92,15 @@ class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskStatsService taskStatsService;
+
+    @MockitoBean
+    private TaskPageCache taskPageCache;
+
+    @MockitoBean
+    private TaskChangeService taskChangeService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -157,17 +198,24 @@ class TaskControllerTest {
         // Arrange
         TaskResponse response = TestDataFactory.createTaskResponse();
 
+        when(taskService.getTaskVersion(TestDataFactory.TEST_TASK_ID)).thenReturn(3L);
         when(taskService.getTaskById(TestDataFactory.TEST_TASK_ID)).thenReturn(response);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/tasks/{id}", TestDataFactory.TEST_TASK_ID))
             .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
             .andExpect(jsonPath("$.id").value(TestDataFactory.TEST_TASK_ID.toString()))
             .andExpect(jsonPath("$.title").value("Test Task"))
             .andDo(document("get-task-by-id",
                 pathParameters(
                     parameterWithName("id").description("Unique task identifier (UUID)")
                 ),
+                responseHeaders(
+                    headerWithName(HttpHeaders.ETAG).description("Version of the task; send it back in If-None-Match"),
+                    headerWithName(HttpHeaders.CACHE_CONTROL).description("Copies may be kept but must be revalidated")
+                ),
                 responseFields(
                     fieldWithPath("id").description("Unique task identifier (UUID)").type("UUID"),
                     fieldWithPath("title").description("Title of the task").type("String"),
@@ -187,7 +235,7 @@ class TaskControllerTest {
     void getTaskById_notFound_shouldReturn404() throws Exception {
         // Arrange
         doThrow(new TaskNotFoundException(TestDataFactory.TEST_TASK_ID))
-            .when(taskService).getTaskById(TestDataFactory.TEST_TASK_ID);
+            .when(taskService).getTaskVersion(TestDataFactory.TEST_TASK_ID);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/tasks/{id}", TestDataFactory.TEST_TASK_ID))
@@ -208,6 +256,262 @@ class TaskControllerTest {
             ));
     }
 
+    @Test
+    @DisplayName("getTaskById_withCurrentETag_shouldReturn304WithoutLoadingTask")
+    void getTaskById_withCurrentETag_shouldReturn304WithoutLoadingTask() throws Exception {
+        // Arrange
+        when(taskService.getTaskVersion(TestDataFactory.TEST_TASK_ID)).thenReturn(3L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/{id}", TestDataFactory.TEST_TASK_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(content().string(""))
+            .andDo(document("get-task-by-id-not-modified",
+                pathParameters(
+                    parameterWithName("id").description("Unique task identifier (UUID)")
+                ),
+                requestHeaders(
+                    headerWithName(HttpHeaders.IF_NONE_MATCH).description("ETag of the copy the client holds")
+                ),
+                responseHeaders(
+                    headerWithName(HttpHeaders.ETAG).description("Version of the task, unchanged"),
+                    headerWithName(HttpHeaders.CACHE_CONTROL).description("Copies may be kept but must be revalidated")
+                )
+            ));
+
+        verify(taskService, never()).getTaskById(any());
+    }
+
+    // POST /api/v1/tasks/batch - Create Tasks in Batch
+
+    @Test
+    @DisplayName("createTasks_shouldReturnCreatedTasks")
+    void createTasks_shouldReturnCreatedTasks() throws Exception {
+        // Arrange
+        CreateTasksBatchRequest request = new CreateTasksBatchRequest(List.of(
+            TestDataFactory.createTaskRequest(),
+            TestDataFactory.createTaskRequestWithoutTags()
+        ));
+        List<TaskResponse> responses = List.of(TestDataFactory.createTaskResponse(), TestDataFactory.createTaskResponse());
+
+        when(taskService.createTasks(request.tasks())).thenReturn(responses);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andDo(document("create-tasks-batch",
+                requestFields(
+                    fieldWithPath("tasks").description("Tasks to create, at most " + CreateTasksBatchRequest.MAX_TASKS).type("List<CreateTaskRequest>"),
+                    fieldWithPath("tasks[].title").description("Title of the task").type("String"),
+                    fieldWithPath("tasks[].description").description("Description of the task").type("String").optional(),
+                    fieldWithPath("tasks[].status").description("Task status").type("TaskStatus").optional(),
+                    fieldWithPath("tasks[].priority").description("Task priority").type("TaskPriority"),
+                    fieldWithPath("tasks[].dueDate").description("Task due date in ISO format").type("LocalDateTime").optional(),
+                    fieldWithPath("tasks[].tags").description("Array of tag names").type("List<String>").optional()
+                ),
+                responseFields(
+                    fieldWithPath("[]").description("Created tasks, in request order").type("List<TaskResponse>"),
+                    fieldWithPath("[].id").description("Unique task identifier").type("UUID"),
+                    fieldWithPath("[].title").description("Task title").type("String"),
+                    fieldWithPath("[].description").description("Task description").type("String"),
+                    fieldWithPath("[].status").description("Task status").type("TaskStatus"),
+                    fieldWithPath("[].priority").description("Task priority").type("TaskPriority"),
+                    fieldWithPath("[].dueDate").description("Task due date").type("LocalDateTime"),
+                    fieldWithPath("[].tags").description("Associated tag names").type("List<String>"),
+                    fieldWithPath("[].createdAt").description("Creation timestamp").type("LocalDateTime"),
+                    fieldWithPath("[].updatedAt").description("Last update timestamp").type("LocalDateTime")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("createTasks_withInvalidTask_shouldReturnBadRequest")
+    void createTasks_withInvalidTask_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        CreateTasksBatchRequest request = new CreateTasksBatchRequest(List.of(
+            TestDataFactory.createTaskRequest(),
+            new CreateTaskRequest("", null, null, Task.TaskPriority.LOW, null, null)
+        ));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.fieldErrors['tasks[1].title']").value("Task title is required"));
+
+        verify(taskService, never()).createTasks(any());
+    }
+
+    @Test
+    @DisplayName("createTasks_withEmptyBatch_shouldReturnBadRequest")
+    void createTasks_withEmptyBatch_shouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tasks\": []}"))
+            .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).createTasks(any());
+    }
+
+    // GET /api/v1/tasks/export - Export Tasks
+
+    @Test
+    @DisplayName("exportTasks_shouldStreamNdjson")
+    void exportTasks_shouldStreamNdjson() throws Exception {
+        // Arrange
+        when(taskService.exportTasks(eq(Task.TaskStatus.TODO), eq(List.of("work")), any())).thenAnswer(invocation -> {
+            TaskExportWriter writer = invocation.getArgument(2);
+            writer.write(TestDataFactory.createTaskResponse());
+            writer.finish();
+            return 1L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/v1/tasks/export")
+                .param("status", "TODO")
+                .param("tags", "work")
+                .param("format", "ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "application/x-ndjson"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+            .andExpect(content().string(startsWith("{\"id\":\"" + TestDataFactory.TEST_TASK_ID + "\"")))
+            .andDo(document("export-tasks",
+                queryParameters(
+                    parameterWithName("status").description("Filter by task status (TODO, IN_PROGRESS, COMPLETED, CANCELLED)").optional(),
+                    parameterWithName("tags").description("Filter by tag names; tasks with any of the tags match").optional(),
+                    parameterWithName("format").description("`ndjson` (default): one task object per line, with the fields of a task response; "
+                        + "`csv`: a header row, then one row per task with tags joined by `;`").optional()
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("exportTasks_withUnknownFormat_shouldReturnBadRequest")
+    void exportTasks_withUnknownFormat_shouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/export").param("format", "xml"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Unsupported export format: xml (expected ndjson or csv)"));
+
+        verify(taskService, never()).exportTasks(any(), any(), any());
+    }
+
+    // GET /api/v1/tasks/stats - Task Counters
+
+    @Test
+    @DisplayName("getTaskStats_shouldReturnCounters")
+    void getTaskStats_shouldReturnCounters() throws Exception {
+        // Arrange
+        Map<Task.TaskStatus, Long> byStatus = new LinkedHashMap<>();
+        byStatus.put(Task.TaskStatus.TODO, 3L);
+        byStatus.put(Task.TaskStatus.IN_PROGRESS, 1L);
+        byStatus.put(Task.TaskStatus.COMPLETED, 2L);
+        byStatus.put(Task.TaskStatus.CANCELLED, 0L);
+        Map<Task.TaskPriority, Long> byPriority = new LinkedHashMap<>();
+        byPriority.put(Task.TaskPriority.LOW, 1L);
+        byPriority.put(Task.TaskPriority.MEDIUM, 4L);
+        byPriority.put(Task.TaskPriority.HIGH, 1L);
+        byPriority.put(Task.TaskPriority.URGENT, 0L);
+        TaskStatsResponse response = new TaskStatsResponse(6, byStatus, byPriority, 2, LocalDateTime.of(2024, 1, 10, 10, 0));
+
+        when(taskStatsService.getStats()).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(6))
+            .andExpect(jsonPath("$.byStatus.TODO").value(3))
+            .andExpect(jsonPath("$.byPriority.MEDIUM").value(4))
+            .andExpect(jsonPath("$.overdue").value(2))
+            .andDo(document("get-task-stats",
+                responseFields(
+                    fieldWithPath("total").description("Number of tasks").type("long"),
+                    fieldWithPath("byStatus").description("Number of tasks per status").type("Map<TaskStatus, Long>"),
+                    fieldWithPath("byStatus.TODO").ignored(),
+                    fieldWithPath("byStatus.IN_PROGRESS").ignored(),
+                    fieldWithPath("byStatus.COMPLETED").ignored(),
+                    fieldWithPath("byStatus.CANCELLED").ignored(),
+                    fieldWithPath("byPriority").description("Number of tasks per priority").type("Map<TaskPriority, Long>"),
+                    fieldWithPath("byPriority.LOW").ignored(),
+                    fieldWithPath("byPriority.MEDIUM").ignored(),
+                    fieldWithPath("byPriority.HIGH").ignored(),
+                    fieldWithPath("byPriority.URGENT").ignored(),
+                    fieldWithPath("overdue").description("Open (TODO or IN_PROGRESS) tasks past their due date").type("long"),
+                    fieldWithPath("updatedAt").description("When the counters last changed").type("LocalDateTime")
+                )
+            ));
+    }
+
+    // GET /api/v1/tasks/changes - Delta Sync
+
+    @Test
+    @DisplayName("getTaskChanges_shouldReturnUpsertedAndDeletedTasks")
+    void getTaskChanges_shouldReturnUpsertedAndDeletedTasks() throws Exception {
+        // Arrange
+        UUID deletedId = UUID.randomUUID();
+        TaskChangesResponse changes = new TaskChangesResponse(
+            List.of(TestDataFactory.createTaskResponse()), List.of(deletedId), "YzF8NDJ8", false);
+        when(taskChangeService.getChanges("YzF8NDF8", 100)).thenReturn(changes);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/changes")
+                .param("since", "YzF8NDF8"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.upserted[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andExpect(jsonPath("$.deleted[0]").value(deletedId.toString()))
+            .andExpect(jsonPath("$.nextCursor").value("YzF8NDJ8"))
+            .andExpect(jsonPath("$.hasMore").value(false))
+            .andDo(document("get-task-changes",
+                queryParameters(
+                    parameterWithName("since").description("nextCursor of the previous response; omit for the first sync, which returns every task").optional(),
+                    parameterWithName("limit").description("Maximum changes per response, 1 to 500 (default 100)").optional()
+                ),
+                responseFields(
+                    fieldWithPath("upserted").description("Tasks created or updated since the cursor, as they are now").type("List<TaskResponse>"),
+                    fieldWithPath("upserted[].id").description("Unique task identifier").type("UUID"),
+                    fieldWithPath("upserted[].title").description("Task title").type("String"),
+                    fieldWithPath("upserted[].description").description("Task description").type("String"),
+                    fieldWithPath("upserted[].status").description("Task status").type("TaskStatus"),
+                    fieldWithPath("upserted[].priority").description("Task priority").type("TaskPriority"),
+                    fieldWithPath("upserted[].dueDate").description("Task due date").type("LocalDateTime"),
+                    fieldWithPath("upserted[].tags").description("Associated tag names").type("List<String>"),
+                    fieldWithPath("upserted[].createdAt").description("Creation timestamp").type("LocalDateTime"),
+                    fieldWithPath("upserted[].updatedAt").description("Last update timestamp").type("LocalDateTime"),
+                    fieldWithPath("deleted").description("Ids of tasks deleted since the cursor").type("List<UUID>"),
+                    fieldWithPath("nextCursor").description("Cursor to send as since next time").type("String"),
+                    fieldWithPath("hasMore").description("Whether more changes are waiting; if so, ask again right away").type("boolean")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("getTaskChanges_withExpiredCursor_shouldReturnGone")
+    void getTaskChanges_withExpiredCursor_shouldReturnGone() throws Exception {
+        // Arrange
+        when(taskChangeService.getChanges("old", 100)).thenThrow(new ChangeCursorExpiredException());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/changes")
+                .param("since", "old"))
+            .andExpect(status().isGone())
+            .andExpect(jsonPath("$.status").value(410))
+            .andDo(document("get-task-changes-expired"));
+    }
+
     // GET /api/v1/tasks - List Tasks with Filters
 
     @Test
@@ -215,9 +519,9 @@ class TaskControllerTest {
     void getAllTasks_shouldReturnPaginatedList() throws Exception {
         // Arrange
         List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
-        Page<TaskResponse> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 10), 1);
+        PageResult<TaskResponse> taskPage = new PageResult<>(tasks, 1L, TotalMode.EXACT, 10, 0, true, null);
 
-        when(taskService.getTasksWithFilters(any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+        when(taskService.getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), eq(TotalMode.EXACT)))
             .thenReturn(taskPage);
 
         // Act & Assert
@@ -232,14 +536,18 @@ class TaskControllerTest {
             .andExpect(jsonPath("$.first").value(true))
             .andExpect(jsonPath("$.last").value(true))
             .andExpect(jsonPath("$.empty").value(false))
+            .andExpect(jsonPath("$.totalMode").value("exact"))
             .andDo(document("get-all-tasks",
                 queryParameters(
                     parameterWithName("status").description("Filter by task status").optional(),
-                    parameterWithName("tags").description("Filter by tag names (OR logic)").optional(),
+                    parameterWithName("tags").description("Filter by tag names, combined as set by tagMatch").optional(),
+                    parameterWithName("tagMatch").description("any (default) keeps tasks with any of the tags, all only tasks with every one of them").optional(),
                     parameterWithName("page").description("Page number (0-based)").optional(),
                     parameterWithName("size").description("Page size").optional(),
-                    parameterWithName("sortBy").description("Sort field").optional(),
-                    parameterWithName("sortDirection").description("Sort direction (asc/desc)").optional()
+                    parameterWithName("sortBy").description("Sort field: createdAt (default), updatedAt, dueDate, priority (by urgency) or title").optional(),
+                    parameterWithName("sortDirection").description("Sort direction (asc/desc)").optional(),
+                    parameterWithName("cursor").description("Opaque keyset cursor from a previous page's nextCursor; empty starts cursor mode").optional(),
+                    parameterWithName("includeTotal").description("How to compute totalElements: exact (default), none or estimated").optional()
                 ),
                 responseFields(
                     fieldWithPath("content").description("Array of task responses").type("List<TaskResponse>"),
@@ -252,25 +560,343 @@ class TaskControllerTest {
                     fieldWithPath("content[].tags").description("Associated tag names").type("List<String>"),
                     fieldWithPath("content[].createdAt").description("Creation timestamp").type("LocalDateTime"),
                     fieldWithPath("content[].updatedAt").description("Last update timestamp").type("LocalDateTime"),
-                    fieldWithPath("totalElements").description("Total number of tasks").type("long"),
-                    fieldWithPath("totalPages").description("Total number of pages").type("int"),
+                    fieldWithPath("totalElements").description("Total number of tasks (null when includeTotal=none)").type("long").optional(),
+                    fieldWithPath("totalPages").description("Total number of pages (null when includeTotal=none)").type("int").optional(),
                     fieldWithPath("size").description("Page size").type("int"),
                     fieldWithPath("number").description("Current page number").type("int"),
                     fieldWithPath("first").description("Is first page").type("boolean"),
                     fieldWithPath("last").description("Is last page").type("boolean"),
-                    fieldWithPath("empty").description("Is result empty").type("boolean")
+                    fieldWithPath("empty").description("Is result empty").type("boolean"),
+                    fieldWithPath("nextCursor").description("Cursor for the next page (cursor mode only, null on the last page)").type("String").optional(),
+                    fieldWithPath("totalMode").description("How totalElements was computed: exact, none or estimated").type("String")
                 )
             ));
     }
 
+    @Test
+    @DisplayName("getAllTasks_withoutTotal_shouldReturnNullTotals")
+    void getAllTasks_withoutTotal_shouldReturnNullTotals() throws Exception {
+        // Arrange
+        List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
+        PageResult<TaskResponse> taskPage = new PageResult<>(tasks, null, TotalMode.NONE, 10, 0, false, null);
+
+        when(taskService.getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), eq(TotalMode.NONE)))
+            .thenReturn(taskPage);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("includeTotal", "none"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").doesNotExist())
+            .andExpect(jsonPath("$.totalPages").doesNotExist())
+            .andExpect(jsonPath("$.last").value(false))
+            .andExpect(jsonPath("$.totalMode").value("none"))
+            .andDo(document("get-tasks-without-total",
+                queryParameters(
+                    parameterWithName("includeTotal").description("exact, none or estimated")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withUnknownTotalMode_shouldReturnBadRequest")
+    void getAllTasks_withUnknownTotalMode_shouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("includeTotal", "sometimes"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withCurrentETag_shouldReturn304WithoutQueryingTasks")
+    void getAllTasks_withCurrentETag_shouldReturn304WithoutQueryingTasks() throws Exception {
+        // Arrange
+        when(taskService.getTaskListStamp()).thenReturn(42L);
+        when(taskService.getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any()))
+            .thenReturn(new PageResult<>(List.of(), 0L, TotalMode.EXACT, 10, 0, true, null));
+
+        // Act & Assert - a stale ETag gets the page with the current one
+        mockMvc.perform(get("/api/v1/tasks")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"41\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"42\""));
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("status", "TODO")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"42\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+            .andDo(document("get-tasks-not-modified",
+                requestHeaders(
+                    headerWithName(HttpHeaders.IF_NONE_MATCH).description("ETag of the page the client holds")
+                ),
+                responseHeaders(
+                    headerWithName(HttpHeaders.ETAG).description("Change stamp of all of the user's tasks, unchanged"),
+                    headerWithName(HttpHeaders.CACHE_CONTROL).description("Copies may be kept but must be revalidated")
+                )
+            ));
+
+        verify(taskService).getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withCachedPage_shouldAnswerWithoutQueryingTasks")
+    void getAllTasks_withCachedPage_shouldAnswerWithoutQueryingTasks() throws Exception {
+        // Arrange - tags in another order and duplicated select the same page
+        PageResult<TaskResponse> cached = new PageResult<>(List.of(TestDataFactory.createTaskResponse()), 1L, TotalMode.EXACT, 10, 0, true, null);
+        TaskPageCache.Key key = TaskPageCache.Key.page(Task.TaskStatus.TODO, List.of("home", "work"), TagMatch.ANY,
+            0, 10, "createdAt", "desc", TotalMode.EXACT);
+        when(taskService.getTaskListStamp()).thenReturn(42L);
+        when(taskPageCache.get(42L, key)).thenReturn(Optional.of(cached));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("status", "TODO")
+                .param("tags", "work", "home", "work")
+                .param("sortDirection", "DESC"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+            .andExpect(jsonPath("$.content[0].id").value(TestDataFactory.TEST_TASK_ID.toString()));
+
+        verify(taskService, never()).getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any());
+        verify(taskPageCache, never()).put(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withUncachedPage_shouldStoreItUnderTheStampReadFirst")
+    void getAllTasks_withUncachedPage_shouldStoreItUnderTheStampReadFirst() throws Exception {
+        // Arrange
+        PageResult<TaskResponse> taskPage = new PageResult<>(List.of(), null, TotalMode.NONE, 20, 0, true, null);
+        when(taskService.getTaskListStamp()).thenReturn(7L);
+        when(taskService.getTasksWithCursor(any(), any(), any(), eq(""), eq(20), anyString(), anyString(), eq(TotalMode.NONE)))
+            .thenReturn(taskPage);
+
+        // Act
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("cursor", "")
+                .param("page", "3")
+                .param("size", "20")
+                .param("includeTotal", "none"))
+            .andExpect(status().isOk());
+
+        // Assert - cursor mode ignores page, so it is not part of the key
+        verify(taskPageCache).put(7L, TaskPageCache.Key.cursor(null, null, TagMatch.ANY, "", 20, "createdAt", "desc", TotalMode.NONE), taskPage);
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withCursor_shouldReturnKeysetPage")
+    void getAllTasks_withCursor_shouldReturnKeysetPage() throws Exception {
+        // Arrange
+        List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
+        PageResult<TaskResponse> result = new PageResult<>(tasks, 11L, TotalMode.EXACT, 10, 1, false, "next-cursor-token");
+
+        when(taskService.getTasksWithCursor(any(), any(), any(), eq("cursor-token"), anyInt(), anyString(), anyString(), any()))
+            .thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("cursor", "cursor-token")
+                .param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andExpect(jsonPath("$.totalElements").value(11))
+            .andExpect(jsonPath("$.totalPages").value(2))
+            .andExpect(jsonPath("$.number").value(1))
+            .andExpect(jsonPath("$.first").value(false))
+            .andExpect(jsonPath("$.last").value(false))
+            .andExpect(jsonPath("$.nextCursor").value("next-cursor-token"))
+            .andDo(document("get-tasks-with-cursor",
+                queryParameters(
+                    parameterWithName("cursor").description("Opaque cursor returned as nextCursor by the previous page"),
+                    parameterWithName("size").description("Page size").optional()
+                )
+            ));
+
+        verify(taskService, never()).getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withInvalidCursor_shouldReturnBadRequest")
+    void getAllTasks_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(taskService.getTasksWithCursor(any(), any(), any(), anyString(), anyInt(), anyString(), anyString(), any()))
+            .thenThrow(new InvalidRequestException("Invalid cursor: garbage"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("cursor", "garbage"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid cursor: garbage"));
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withIllegalArgumentFromServer_shouldReturnInternalServerError")
+    void getAllTasks_withIllegalArgumentFromServer_shouldReturnInternalServerError() throws Exception {
+        // Arrange - a bug on our side, not the client's
+        when(taskService.getTasksWithCursor(any(), any(), any(), anyString(), anyInt(), anyString(), anyString(), any()))
+            .thenThrow(new IllegalArgumentException("Parameter value [x] did not match expected type"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("cursor", "garbage"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
+    }
+
+    @Test
+    @DisplayName("getUpcomingTasks_shouldReturnKeysetPage")
+    void getUpcomingTasks_shouldReturnKeysetPage() throws Exception {
+        // Arrange
+        List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
+        PageResult<TaskResponse> result = new PageResult<>(tasks, null, TotalMode.NONE, 20, 0, false, "next-cursor-token");
+
+        when(taskService.getUpcomingTasks(3, null, 20)).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/upcoming").param("days", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andExpect(jsonPath("$.nextCursor").value("next-cursor-token"))
+            .andDo(document("get-upcoming-tasks",
+                queryParameters(
+                    parameterWithName("days").description("How many days ahead to look, 1 to 366 (default 7)").optional(),
+                    parameterWithName("cursor").description("Opaque cursor returned as nextCursor by the previous page").optional(),
+                    parameterWithName("size").description("Page size, 1 to 100 (default 20)").optional()
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("getOverdueTasks_shouldReturnKeysetPage")
+    void getOverdueTasks_shouldReturnKeysetPage() throws Exception {
+        // Arrange
+        List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
+        PageResult<TaskResponse> result = new PageResult<>(tasks, null, TotalMode.NONE, 10, 1, true, null);
+
+        when(taskService.getOverdueTasks("cursor-token", 10)).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/overdue").param("cursor", "cursor-token").param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andExpect(jsonPath("$.last").value(true))
+            .andDo(document("get-overdue-tasks",
+                queryParameters(
+                    parameterWithName("cursor").description("Opaque cursor returned as nextCursor by the previous page").optional(),
+                    parameterWithName("size").description("Page size, 1 to 100 (default 20)").optional()
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withDueDateRange_shouldReturnDueWindow")
+    void getAllTasks_withDueDateRange_shouldReturnDueWindow() throws Exception {
+        // Arrange
+        List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
+        PageResult<TaskResponse> result = new PageResult<>(tasks, null, TotalMode.NONE, 10, 0, true, null);
+        LocalDateTime from = LocalDateTime.of(2025, 3, 3, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+        when(taskService.getTasksDueBetween(eq(from), eq(to), eq(Task.TaskStatus.TODO), isNull(), eq(TagMatch.ANY), isNull(), eq(10)))
+            .thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("dueFrom", "2025-03-03T00:00:00")
+                .param("dueTo", "2025-03-10T00:00:00")
+                .param("status", "TODO"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andDo(document("get-tasks-due-between",
+                queryParameters(
+                    parameterWithName("dueFrom").description("Only tasks due at or after this time (ISO date-time)").optional(),
+                    parameterWithName("dueTo").description("Only tasks due before this time (ISO date-time)").optional(),
+                    parameterWithName("status").description("Filter by task status").optional()
+                )
+            ));
+
+        verify(taskService, never()).getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("suggestTasks_shouldReturnMatchingTitles")
+    void suggestTasks_shouldReturnMatchingTitles() throws Exception {
+        // Arrange
+        List<TaskSuggestionResponse> suggestions = List.of(TaskSuggestionResponse.from(TestDataFactory.createTask()));
+
+        when(taskService.suggestTasks("tes ta", 5)).thenReturn(suggestions);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/suggest").param("q", "tes ta").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andDo(document("suggest-tasks",
+                queryParameters(
+                    parameterWithName("q").description("Typed text; every word must start a word of the title, case-insensitive (default: empty, matching nothing)").optional(),
+                    parameterWithName("limit").description("Maximum number of suggestions, 1 to 50 (default: 10)").optional()
+                ),
+                responseFields(
+                    fieldWithPath("[]").description("Matching tasks, most recently updated first").type("List<TaskSuggestionResponse>"),
+                    fieldWithPath("[].id").description("Unique task identifier (UUID)").type("UUID"),
+                    fieldWithPath("[].title").description("Task title").type("String"),
+                    fieldWithPath("[].status").description("Task status").type("TaskStatus"),
+                    fieldWithPath("[].updatedAt").description("Last update timestamp").type("LocalDateTime")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("searchTasks_shouldReturnRankedPage")
+    void searchTasks_shouldReturnRankedPage() throws Exception {
+        // Arrange
+        List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
+        PageResult<TaskResponse> result = new PageResult<>(tasks, null, TotalMode.NONE, 20, 0, false, "next-search-cursor");
+
+        when(taskService.searchTasks(eq("report -draft"), eq(Task.TaskStatus.TODO), eq(List.of("work")), eq(TagMatch.ANY), isNull(), eq(20)))
+            .thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/search")
+                .param("q", "report -draft")
+                .param("status", "TODO")
+                .param("tags", "work"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andExpect(jsonPath("$.last").value(false))
+            .andExpect(jsonPath("$.nextCursor").value("next-search-cursor"))
+            .andDo(document("search-tasks",
+                queryParameters(
+                    parameterWithName("q").description("Search text in web search syntax: words, \"quoted phrases\", or, -excluded"),
+                    parameterWithName("status").description("Only tasks with this status").optional(),
+                    parameterWithName("tags").description("Only tasks carrying these tags").optional(),
+                    parameterWithName("tagMatch").description("How several tags combine: any (default) or all").optional(),
+                    parameterWithName("cursor").description("Opaque cursor returned as nextCursor by the previous page").optional(),
+                    parameterWithName("size").description("Page size, 1 to 100 (default 20)").optional()
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("searchTasks_withoutQuery_shouldReturnBadRequest")
+    void searchTasks_withoutQuery_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(taskService.searchTasks(eq(""), any(), any(), any(), any(), anyInt()))
+            .thenThrow(new InvalidRequestException("Search query must not be blank"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks/search"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Search query must not be blank"));
+    }
+
     @Test
     @DisplayName("getAllTasks_withStatusFilter_shouldFilterByStatus")
     void getAllTasks_withStatusFilter_shouldFilterByStatus() throws Exception {
         // Arrange
         List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
-        Page<TaskResponse> taskPage = new PageImpl<>(tasks);
+        PageResult<TaskResponse> taskPage = new PageResult<>(tasks, 1L, TotalMode.EXACT, 10, 0, true, null);
 
-        when(taskService.getTasksWithFilters(any(Task.TaskStatus.class), any(), anyInt(), anyInt(), anyString(), anyString()))
+        when(taskService.getTasksWithFilters(any(Task.TaskStatus.class), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any()))
             .thenReturn(taskPage);
 
         // Act & Assert
@@ -285,7 +911,7 @@ class TaskControllerTest {
                     parameterWithName("tags").description("Filter by tag names").optional(),
                     parameterWithName("page").description("Page number").optional(),
                     parameterWithName("size").description("Page size").optional(),
-                    parameterWithName("sortBy").description("Sort field").optional(),
+                    parameterWithName("sortBy").description("Sort field: createdAt (default), updatedAt, dueDate, priority (by urgency) or title").optional(),
                     parameterWithName("sortDirection").description("Sort direction").optional()
                 )
             ));
@@ -296,9 +922,9 @@ class TaskControllerTest {
     void getAllTasks_withTagsFilter_shouldFilterByTags() throws Exception {
         // Arrange
         List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
-        Page<TaskResponse> taskPage = new PageImpl<>(tasks);
+        PageResult<TaskResponse> taskPage = new PageResult<>(tasks, 1L, TotalMode.EXACT, 10, 0, true, null);
 
-        when(taskService.getTasksWithFilters(any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+        when(taskService.getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any()))
             .thenReturn(taskPage);
 
         // Act & Assert
@@ -312,20 +938,57 @@ class TaskControllerTest {
                     parameterWithName("tags").description("Filter by tag names (OR logic - tasks with ANY of these tags)"),
                     parameterWithName("page").description("Page number").optional(),
                     parameterWithName("size").description("Page size").optional(),
-                    parameterWithName("sortBy").description("Sort field").optional(),
+                    parameterWithName("sortBy").description("Sort field: createdAt (default), updatedAt, dueDate, priority (by urgency) or title").optional(),
                     parameterWithName("sortDirection").description("Sort direction").optional()
                 )
             ));
     }
 
+    @Test
+    @DisplayName("getAllTasks_withTagMatchAll_shouldRequireEveryTag")
+    void getAllTasks_withTagMatchAll_shouldRequireEveryTag() throws Exception {
+        // Arrange
+        List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
+        PageResult<TaskResponse> taskPage = new PageResult<>(tasks, 1L, TotalMode.EXACT, 10, 0, true, null);
+
+        when(taskService.getTasksWithFilters(any(), eq(List.of("work", "urgent")), eq(TagMatch.ALL),
+                anyInt(), anyInt(), anyString(), anyString(), any()))
+            .thenReturn(taskPage);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("tags", "work", "urgent")
+                .param("tagMatch", "all"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content").isArray())
+            .andDo(document("get-tasks-with-all-tags",
+                queryParameters(
+                    parameterWithName("tags").description("Tag names that every returned task must carry"),
+                    parameterWithName("tagMatch").description("all (AND logic) or any (OR logic, default)")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("getAllTasks_withUnknownTagMatch_shouldReturnBadRequest")
+    void getAllTasks_withUnknownTagMatch_shouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tasks")
+                .param("tags", "work")
+                .param("tagMatch", "some"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400));
+        verify(taskService, never()).getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any());
+    }
+
     @Test
     @DisplayName("getAllTasks_withPagination_shouldReturnCorrectPage")
     void getAllTasks_withPagination_shouldReturnCorrectPage() throws Exception {
         // Arrange
         List<TaskResponse> tasks = List.of(TestDataFactory.createTaskResponse());
-        Page<TaskResponse> taskPage = new PageImpl<>(tasks);
+        PageResult<TaskResponse> taskPage = new PageResult<>(tasks, 1L, TotalMode.EXACT, 10, 0, true, null);
 
-        when(taskService.getTasksWithFilters(any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+        when(taskService.getTasksWithFilters(any(), any(), any(), anyInt(), anyInt(), anyString(), anyString(), any()))
             .thenReturn(taskPage);
 
         // Act & Assert
@@ -342,7 +1005,7 @@ class TaskControllerTest {
                     parameterWithName("tags").description("Filter by tag names").optional(),
                     parameterWithName("page").description("Page number (0-based)"),
                     parameterWithName("size").description("Page size"),
-                    parameterWithName("sortBy").description("Sort field"),
+                    parameterWithName("sortBy").description("Sort field: createdAt (default), updatedAt, dueDate, priority (by urgency) or title"),
                     parameterWithName("sortDirection").description("Sort direction (asc/desc)")
                 )
             ));
@@ -460,6 +1123,137 @@ class TaskControllerTest {
             ));
     }
 
+    // PATCH /api/v1/tasks/bulk - Bulk Update Tasks
+
+    @Test
+    @DisplayName("updateTasks_shouldReturnAffectedIds")
+    void updateTasks_shouldReturnAffectedIds() throws Exception {
+        // Arrange
+        BulkUpdateTasksRequest request = new BulkUpdateTasksRequest(
+            new TaskSelector(null, Task.TaskStatus.IN_PROGRESS, List.of("work")),
+            Task.TaskStatus.COMPLETED, null, null);
+
+        when(taskService.updateTasks(request)).thenReturn(List.of(TestDataFactory.TEST_TASK_ID));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/v1/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(1))
+            .andExpect(jsonPath("$.ids[0]").value(TestDataFactory.TEST_TASK_ID.toString()))
+            .andDo(document("bulk-update-tasks",
+                requestFields(
+                    fieldWithPath("select").description("Which tasks to update: either `ids`, `status` and/or `tags`, or `all`; an empty selector is rejected").type("TaskSelector"),
+                    fieldWithPath("select.ids").description("Task ids, at most " + TaskSelector.MAX_IDS + "; ids of other users are ignored").type("List<UUID>").optional(),
+                    fieldWithPath("select.status").description("Only tasks with this status").type("TaskStatus").optional(),
+                    fieldWithPath("select.tags").description("Only tasks with at least one of these tags").type("List<String>").optional(),
+                    fieldWithPath("select.all").description("Every task of the user, when `true`").type("boolean").optional(),
+                    fieldWithPath("status").description("New status").type("TaskStatus").optional(),
+                    fieldWithPath("priority").description("New priority").type("TaskPriority").optional(),
+                    fieldWithPath("dueDate").description("New due date in ISO format").type("LocalDateTime").optional()
+                ),
+                responseFields(
+                    fieldWithPath("affected").description("Number of updated tasks").type("int"),
+                    fieldWithPath("ids").description("Ids of the updated tasks").type("List<UUID>")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("updateTasks_withoutChanges_shouldReturnBadRequest")
+    void updateTasks_withoutChanges_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        BulkUpdateTasksRequest request = new BulkUpdateTasksRequest(
+            new TaskSelector(List.of(TestDataFactory.TEST_TASK_ID), null, null), null, null, null);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/v1/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.fieldErrors.changing").value("At least one of status, priority or dueDate must be set"));
+
+        verify(taskService, never()).updateTasks(any());
+    }
+
+    // DELETE /api/v1/tasks/bulk - Bulk Delete Tasks
+
+    @Test
+    @DisplayName("deleteTasks_shouldReturnAffectedIds")
+    void deleteTasks_shouldReturnAffectedIds() throws Exception {
+        // Arrange
+        BulkDeleteTasksRequest request = new BulkDeleteTasksRequest(
+            new TaskSelector(List.of(TestDataFactory.TEST_TASK_ID), null, null));
+
+        when(taskService.deleteTasks(request)).thenReturn(List.of(TestDataFactory.TEST_TASK_ID));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(1))
+            .andDo(document("bulk-delete-tasks",
+                requestFields(
+                    fieldWithPath("select").description("Which tasks to delete: either `ids`, `status` and/or `tags`, or `all`; an empty selector is rejected").type("TaskSelector"),
+                    fieldWithPath("select.ids").description("Task ids, at most " + TaskSelector.MAX_IDS + "; ids of other users are ignored").type("List<UUID>").optional(),
+                    fieldWithPath("select.status").description("Only tasks with this status").type("TaskStatus").optional(),
+                    fieldWithPath("select.tags").description("Only tasks with at least one of these tags").type("List<String>").optional(),
+                    fieldWithPath("select.all").description("Every task of the user, when `true`").type("boolean").optional()
+                ),
+                responseFields(
+                    fieldWithPath("affected").description("Number of deleted tasks").type("int"),
+                    fieldWithPath("ids").description("Ids of the deleted tasks").type("List<UUID>")
+                )
+            ));
+    }
+
+    @Test
+    @DisplayName("deleteTasks_withIdsAndFilter_shouldReturnBadRequest")
+    void deleteTasks_withIdsAndFilter_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        BulkDeleteTasksRequest request = new BulkDeleteTasksRequest(
+            new TaskSelector(List.of(TestDataFactory.TEST_TASK_ID), Task.TaskStatus.TODO, null));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.fieldErrors['select.unambiguous']").value("Select tasks either by ids, by status/tags or with all, not several"));
+
+        verify(taskService, never()).deleteTasks(any());
+    }
+
+    @Test
+    @DisplayName("deleteTasks_withEmptySelector_shouldReturnBadRequest")
+    void deleteTasks_withEmptySelector_shouldReturnBadRequest() throws Exception {
+        // Act & Assert - a missing field must not select every task
+        mockMvc.perform(delete("/api/v1/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"select\":{}}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.fieldErrors['select.selecting']").value("Select tasks by ids, by status/tags, or set all to select every task"));
+
+        verify(taskService, never()).deleteTasks(any());
+    }
+
+    @Test
+    @DisplayName("deleteTasks_withAll_shouldDeleteEveryTask")
+    void deleteTasks_withAll_shouldDeleteEveryTask() throws Exception {
+        // Arrange
+        BulkDeleteTasksRequest request = new BulkDeleteTasksRequest(new TaskSelector(null, null, null, true));
+        when(taskService.deleteTasks(request)).thenReturn(List.of(TestDataFactory.TEST_TASK_ID));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"select\":{\"all\":true}}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(1));
+    }
+
     // DELETE /api/v1/tasks/{id} - Delete Task
 
     @Test
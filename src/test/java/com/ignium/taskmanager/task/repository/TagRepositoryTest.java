@@ -0,0 +1,254 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.dto.TagDetailResponse;
+import com.ignium.taskmanager.task.dto.TagResponse;
+import com.ignium.taskmanager.task.entity.Tag;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.user.entity.AppUser;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.datasource.url=jdbc:h2:mem:tags;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("TagRepository Tests")
+class TagRepositoryTest {
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = entityManager.persistAndGetId(AppUser.builder().email("tags@example.com").build(), UUID.class);
+        entityManager.persist(Tag.builder().userId(userId).name("work").build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("insertIgnoringExisting_shouldSkipExistingNames")
+    void insertIgnoringExisting_shouldSkipExistingNames() {
+        // Act - "work" already exists, as if another request had just created it
+        int inserted = tagRepository.insertIgnoringExisting(userId, List.of("work", "home", "errand"));
+
+        // Assert
+        assertThat(inserted).isEqualTo(2);
+        List<Tag> tags = tagRepository.findAllByUserId(userId);
+        assertThat(tags).extracting(Tag::getName).containsExactlyInAnyOrder("work", "home", "errand");
+        assertThat(tags).allSatisfy(tag -> {
+            assertThat(tag.getColor()).isEqualTo(Tag.DEFAULT_COLOR);
+            assertThat(tag.getCreatedAt()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("insertIgnoringExisting_withOtherUsersTag_shouldInsert")
+    void insertIgnoringExisting_withOtherUsersTag_shouldInsert() {
+        // Arrange
+        UUID otherUserId = entityManager.persistAndGetId(AppUser.builder().email("other@example.com").build(), UUID.class);
+
+        // Act
+        int inserted = tagRepository.insertIgnoringExisting(otherUserId, List.of("work"));
+
+        // Assert
+        assertThat(inserted).isEqualTo(1);
+        assertThat(tagRepository.findAllByUserIdAndNameIn(otherUserId, List.of("work"))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("findTagResponsesByUserId_shouldCountTasksInOneStatement")
+    void findTagResponsesByUserId_shouldCountTasksInOneStatement() {
+        // Arrange - "work" on three tasks, "home" on one, "idle" on none, plus another user's tag
+        UUID otherUserId = entityManager.persistAndGetId(AppUser.builder().email("other@example.com").build(), UUID.class);
+        entityManager.flush();
+        Tag work = tagRepository.findAllByUserIdAndNameIn(userId, List.of("work")).get(0);
+        Tag home = entityManager.persist(Tag.builder().userId(userId).name("home").build());
+        entityManager.persist(Tag.builder().userId(userId).name("idle").build());
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Task.builder().userId(userId).title("Task " + i)
+                .tags(new HashSet<>(i == 0 ? List.of(work, home) : List.of(work))).build());
+        }
+        Tag otherWork = entityManager.persist(Tag.builder().userId(otherUserId).name("work").build());
+        entityManager.persist(Task.builder().userId(otherUserId).title("Other").tags(new HashSet<>(List.of(otherWork))).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<TagResponse> tags = tagRepository.findTagResponsesByUserId(userId);
+
+        // Assert
+        assertThat(tags).extracting(TagResponse::name).containsExactly("home", "idle", "work");
+        assertThat(tags).extracting(TagResponse::taskCount).containsExactly(1, 0, 3);
+        assertThat(tags).allSatisfy(tag -> assertThat(tag.createdAt()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findTaskSummariesByTagId_shouldPageOnlyTheUsersTasksWithTheTag")
+    void findTaskSummariesByTagId_shouldPageOnlyTheUsersTasksWithTheTag() {
+        // Arrange - five of the user's tasks tagged "work" (one without a due date), one untagged,
+        // and another user's task linked to the same tag row
+        UUID otherUserId = entityManager.persistAndGetId(AppUser.builder().email("other@example.com").build(), UUID.class);
+        entityManager.flush();
+        Tag work = tagRepository.findAllByUserIdAndNameIn(userId, List.of("work")).get(0);
+        LocalDateTime due = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Task.builder().userId(userId).title("Task " + i)
+                .dueDate(i == 0 ? null : due.plusDays(i))
+                .tags(new HashSet<>(List.of(work))).build());
+        }
+        entityManager.persist(Task.builder().userId(userId).title("Untagged").dueDate(due).build());
+        entityManager.persist(Task.builder().userId(otherUserId).title("Other").dueDate(due)
+            .tags(new HashSet<>(List.of(work))).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Sort sort = Sort.by(Sort.Order.asc("dueDate").nullsLast(), Sort.Order.asc("id"));
+
+        // Act
+        Page<TagDetailResponse.TaskSummary> first = taskRepository.findTaskSummariesByTagId(work.getId(), userId, PageRequest.of(0, 3, sort));
+        Page<TagDetailResponse.TaskSummary> second = taskRepository.findTaskSummariesByTagId(work.getId(), userId, PageRequest.of(1, 3, sort));
+
+        // Assert - page plus count for the first page; the short last page needs no count.
+        // No entities are hydrated
+        assertThat(first.getContent()).extracting(TagDetailResponse.TaskSummary::title).containsExactly("Task 1", "Task 2", "Task 3");
+        assertThat(second.getContent()).extracting(TagDetailResponse.TaskSummary::title).containsExactly("Task 4", "Task 0");
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("detachFromAllTasks_shouldUnlinkTagSoItCanBeDeleted")
+    void detachFromAllTasks_shouldUnlinkTagSoItCanBeDeleted() {
+        // Arrange
+        Tag work = tagRepository.findAllByUserIdAndNameIn(userId, List.of("work")).get(0);
+        Tag home = entityManager.persist(Tag.builder().userId(userId).name("home").build());
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Task.builder().userId(userId).title("Task " + i)
+                .tags(new HashSet<>(List.of(work, home))).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        long countBefore = tagRepository.countTasksByTagId(work.getId());
+        int detached = tagRepository.detachFromAllTasks(work.getId());
+        tagRepository.deleteById(work.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert - the other tag keeps its links
+        assertThat(countBefore).isEqualTo(3);
+        assertThat(detached).isEqualTo(3);
+        assertThat(tagRepository.countTasksByTagId(work.getId())).isZero();
+        assertThat(tagRepository.countTasksByTagId(home.getId())).isEqualTo(3);
+        assertThat(tagRepository.findById(work.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findTagSuggestions_shouldMatchPrefixMostUsedFirst")
+    void findTagSuggestions_shouldMatchPrefixMostUsedFirst() {
+        // Arrange - "work" on one task, "Workout" on two, "wo_rk" and "home" unused
+        Tag work = tagRepository.findAllByUserIdAndNameIn(userId, List.of("work")).get(0);
+        Tag workout = entityManager.persist(Tag.builder().userId(userId).name("Workout").build());
+        entityManager.persist(Tag.builder().userId(userId).name("wo_rk").build());
+        entityManager.persist(Tag.builder().userId(userId).name("home").build());
+        entityManager.persist(Task.builder().userId(userId).title("A").tags(new HashSet<>(List.of(work, workout))).build());
+        entityManager.persist(Task.builder().userId(userId).title("B").tags(new HashSet<>(List.of(workout))).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<TagResponse> all = tagRepository.findTagSuggestions(userId, "wo%", Limit.of(10));
+        List<TagResponse> escaped = tagRepository.findTagSuggestions(userId, "wo\\_%", Limit.of(10));
+        List<TagResponse> limited = tagRepository.findTagSuggestions(userId, "wor%", Limit.of(1));
+
+        // Assert
+        assertThat(all).extracting(TagResponse::name).containsExactly("Workout", "work", "wo_rk");
+        assertThat(all).extracting(TagResponse::taskCount).containsExactly(2, 1, 0);
+        assertThat(escaped).extracting(TagResponse::name).containsExactly("wo_rk");
+        assertThat(limited).extracting(TagResponse::name).containsExactly("Workout");
+    }
+
+    @Test
+    @DisplayName("mergeStatements_shouldRepointLinksWithoutDuplicatesInConstantStatements")
+    void mergeStatements_shouldRepointLinksWithoutDuplicatesInConstantStatements() {
+        // Arrange - A has the target and both sources, B and C one source each, D only the target
+        Tag work = tagRepository.findAllByUserIdAndNameIn(userId, List.of("work")).get(0);
+        Tag capitalized = entityManager.persist(Tag.builder().userId(userId).name("Work").build());
+        Tag upper = entityManager.persist(Tag.builder().userId(userId).name("WORK").build());
+        Tag home = entityManager.persist(Tag.builder().userId(userId).name("home").build());
+        Task a = entityManager.persist(Task.builder().userId(userId).title("A").tags(new HashSet<>(List.of(work, capitalized, upper))).build());
+        entityManager.persist(Task.builder().userId(userId).title("B").tags(new HashSet<>(List.of(capitalized))).build());
+        entityManager.persist(Task.builder().userId(userId).title("C").tags(new HashSet<>(List.of(upper, home))).build());
+        Task d = entityManager.persist(Task.builder().userId(userId).title("D").tags(new HashSet<>(List.of(work))).build());
+        entityManager.flush();
+        entityManager.clear();
+        List<UUID> sourceIds = List.of(capitalized.getId(), upper.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        int touched = taskRepository.touchTasksByTagIds(sourceIds, LocalDateTime.now(), 1L);
+        int added = tagRepository.copyTaskLinks(sourceIds, work.getId());
+        tagRepository.deleteAllByIdInBatch(sourceIds);
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        // Assert - the bulk delete clears the sources' task_tags rows before the tags themselves
+        assertThat(statements).isEqualTo(4);
+        assertThat(touched).isEqualTo(3);
+        assertThat(added).isEqualTo(2);
+        assertThat(tagRepository.findTagResponseById(work.getId())).get()
+            .extracting(TagResponse::taskCount).isEqualTo(4);
+        assertThat(tagRepository.countTasksByTagId(home.getId())).isEqualTo(1);
+        assertThat(tagRepository.countTasksByTagId(capitalized.getId())).isZero();
+        assertThat(tagRepository.findAllById(sourceIds)).isEmpty();
+        assertThat(taskRepository.findById(a.getId()).orElseThrow().getVersion()).isEqualTo(a.getVersion() + 1);
+        assertThat(taskRepository.findById(d.getId()).orElseThrow().getVersion()).isEqualTo(d.getVersion());
+    }
+}
@@ -0,0 +1,128 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.entity.Tag;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.user.entity.AppUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the entity read path (join fetch + {@link TaskResponse#from}) with the projection
+ * read path for list pages. Run with {@code -Dbenchmark=true}; results go to stdout.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Task Read Path Benchmark")
+class TaskReadPathBenchmarkTest {
+
+    private static final int TASK_COUNT = 2_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 200;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void compareEntityAndProjectionPaths() {
+        UUID userId = seed();
+        List<List<UUID>> pages = new ArrayList<>();
+        for (int page = 0; page < TASK_COUNT / PAGE_SIZE; page++) {
+            pages.add(taskRepository.findTaskIdsWithFilters(userId, null, null, null,
+                PageRequest.of(page, PAGE_SIZE, Sort.by("createdAt"))).getContent());
+        }
+
+        Function<List<UUID>, List<TaskResponse>> entityPath = ids -> {
+            List<TaskResponse> responses = entityManager.getEntityManager()
+                .createQuery("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.tags WHERE t.id IN :ids", Task.class)
+                .setParameter("ids", ids)
+                .getResultList().stream()
+                .map(TaskResponse::from)
+                .toList();
+            // A request ends with its persistence context, so don't let entities pile up
+            entityManager.clear();
+            return responses;
+        };
+        Function<List<UUID>, List<TaskResponse>> projectionPath = taskRepository::findTaskResponsesByIdIn;
+
+        assertThat(projectionPath.apply(pages.get(0)))
+            .containsExactlyInAnyOrderElementsOf(entityPath.apply(pages.get(0)).stream()
+                .map(this::withSortedTags)
+                .toList());
+
+        report("entity", measure(entityPath, pages));
+        report("projection", measure(projectionPath, pages));
+    }
+
+    private UUID seed() {
+        UUID userId = entityManager.persistAndGetId(AppUser.builder().email("bench@example.com").build(), UUID.class);
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tags.add(entityManager.persist(Tag.builder().userId(userId).name("tag-" + i).build()));
+        }
+        for (int i = 0; i < TASK_COUNT; i++) {
+            entityManager.persist(Task.builder()
+                .userId(userId)
+                .title("Task " + i)
+                .description("Description of task " + i)
+                .priority(Task.TaskPriority.values()[i % 4])
+                .tags(new HashSet<>(List.of(tags.get(i % 10), tags.get((i + 3) % 10), tags.get((i + 7) % 10))))
+                .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return userId;
+    }
+
+    private long[] measure(Function<List<UUID>, List<TaskResponse>> path, List<List<UUID>> pages) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            path.apply(pages.get(i % pages.size()));
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] nanos = new long[MEASURED_ROUNDS];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            path.apply(pages.get(i % pages.size()));
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        Arrays.sort(nanos);
+        return new long[] {nanos[MEASURED_ROUNDS / 2], nanos[MEASURED_ROUNDS * 99 / 100], allocated / MEASURED_ROUNDS};
+    }
+
+    private void report(String name, long[] result) {
+        System.out.printf("%-10s p50=%6d us  p99=%6d us  allocated/page=%8d KB%n",
+            name, result[0] / 1_000, result[1] / 1_000, result[2] / 1_024);
+    }
+
+    private TaskResponse withSortedTags(TaskResponse response) {
+        return new TaskResponse(response.id(), response.title(), response.description(), response.status(),
+            response.priority(), response.dueDate(), response.tags().stream().sorted().toList(),
+            response.createdAt(), response.updatedAt());
+    }
+}
@@ -0,0 +1,211 @@
+package com.ignium.taskmanager.task.repository;
+
+import com.ignium.taskmanager.config.PostgresContainerConfig;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.user.entity.AppUser;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every list sort is served by an index on PostgreSQL. Each case runs
+ * {@link TaskRepositoryCustom#findTaskIdsAfter}, captures the SQL Hibernate sent and EXPLAINs that
+ * statement as a generic plan against the indexes the migrations created. Sorts are disabled for
+ * the EXPLAIN, so a plan that still sorts means no index can return the rows in order.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.ignium.taskmanager.task.repository.TaskSortIndexTest$LastStatement"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresContainerConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Task sort index Tests")
+class TaskSortIndexTest {
+
+    /** Remembers the last statement Hibernate prepared. */
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+
+    private static final Pattern SORT_NODE = Pattern.compile("(?m)^\\s*(->\\s+)?(Incremental )?Sort\\s+\\(");
+
+    private enum Filter { NONE, STATUS, ANY_TAG, ALL_TAGS }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgres;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = entityManager.persistAndGetId(AppUser.builder().email("sort@example.com").build(), UUID.class);
+        LocalDateTime now = LocalDateTime.now();
+        persist("Write report", Task.TaskPriority.HIGH, now.plusDays(2));
+        persist("Gym", Task.TaskPriority.LOW, null);
+        persist("Plan sprint", Task.TaskPriority.URGENT, now.plusDays(1));
+        persist("Pay bills", Task.TaskPriority.MEDIUM, now);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persist(String title, Task.TaskPriority priority, LocalDateTime dueDate) {
+        entityManager.persist(Task.builder().userId(userId).title(title).priority(priority).dueDate(dueDate).build());
+    }
+
+    static Stream<Arguments> listQueries() {
+        List<Arguments> queries = new ArrayList<>();
+        for (TaskSortKey sortKey : TaskSortKey.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                for (boolean withCursor : new boolean[] {false, true}) {
+                    for (Filter filter : Filter.values()) {
+                        queries.add(Arguments.of(sortKey, direction, withCursor, filter));
+                    }
+                }
+            }
+        }
+        return queries.stream();
+    }
+
+    private static String expectedIndex(TaskSortKey sortKey, Sort.Direction direction) {
+        return switch (sortKey) {
+            case CREATED_AT -> "idx_tasks_user_created_at";
+            case UPDATED_AT -> "idx_tasks_user_updated_at";
+            case DUE_DATE -> direction.isAscending() ? "idx_tasks_user_due_date" : "idx_tasks_user_due_date_desc";
+            case PRIORITY -> "idx_tasks_user_priority_rank";
+            case TITLE -> "idx_tasks_user_title";
+        };
+    }
+
+    private static Object cursorValue(TaskSortKey sortKey) {
+        return switch (sortKey) {
+            case CREATED_AT, UPDATED_AT, DUE_DATE -> LocalDateTime.now();
+            case PRIORITY -> Task.TaskPriority.MEDIUM.rank();
+            case TITLE -> "Pay bills";
+        };
+    }
+
+    /**
+     * The generic plan of the statement {@code query} ran last. It is EXPLAINed over a connection
+     * of its own in simple query mode, as the JDBC driver would otherwise try to bind the
+     * {@code $n} placeholders that stand in for the parameters.
+     */
+    private String explain(Runnable query) throws SQLException {
+        query.run();
+        String sql = numberPlaceholders(LastStatement.sql);
+        String url = postgres.getJdbcUrl() + (postgres.getJdbcUrl().contains("?") ? "&" : "?") + "preferQueryMode=simple";
+        try (Connection connection = DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            statement.execute("SET enable_bitmapscan = off");
+            statement.execute("SET enable_sort = off");
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + sql)) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static String numberPlaceholders(String sql) {
+        Matcher placeholder = Pattern.compile("\\?").matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        int position = 0;
+        while (placeholder.find()) {
+            placeholder.appendReplacement(numbered, "\\$" + ++position);
+        }
+        return placeholder.appendTail(numbered).toString();
+    }
+
+    @ParameterizedTest(name = "{0} {1}, cursor {2}, filter {3}")
+    @MethodSource("listQueries")
+    @DisplayName("findTaskIdsAfter_shouldReadPageInIndexOrder")
+    void findTaskIdsAfter_shouldReadPageInIndexOrder(TaskSortKey sortKey, Sort.Direction direction,
+                                                     boolean withCursor, Filter filter) throws SQLException {
+        // Arrange
+        TaskCursor after = withCursor
+            ? new TaskCursor(sortKey, direction, cursorValue(sortKey), UUID.randomUUID(), 1)
+            : null;
+        Task.TaskStatus status = filter == Filter.STATUS ? Task.TaskStatus.TODO : null;
+        List<String> tagNames = filter == Filter.ANY_TAG || filter == Filter.ALL_TAGS ? List.of("work", "home") : null;
+        TagMatch tagMatch = filter == Filter.ALL_TAGS ? TagMatch.ALL : TagMatch.ANY;
+
+        // Act
+        String plan = explain(() ->
+            taskRepository.findTaskIdsAfter(userId, status, tagNames, tagMatch, sortKey, direction, after, 20));
+
+        // Assert
+        assertThat(plan).contains(" using " + expectedIndex(sortKey, direction) + " on tasks ");
+        assertThat(SORT_NODE.matcher(plan).find()).as("plan sorts:%n%s", plan).isFalse();
+    }
+
+    @Test
+    @DisplayName("prioritySort_shouldFollowUrgencyIncludingAfterBulkUpdate")
+    void prioritySort_shouldFollowUrgencyIncludingAfterBulkUpdate() {
+        // Act
+        List<String> before = titlesByPriority();
+        List<UUID> gym = taskRepository.findAllByUserId(userId, PageRequest.of(0, 10)).stream()
+            .filter(task -> task.getTitle().equals("Gym"))
+            .map(Task::getId)
+            .toList();
+        taskRepository.bulkUpdate(userId, gym, null, Task.TaskPriority.URGENT, null, 1L, LocalDateTime.now());
+        List<String> after = titlesByPriority();
+
+        // Assert
+        assertThat(before).containsExactly("Plan sprint", "Write report", "Pay bills", "Gym");
+        assertThat(after.subList(0, 2)).containsExactlyInAnyOrder("Plan sprint", "Gym");
+        assertThat(after.subList(2, 4)).containsExactly("Write report", "Pay bills");
+    }
+
+    private List<String> titlesByPriority() {
+        return taskRepository.findAllByUserId(userId,
+                PageRequest.of(0, 10, TaskSortKey.PRIORITY.toSort(Sort.Direction.DESC))).stream()
+            .map(Task::getTitle)
+            .toList();
+    }
+}
@@ -0,0 +1,165 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.entity.Tag;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("TagCache Unit Tests")
+class TagCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TagCache cache(int maxUsers, Duration ttl, TagInvalidationBroadcaster broadcaster) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (broadcaster != null) {
+            beanFactory.addBean("broadcaster", broadcaster);
+        }
+        ObjectProvider<TagInvalidationBroadcaster> provider = beanFactory.getBeanProvider(TagInvalidationBroadcaster.class);
+        return new TagCache(maxUsers, ttl, provider, meterRegistry);
+    }
+
+    private Tag tag(String name) {
+        Tag tag = TestDataFactory.createTag(name);
+        tag.setId(UUID.randomUUID());
+        return tag;
+    }
+
+    @Test
+    @DisplayName("getAll_shouldReturnCachedNamesAndCountHitsAndMisses")
+    void getAll_shouldReturnCachedNamesAndCountHitsAndMisses() {
+        // Arrange
+        TagCache cache = cache(10, Duration.ofMinutes(10), null);
+        Tag work = tag("work");
+        cache.putAll(TestDataFactory.TEST_USER_ID, cache.generation(TestDataFactory.TEST_USER_ID), List.of(work));
+
+        // Act
+        Map<String, UUID> result = cache.getAll(TestDataFactory.TEST_USER_ID, List.of("work", "home"));
+
+        // Assert
+        assertThat(result).containsExactly(Map.entry("work", work.getId()));
+        assertThat(meterRegistry.get("tag.cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tag.cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("putAll_overMaxUsers_shouldEvictLeastRecentlyUsed")
+    void putAll_overMaxUsers_shouldEvictLeastRecentlyUsed() {
+        // Arrange
+        TagCache cache = cache(2, Duration.ofMinutes(10), null);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.putAll(first, cache.generation(first), List.of(tag("a")));
+        cache.putAll(second, cache.generation(second), List.of(tag("b")));
+        cache.getAll(first, List.of("a"));
+
+        // Act
+        cache.putAll(third, cache.generation(third), List.of(tag("c")));
+
+        // Assert
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getAll(first, List.of("a"))).hasSize(1);
+        assertThat(cache.getAll(second, List.of("b"))).isEmpty();
+        assertThat(meterRegistry.get("tag.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getAll_afterTtl_shouldMiss")
+    void getAll_afterTtl_shouldMiss() {
+        // Arrange
+        TagCache cache = cache(10, Duration.ZERO, null);
+        cache.putAll(TestDataFactory.TEST_USER_ID, cache.generation(TestDataFactory.TEST_USER_ID), List.of(tag("work")));
+
+        // Act & Assert
+        assertThat(cache.getAll(TestDataFactory.TEST_USER_ID, List.of("work"))).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("invalidate_shouldEvictAndBroadcast")
+    void invalidate_shouldEvictAndBroadcast() {
+        // Arrange
+        TagInvalidationBroadcaster broadcaster = mock(TagInvalidationBroadcaster.class);
+        TagCache cache = cache(10, Duration.ofMinutes(10), broadcaster);
+        cache.putAll(TestDataFactory.TEST_USER_ID, cache.generation(TestDataFactory.TEST_USER_ID), List.of(tag("work")));
+
+        // Act
+        cache.invalidate(TestDataFactory.TEST_USER_ID);
+
+        // Assert
+        assertThat(cache.getAll(TestDataFactory.TEST_USER_ID, List.of("work"))).isEmpty();
+        verify(broadcaster).broadcast(TestDataFactory.TEST_USER_ID);
+    }
+
+    @Test
+    @DisplayName("putAll_inTransaction_shouldCacheOnlyAfterCommit")
+    void putAll_inTransaction_shouldCacheOnlyAfterCommit() {
+        // Arrange
+        TagCache cache = cache(10, Duration.ofMinutes(10), null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            cache.putAll(TestDataFactory.TEST_USER_ID, cache.generation(TestDataFactory.TEST_USER_ID), List.of(tag("work")));
+            Map<String, UUID> beforeCommit = cache.getAll(TestDataFactory.TEST_USER_ID, List.of("work"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertThat(beforeCommit).isEmpty();
+            assertThat(cache.getAll(TestDataFactory.TEST_USER_ID, List.of("work"))).hasSize(1);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("putAll_afterInvalidationCommittedMeanwhile_shouldDropStaleRead")
+    void putAll_afterInvalidationCommittedMeanwhile_shouldDropStaleRead() {
+        // Arrange - a read takes the generation, then a rename commits and invalidates the user
+        TagCache cache = cache(10, Duration.ofMinutes(10), null);
+        long generation = cache.generation(TestDataFactory.TEST_USER_ID);
+        Tag renamed = tag("old-name");
+        cache.invalidate(TestDataFactory.TEST_USER_ID);
+
+        // Act - the read commits with the name it saw
+        cache.putAll(TestDataFactory.TEST_USER_ID, generation, List.of(renamed));
+        cache.putAll(TestDataFactory.TEST_USER_ID, cache.generation(TestDataFactory.TEST_USER_ID), List.of(tag("fresh")));
+
+        // Assert
+        assertThat(cache.getAll(TestDataFactory.TEST_USER_ID, List.of("old-name"))).isEmpty();
+        assertThat(cache.getAll(TestDataFactory.TEST_USER_ID, List.of("fresh"))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("generation_ofForgottenUser_shouldNotGoBack")
+    void generation_ofForgottenUser_shouldNotGoBack() {
+        // Arrange - room for the generations of one user only
+        TagCache cache = cache(1, Duration.ofMinutes(10), null);
+        UUID first = UUID.randomUUID();
+        long generation = cache.generation(first);
+        cache.evictLocal(first);
+
+        // Act - evicting another user forgets the first one
+        cache.evictLocal(UUID.randomUUID());
+        cache.putAll(first, generation, List.of(tag("work")));
+
+        // Assert
+        assertThat(cache.generation(first)).isNotEqualTo(generation);
+        assertThat(cache.getAll(first, List.of("work"))).isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.ignium.taskmanager.task.service;
 
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
 import com.ignium.taskmanager.config.exception.TagNotFoundException;
 import com.ignium.taskmanager.task.TestDataFactory;
 import com.ignium.taskmanager.task.dto.TagDetailResponse;
@@ -7,16 +8,24 @@ import com.ignium.taskmanager.task.dto.TagResponse;
 import com.ignium.taskmanager.task.entity.Tag;
 import com.ignium.taskmanager.task.entity.Task;
 import com.ignium.taskmanager.task.repository.TagRepository;
+import com.ignium.taskmanager.task.repository.TaskRepository;
 import com.ignium.taskmanager.user.service.UserContextService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -24,6 +33,10 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,9 +48,27 @@ class TagServiceTest {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
     @Mock
     private UserContextService userContextService;
 
+    @Mock
+    private TagCache tagCache;
+
+    @Mock
+    private TagSuggestionIndex tagSuggestionIndex;
+
+    @Mock
+    private TaskCountEstimator taskCountEstimator;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
     @InjectMocks
     private TagService tagService;
 
@@ -52,9 +83,9 @@ class TagServiceTest {
     @DisplayName("getAllTags_shouldReturnUserTags")
     void getAllTags_shouldReturnUserTags() {
         // Arrange
-        List<Tag> tags = TestDataFactory.createTagList();
+        List<TagResponse> tags = TestDataFactory.createTagResponseList();
 
-        when(tagRepository.findAllByUserId(TestDataFactory.TEST_USER_ID)).thenReturn(tags);
+        when(tagRepository.findTagResponsesByUserId(TestDataFactory.TEST_USER_ID)).thenReturn(tags);
 
         // Act
         List<TagResponse> result = tagService.getAllTags();
@@ -62,41 +93,70 @@ class TagServiceTest {
         // Assert
         assertThat(result).hasSize(3);
         assertThat(result.get(0).name()).isEqualTo("work");
+        assertThat(result.get(0).taskCount()).isEqualTo(3);
         assertThat(result.get(1).name()).isEqualTo("urgent");
         assertThat(result.get(2).name()).isEqualTo("personal");
 
-        verify(tagRepository).findAllByUserId(TestDataFactory.TEST_USER_ID);
+        verify(tagRepository).findTagResponsesByUserId(TestDataFactory.TEST_USER_ID);
+        verify(tagRepository, never()).findAllByUserId(any());
     }
 
     @Test
-    @DisplayName("getAllTags_withTaskCounts_shouldReturnCorrectCounts")
-    void getAllTags_withTaskCounts_shouldReturnCorrectCounts() {
+    @DisplayName("getAllTags_shouldWarmTagCache")
+    void getAllTags_shouldWarmTagCache() {
         // Arrange
-        Tag tagWithTasks = TestDataFactory.createTagWithTasks();
-        List<Tag> tags = List.of(tagWithTasks);
+        List<TagResponse> tags = TestDataFactory.createTagResponseList();
 
-        when(tagRepository.findAllByUserId(TestDataFactory.TEST_USER_ID)).thenReturn(tags);
+        when(tagRepository.findTagResponsesByUserId(TestDataFactory.TEST_USER_ID)).thenReturn(tags);
 
         // Act
-        List<TagResponse> result = tagService.getAllTags();
+        tagService.getAllTags();
 
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).taskCount()).isEqualTo(2); // tagWithTasks has 2 tasks
+        verify(tagCache).putAll(TestDataFactory.TEST_USER_ID, 0L, Map.of(
+            "work", tags.get(0).id(),
+            "urgent", tags.get(1).id(),
+            "personal", tags.get(2).id()));
     }
 
     @Test
     @DisplayName("getAllTags_whenEmpty_shouldReturnEmptyList")
     void getAllTags_whenEmpty_shouldReturnEmptyList() {
         // Arrange
-        when(tagRepository.findAllByUserId(TestDataFactory.TEST_USER_ID)).thenReturn(List.of());
+        when(tagRepository.findTagResponsesByUserId(TestDataFactory.TEST_USER_ID)).thenReturn(List.of());
 
         // Act
         List<TagResponse> result = tagService.getAllTags();
 
         // Assert
         assertThat(result).isEmpty();
-        verify(tagRepository).findAllByUserId(TestDataFactory.TEST_USER_ID);
+        verify(tagRepository).findTagResponsesByUserId(TestDataFactory.TEST_USER_ID);
+    }
+
+    @Test
+    @DisplayName("suggestTags_shouldDelegateToIndexWithStrippedPrefix")
+    void suggestTags_shouldDelegateToIndexWithStrippedPrefix() {
+        // Arrange
+        List<TagResponse> suggestions = TestDataFactory.createTagResponseList().subList(0, 1);
+
+        when(tagSuggestionIndex.suggest(TestDataFactory.TEST_USER_ID, "wo", 5)).thenReturn(suggestions);
+
+        // Act
+        List<TagResponse> result = tagService.suggestTags(" wo ", 5);
+
+        // Assert
+        assertThat(result).isEqualTo(suggestions);
+    }
+
+    @Test
+    @DisplayName("suggestTags_withLimitOutOfRange_shouldThrowInvalidRequestException")
+    void suggestTags_withLimitOutOfRange_shouldThrowInvalidRequestException() {
+        // Act & Assert
+        assertThatThrownBy(() -> tagService.suggestTags("wo", 51))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("limit must be between 1 and 50");
+
+        verify(tagSuggestionIndex, never()).suggest(any(), any(), anyInt());
     }
 
     @Test
@@ -107,38 +167,66 @@ class TagServiceTest {
         Tag tag = TestDataFactory.createTag();
 
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
+        when(taskRepository.findTaskSummariesByTagId(eq(tagId), eq(TestDataFactory.TEST_USER_ID), any(Pageable.class)))
+            .thenReturn(Page.empty());
 
         // Act
-        TagDetailResponse result = tagService.getTagById(tagId);
+        TagDetailResponse result = tagService.getTagById(tagId, 0, 20, "dueDate", "asc");
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo(tagId);
         assertThat(result.name()).isEqualTo(tag.getName());
         assertThat(result.color()).isEqualTo(tag.getColor());
+        assertThat(result.tasks().content()).isEmpty();
 
         verify(tagRepository).findById(tagId);
     }
 
     @Test
-    @DisplayName("getTagById_withTasks_shouldIncludeUserTasksOnly")
-    void getTagById_withTasks_shouldIncludeUserTasksOnly() {
+    @DisplayName("getTagById_withTasks_shouldReturnRequestedPageOfUserTasks")
+    void getTagById_withTasks_shouldReturnRequestedPageOfUserTasks() {
         // Arrange
         UUID tagId = TestDataFactory.TEST_TAG_ID;
-        Tag tag = TestDataFactory.createTagWithTasks();
-        // Add a task from different user
-        Task otherUserTask = TestDataFactory.createTaskWithDifferentUser();
-        tag.getTasks().add(otherUserTask);
+        Tag tag = TestDataFactory.createTag();
+        TagDetailResponse.TaskSummary summary = new TagDetailResponse.TaskSummary(
+            TestDataFactory.TEST_TASK_ID, "Test Task", Task.TaskStatus.TODO, Task.TaskPriority.HIGH, null);
 
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
+        when(taskRepository.findTaskSummariesByTagId(eq(tagId), eq(TestDataFactory.TEST_USER_ID), any(Pageable.class)))
+            .thenAnswer(invocation -> new PageImpl<>(List.of(summary), invocation.getArgument(2), 11));
 
         // Act
-        TagDetailResponse result = tagService.getTagById(tagId);
+        TagDetailResponse result = tagService.getTagById(tagId, 1, 5, "dueDate", "desc");
+
+        // Assert - due dates sort with missing ones last, then by id in the same direction so pages don't shift
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(taskRepository).findTaskSummariesByTagId(eq(tagId), eq(TestDataFactory.TEST_USER_ID), pageable.capture());
+        assertThat(pageable.getValue().getPageNumber()).isEqualTo(1);
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(5);
+        assertThat(pageable.getValue().getSort()).containsExactly(
+            Sort.Order.desc("dueDate").nullsLast(), Sort.Order.desc("id"));
+
+        assertThat(result.tasks().content()).containsExactly(summary);
+        assertThat(result.tasks().totalElements()).isEqualTo(11);
+        assertThat(result.tasks().totalPages()).isEqualTo(3);
+        assertThat(result.tasks().last()).isFalse();
+    }
 
-        // Assert
-        assertThat(result).isNotNull();
-        assertThat(result.tasks()).hasSize(2); // Only tasks from current user
-        assertThat(result.tasks()).noneMatch(task -> task.id().equals(otherUserTask.getId()));
+    @Test
+    @DisplayName("getTagById_withUnsupportedSort_shouldThrowInvalidRequestException")
+    void getTagById_withUnsupportedSort_shouldThrowInvalidRequestException() {
+        // Arrange
+        UUID tagId = TestDataFactory.TEST_TAG_ID;
+
+        when(tagRepository.findById(tagId)).thenReturn(Optional.of(TestDataFactory.createTag()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> tagService.getTagById(tagId, 0, 20, "description", "asc"))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Tag tasks cannot be sorted by: description");
+
+        verify(taskRepository, never()).findTaskSummariesByTagId(any(), any(), any());
     }
 
     @Test
@@ -150,7 +238,7 @@ class TagServiceTest {
         when(tagRepository.findById(tagId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> tagService.getTagById(tagId))
+        assertThatThrownBy(() -> tagService.getTagById(tagId, 0, 20, "dueDate", "asc"))
             .isInstanceOf(TagNotFoundException.class)
             .hasMessageContaining(tagId.toString());
 
@@ -168,7 +256,7 @@ class TagServiceTest {
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
 
         // Act & Assert
-        assertThatThrownBy(() -> tagService.getTagById(tagId))
+        assertThatThrownBy(() -> tagService.getTagById(tagId, 0, 20, "dueDate", "asc"))
             .isInstanceOf(TagNotFoundException.class);
 
         verify(tagRepository).findById(tagId);
@@ -181,16 +269,20 @@ class TagServiceTest {
     void deleteTag_withNoTasks_shouldDeleteTag() {
         // Arrange
         UUID tagId = TestDataFactory.TEST_TAG_ID;
-        Tag tag = TestDataFactory.createTag(); // No tasks by default
+        Tag tag = TestDataFactory.createTag();
 
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
+        when(tagRepository.countTasksByTagId(tagId)).thenReturn(0L);
 
         // Act
-        tagService.deleteTag(tagId);
+        tagService.deleteTag(tagId, false);
 
         // Assert
         verify(tagRepository).findById(tagId);
         verify(tagRepository).delete(tag);
+        verify(tagRepository, never()).detachFromAllTasks(any());
+        verify(tagCache).invalidate(TestDataFactory.TEST_USER_ID);
+        verify(tagSuggestionIndex).tagDeleted(TestDataFactory.TEST_USER_ID, tagId);
     }
 
     @Test
@@ -198,12 +290,13 @@ class TagServiceTest {
     void deleteTag_withTasks_shouldThrowIllegalStateException() {
         // Arrange
         UUID tagId = TestDataFactory.TEST_TAG_ID;
-        Tag tag = TestDataFactory.createTagWithTasks(); // Has tasks
+        Tag tag = TestDataFactory.createTag();
 
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
+        when(tagRepository.countTasksByTagId(tagId)).thenReturn(2L);
 
         // Act & Assert
-        assertThatThrownBy(() -> tagService.deleteTag(tagId))
+        assertThatThrownBy(() -> tagService.deleteTag(tagId, false))
             .isInstanceOf(IllegalStateException.class)
             .hasMessageContaining("Cannot delete tag with ID")
             .hasMessageContaining("because it is associated with 2 tasks");
@@ -212,6 +305,29 @@ class TagServiceTest {
         verify(tagRepository, never()).delete(any(Tag.class));
     }
 
+    @Test
+    @DisplayName("deleteTag_withForce_shouldDetachFromTasksAndDelete")
+    void deleteTag_withForce_shouldDetachFromTasksAndDelete() {
+        // Arrange
+        UUID tagId = TestDataFactory.TEST_TAG_ID;
+        Tag tag = TestDataFactory.createTag();
+
+        when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
+        when(tagRepository.detachFromAllTasks(tagId)).thenReturn(50_000);
+
+        // Act
+        tagService.deleteTag(tagId, true);
+
+        // Assert
+        InOrder inOrder = inOrder(tagRepository);
+        inOrder.verify(tagRepository).detachFromAllTasks(tagId);
+        inOrder.verify(tagRepository).delete(tag);
+        verify(tagRepository, never()).countTasksByTagId(any());
+        verify(taskCountEstimator).evict(TestDataFactory.TEST_USER_ID);
+        verify(taskFilterIndex).evict(TestDataFactory.TEST_USER_ID);
+        verify(tagCache).invalidate(TestDataFactory.TEST_USER_ID);
+    }
+
     @Test
     @DisplayName("deleteTag_withInvalidId_shouldThrowNotFoundException")
     void deleteTag_withInvalidId_shouldThrowNotFoundException() {
@@ -221,7 +337,7 @@ class TagServiceTest {
         when(tagRepository.findById(tagId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> tagService.deleteTag(tagId))
+        assertThatThrownBy(() -> tagService.deleteTag(tagId, false))
             .isInstanceOf(TagNotFoundException.class);
 
         verify(tagRepository).findById(tagId);
@@ -239,10 +355,123 @@ class TagServiceTest {
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
 
         // Act & Assert
-        assertThatThrownBy(() -> tagService.deleteTag(tagId))
+        assertThatThrownBy(() -> tagService.deleteTag(tagId, false))
             .isInstanceOf(TagNotFoundException.class);
 
         verify(tagRepository).findById(tagId);
         verify(tagRepository, never()).delete(any(Tag.class));
     }
+
+    private static Tag sourceTag(String name) {
+        Tag tag = TestDataFactory.createTag(name);
+        tag.setId(UUID.randomUUID());
+        return tag;
+    }
+
+    @Test
+    @DisplayName("mergeTags_shouldRepointLinksThenDeleteSources")
+    void mergeTags_shouldRepointLinksThenDeleteSources() {
+        // Arrange
+        Tag target = TestDataFactory.createTag("work");
+        Tag capitalized = sourceTag("Work");
+        Tag upper = sourceTag("WORK");
+        List<UUID> sourceIds = List.of(capitalized.getId(), upper.getId());
+        TagResponse merged = TestDataFactory.createTagResponse();
+
+        when(tagRepository.findById(target.getId())).thenReturn(Optional.of(target));
+        when(tagRepository.findAllById(Set.copyOf(sourceIds))).thenReturn(List.of(capitalized, upper));
+        when(taskStatsService.recordChanged(TestDataFactory.TEST_USER_ID)).thenReturn(7L);
+        when(taskRepository.touchTasksByTagIds(eq(sourceIds), any(), eq(7L))).thenReturn(10_000);
+        when(tagRepository.findTagResponseById(target.getId())).thenReturn(Optional.of(merged));
+
+        // Act
+        TagResponse result = tagService.mergeTags(target.getId(), List.of(capitalized.getId(), upper.getId(), upper.getId()));
+
+        // Assert
+        assertThat(result).isEqualTo(merged);
+        // The change is recorded first so that the touched tasks carry its stamp
+        InOrder inOrder = inOrder(taskStatsService, taskRepository, tagRepository);
+        inOrder.verify(taskStatsService).recordChanged(TestDataFactory.TEST_USER_ID);
+        inOrder.verify(taskRepository).touchTasksByTagIds(eq(sourceIds), any(), eq(7L));
+        inOrder.verify(tagRepository).copyTaskLinks(sourceIds, target.getId());
+        inOrder.verify(tagRepository).deleteAllByIdInBatch(sourceIds);
+        verify(tagCache).invalidate(TestDataFactory.TEST_USER_ID);
+        verify(tagSuggestionIndex).tagsChanged(TestDataFactory.TEST_USER_ID);
+        verify(taskCountEstimator).evict(TestDataFactory.TEST_USER_ID);
+        verify(taskFilterIndex).evict(TestDataFactory.TEST_USER_ID);
+    }
+
+    @Test
+    @DisplayName("mergeTags_intoItself_shouldThrowInvalidRequestException")
+    void mergeTags_intoItself_shouldThrowInvalidRequestException() {
+        // Arrange
+        Tag target = TestDataFactory.createTag("work");
+        when(tagRepository.findById(target.getId())).thenReturn(Optional.of(target));
+
+        // Act & Assert
+        assertThatThrownBy(() -> tagService.mergeTags(target.getId(), List.of(target.getId())))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("A tag cannot be merged into itself");
+        verify(tagRepository, never()).copyTaskLinks(any(), any());
+    }
+
+    @Test
+    @DisplayName("mergeTags_withOtherUsersSource_shouldThrowNotFoundException")
+    void mergeTags_withOtherUsersSource_shouldThrowNotFoundException() {
+        // Arrange
+        Tag target = TestDataFactory.createTag("work");
+        Tag foreign = sourceTag("Work");
+        foreign.setUserId(TestDataFactory.OTHER_USER_ID);
+        when(tagRepository.findById(target.getId())).thenReturn(Optional.of(target));
+        when(tagRepository.findAllById(Set.of(foreign.getId()))).thenReturn(List.of(foreign));
+
+        // Act & Assert
+        assertThatThrownBy(() -> tagService.mergeTags(target.getId(), List.of(foreign.getId())))
+            .isInstanceOf(TagNotFoundException.class);
+        verify(taskRepository, never()).touchTasksByTagIds(any(), any(), anyLong());
+        verify(tagRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("renameTag_toFreeName_shouldRenameAndTouchTasks")
+    void renameTag_toFreeName_shouldRenameAndTouchTasks() {
+        // Arrange
+        Tag tag = TestDataFactory.createTag("Work");
+        TagResponse renamed = TestDataFactory.createTagResponse();
+        when(tagRepository.findById(tag.getId())).thenReturn(Optional.of(tag));
+        when(tagRepository.findByNameAndUserId("office", TestDataFactory.TEST_USER_ID)).thenReturn(Optional.empty());
+        when(taskRepository.touchTasksByTagIds(eq(List.of(tag.getId())), any(), anyLong())).thenReturn(0);
+        when(tagRepository.findTagResponseById(tag.getId())).thenReturn(Optional.of(renamed));
+
+        // Act
+        TagResponse result = tagService.renameTag(tag.getId(), " office ");
+
+        // Assert
+        assertThat(result).isEqualTo(renamed);
+        assertThat(tag.getName()).isEqualTo("office");
+        verify(tagCache).invalidate(TestDataFactory.TEST_USER_ID);
+        verify(tagSuggestionIndex).tagsChanged(TestDataFactory.TEST_USER_ID);
+        verify(taskFilterIndex, never()).evict(any());
+    }
+
+    @Test
+    @DisplayName("renameTag_toTakenName_shouldMergeIntoExistingTag")
+    void renameTag_toTakenName_shouldMergeIntoExistingTag() {
+        // Arrange
+        Tag tag = sourceTag("Work");
+        Tag existing = TestDataFactory.createTag("work");
+        TagResponse merged = TestDataFactory.createTagResponse();
+        when(tagRepository.findById(tag.getId())).thenReturn(Optional.of(tag));
+        when(tagRepository.findByNameAndUserId("work", TestDataFactory.TEST_USER_ID)).thenReturn(Optional.of(existing));
+        when(tagRepository.findTagResponseById(existing.getId())).thenReturn(Optional.of(merged));
+
+        // Act
+        TagResponse result = tagService.renameTag(tag.getId(), "work");
+
+        // Assert
+        assertThat(result).isEqualTo(merged);
+        assertThat(tag.getName()).isEqualTo("Work");
+        verify(tagRepository).copyTaskLinks(List.of(tag.getId()), existing.getId());
+        verify(tagRepository).deleteAllByIdInBatch(List.of(tag.getId()));
+    }
 }
@@ -0,0 +1,109 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.dto.TagResponse;
+import com.ignium.taskmanager.task.entity.Tag;
+import com.ignium.taskmanager.task.repository.TagRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TagSuggestionIndex Unit Tests")
+class TagSuggestionIndexTest {
+
+    private static final UUID USER_ID = TestDataFactory.TEST_USER_ID;
+
+    private final TagRepository tagRepository = mock(TagRepository.class);
+
+    private TagSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TagSuggestionIndex(tagRepository, 100, 10, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        List<TagResponse> tags = List.of(
+            tag("Work", 3),
+            tag("workout", 7),
+            tag("worship", 0),
+            tag("home", 9),
+            tag("wo_rk", 1));
+        when(tagRepository.countByUserId(USER_ID)).thenReturn((long) tags.size());
+        when(tagRepository.findTagResponsesByUserId(USER_ID)).thenReturn(tags);
+    }
+
+    private static TagResponse tag(String name, int taskCount) {
+        return new TagResponse(UUID.randomUUID(), name, Tag.DEFAULT_COLOR, taskCount, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("suggest_shouldMatchPrefixIgnoringCaseMostUsedFirst")
+    void suggest_shouldMatchPrefixIgnoringCaseMostUsedFirst() {
+        // Act
+        List<TagResponse> result = index.suggest(USER_ID, "WOR", 10);
+
+        // Assert
+        assertThat(result).extracting(TagResponse::name).containsExactly("workout", "Work", "worship");
+    }
+
+    @Test
+    @DisplayName("suggest_shouldApplyLimitAndLoadOnlyOnce")
+    void suggest_shouldApplyLimitAndLoadOnlyOnce() {
+        // Act
+        List<TagResponse> first = index.suggest(USER_ID, "", 2);
+        List<TagResponse> second = index.suggest(USER_ID, "w", 1);
+
+        // Assert
+        assertThat(first).extracting(TagResponse::name).containsExactly("home", "workout");
+        assertThat(second).extracting(TagResponse::name).containsExactly("workout");
+        verify(tagRepository, times(1)).findTagResponsesByUserId(USER_ID);
+        verify(tagRepository, never()).findTagSuggestions(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("tagsCreated_andTagDeleted_shouldUpdateLoadedUser")
+    void tagsCreated_andTagDeleted_shouldUpdateLoadedUser() {
+        // Arrange
+        TagResponse workout = index.suggest(USER_ID, "workout", 1).get(0);
+        Tag created = Tag.builder().id(UUID.randomUUID()).userId(USER_ID).name("workshop").build();
+
+        // Act - outside a transaction both apply immediately
+        index.tagsCreated(USER_ID, List.of(created));
+        index.tagDeleted(USER_ID, workout.id());
+
+        // Assert
+        assertThat(index.suggest(USER_ID, "works", 10)).extracting(TagResponse::name).containsExactly("workshop");
+        assertThat(index.suggest(USER_ID, "workout", 10)).isEmpty();
+        verify(tagRepository, times(1)).findTagResponsesByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("suggest_overMaxTagsPerUser_shouldQueryDatabaseWithEscapedPattern")
+    void suggest_overMaxTagsPerUser_shouldQueryDatabaseWithEscapedPattern() {
+        // Arrange
+        List<TagResponse> fromDatabase = List.of(tag("wo_rk", 1));
+        when(tagRepository.countByUserId(USER_ID)).thenReturn(11L);
+        when(tagRepository.findTagSuggestions(USER_ID, "wo\\_%", Limit.of(10))).thenReturn(fromDatabase);
+
+        // Act
+        List<TagResponse> result = index.suggest(USER_ID, "WO_", 10);
+
+        // Assert
+        assertThat(result).isEqualTo(fromDatabase);
+        verify(tagRepository, never()).findTagResponsesByUserId(any());
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
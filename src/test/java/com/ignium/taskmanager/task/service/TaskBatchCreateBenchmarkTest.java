@@ -0,0 +1,98 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.dto.CreateTaskRequest;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.user.entity.AppUser;
+import com.ignium.taskmanager.user.service.UserContextService;
+import com.ignium.taskmanager.user.service.UserSyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares creating tasks one transaction at a time (as the importer does through
+ * {@code POST /api/v1/tasks}) with {@link TaskService#createTasks}. HTTP, JWT and user sync
+ * costs of the single-create loop are not included, so the real gap is larger.
+ * Run with {@code -Dbenchmark=true}; results go to stdout.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false",
+    "spring.datasource.url=jdbc:h2:mem:batchbench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, TaskCountEstimator.class, TaskStatsService.class, TagCache.class, TagSuggestionIndex.class, TaskFilterIndex.class, TaskSuggestionIndex.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Task Batch Create Benchmark")
+class TaskBatchCreateBenchmarkTest {
+
+    private static final int TASK_COUNT = 2_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private UserContextService userContextService;
+
+    @MockitoBean
+    private UserSyncService userSyncService;
+
+    @Test
+    void compareSingleAndBatchCreate() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID userId = transaction.execute(status ->
+            entityManager.persistAndGetId(AppUser.builder().email("import@example.com").build(), UUID.class));
+        when(userContextService.getCurrentUserId()).thenReturn(userId);
+        List<CreateTaskRequest> requests = IntStream.range(0, TASK_COUNT)
+            .mapToObj(i -> new CreateTaskRequest("Imported " + i, "Row " + i, null, Task.TaskPriority.values()[i % 4],
+                null, List.of("import", "tag-" + (i % 20))))
+            .toList();
+
+        // Warm up both paths
+        requests.subList(0, 200).forEach(taskService::createTask);
+        taskService.createTasks(requests.subList(0, 200));
+
+        long start = System.nanoTime();
+        requests.forEach(taskService::createTask);
+        long singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int from = 0; from < TASK_COUNT; from += BATCH_SIZE) {
+            taskService.createTasks(requests.subList(from, from + BATCH_SIZE));
+        }
+        long batchNanos = System.nanoTime() - start;
+
+        System.out.printf("single  %6d tasks/s%n", TASK_COUNT * 1_000_000_000L / singleNanos);
+        System.out.printf("batch   %6d tasks/s  (%.1fx)%n", TASK_COUNT * 1_000_000_000L / batchNanos,
+            (double) singleNanos / batchNanos);
+    }
+}
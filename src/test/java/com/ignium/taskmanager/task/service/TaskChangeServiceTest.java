@@ -0,0 +1,179 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.config.exception.ChangeCursorExpiredException;
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
+import com.ignium.taskmanager.task.dto.BulkDeleteTasksRequest;
+import com.ignium.taskmanager.task.dto.CreateTaskRequest;
+import com.ignium.taskmanager.task.dto.TaskChangesResponse;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TaskSelector;
+import com.ignium.taskmanager.task.dto.UpdateTaskRequest;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.repository.TaskChangeCursor;
+import com.ignium.taskmanager.user.entity.AppUser;
+import com.ignium.taskmanager.user.service.UserContextService;
+import com.ignium.taskmanager.user.service.UserSyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:task-changes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskChangeService.class, TaskService.class, TaskCountEstimator.class, TaskStatsService.class, TagCache.class, TagSuggestionIndex.class, TaskFilterIndex.class, TaskSuggestionIndex.class, SimpleMeterRegistry.class})
+@DisplayName("TaskChangeService Tests")
+class TaskChangeServiceTest {
+
+    @Autowired
+    private TaskChangeService taskChangeService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private UserContextService userContextService;
+
+    @MockitoBean
+    private UserSyncService userSyncService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = entityManager.persistAndGetId(AppUser.builder().email("changes@example.com").build(), UUID.class);
+        when(userContextService.getCurrentUserId()).thenReturn(userId);
+    }
+
+    private UUID createTask(String title) {
+        UUID id = taskService.createTask(new CreateTaskRequest(title, null, null, Task.TaskPriority.MEDIUM, null, null)).id();
+        entityManager.flush();
+        return id;
+    }
+
+    private void actAsAnotherUser() {
+        UUID otherUserId = entityManager.persistAndGetId(AppUser.builder().email("other@example.com").build(), UUID.class);
+        when(userContextService.getCurrentUserId()).thenReturn(otherUserId);
+    }
+
+    @Test
+    @DisplayName("getChanges_withoutCursor_shouldReturnEveryTaskOfTheUser")
+    void getChanges_withoutCursor_shouldReturnEveryTaskOfTheUser() {
+        // Arrange
+        UUID first = createTask("First");
+        UUID second = createTask("Second");
+        actAsAnotherUser();
+        createTask("Someone else's");
+        when(userContextService.getCurrentUserId()).thenReturn(userId);
+
+        // Act
+        TaskChangesResponse result = taskChangeService.getChanges(null, 100);
+
+        // Assert
+        assertThat(result.upserted()).extracting(TaskResponse::id).containsExactly(first, second);
+        assertThat(result.deleted()).isEmpty();
+        assertThat(result.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("getChanges_sinceCursor_shouldReturnOnlyLaterWritesAndDeletes")
+    void getChanges_sinceCursor_shouldReturnOnlyLaterWritesAndDeletes() {
+        // Arrange
+        UUID unchanged = createTask("Unchanged");
+        UUID updated = createTask("Updated");
+        UUID deleted = createTask("Deleted");
+        String cursor = taskChangeService.getChanges(null, 100).nextCursor();
+
+        taskService.updateTask(updated, new UpdateTaskRequest("Renamed", null, null, null, null, null));
+        taskService.deleteTasks(new BulkDeleteTasksRequest(new TaskSelector(List.of(deleted), null, null)));
+        UUID created = createTask("Created");
+        entityManager.flush();
+
+        // Act
+        TaskChangesResponse result = taskChangeService.getChanges(cursor, 100);
+        TaskChangesResponse again = taskChangeService.getChanges(result.nextCursor(), 100);
+
+        // Assert - in order of the writes; the unchanged task is not sent again
+        assertThat(result.upserted()).extracting(TaskResponse::id).containsExactly(updated, created);
+        assertThat(result.upserted().get(0).title()).isEqualTo("Renamed");
+        assertThat(result.deleted()).containsExactly(deleted);
+        assertThat(result.upserted()).extracting(TaskResponse::id).doesNotContain(unchanged);
+        assertThat(again.upserted()).isEmpty();
+        assertThat(again.deleted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("getChanges_withLimit_shouldPageThroughAllChangesOnce")
+    void getChanges_withLimit_shouldPageThroughAllChangesOnce() {
+        // Arrange - created in one batch, so the tasks share a change_seq and are ordered by id
+        List<CreateTaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(new CreateTaskRequest("Imported " + i, null, null, Task.TaskPriority.LOW, null, null));
+        }
+        taskService.createTasks(requests);
+        UUID deleted = createTask("Deleted");
+        taskService.deleteTask(deleted);
+        entityManager.flush();
+
+        // Act
+        List<UUID> seen = new ArrayList<>();
+        List<Boolean> hasMore = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskChangesResponse page = taskChangeService.getChanges(cursor, 2);
+            page.upserted().forEach(task -> seen.add(task.id()));
+            seen.addAll(page.deleted());
+            hasMore.add(page.hasMore());
+            cursor = page.nextCursor();
+        } while (hasMore.get(hasMore.size() - 1));
+
+        // Assert - five tasks and one tombstone, in batches of two
+        assertThat(seen).hasSize(6).doesNotHaveDuplicates().endsWith(deleted);
+        assertThat(hasMore).containsExactly(true, true, false);
+    }
+
+    @Test
+    @DisplayName("getChanges_withCursorOlderThanTombstones_shouldThrowExpired")
+    void getChanges_withCursorOlderThanTombstones_shouldThrowExpired() {
+        // Arrange
+        String stale = new TaskChangeCursor(1, UUID.randomUUID(), LocalDateTime.now().minusDays(31)).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> taskChangeService.getChanges(stale, 100))
+            .isInstanceOf(ChangeCursorExpiredException.class);
+    }
+
+    @Test
+    @DisplayName("getChanges_withInvalidCursorOrLimit_shouldThrowInvalidRequest")
+    void getChanges_withInvalidCursorOrLimit_shouldThrowInvalidRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> taskChangeService.getChanges("not-a-cursor", 100))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> taskChangeService.getChanges(null, TaskChangeService.MAX_CHANGES + 1))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+}
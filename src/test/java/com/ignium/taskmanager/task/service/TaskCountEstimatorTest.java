@@ -0,0 +1,143 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.task.event.model.TaskCreatedEvent;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskCountEstimator Unit Tests")
+class TaskCountEstimatorTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    private TaskCountEstimator taskCountEstimator;
+
+    @BeforeEach
+    void setUp() {
+        taskCountEstimator = new TaskCountEstimator(taskRepository, taskStatsService, 2, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("estimate_shouldReuseCountForSameFilter")
+    void estimate_shouldReuseCountForSameFilter() {
+        // Arrange
+        when(taskRepository.countTasksWithFilters(TestDataFactory.TEST_USER_ID, Task.TaskStatus.TODO, List.of("b", "a"), TagMatch.ANY))
+            .thenReturn(7L);
+
+        // Act
+        long first = taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, Task.TaskStatus.TODO, List.of("b", "a"), TagMatch.ANY);
+        long second = taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, Task.TaskStatus.TODO, List.of("a", "b"), TagMatch.ANY);
+
+        // Assert
+        assertThat(first).isEqualTo(7);
+        assertThat(second).isEqualTo(7);
+        verify(taskRepository, times(1)).countTasksWithFilters(TestDataFactory.TEST_USER_ID, Task.TaskStatus.TODO, List.of("b", "a"), TagMatch.ANY);
+    }
+
+    @Test
+    @DisplayName("estimate_withoutTagFilter_shouldReadCounters")
+    void estimate_withoutTagFilter_shouldReadCounters() {
+        // Arrange
+        UserTaskStats stats = UserTaskStats.builder()
+            .userId(TestDataFactory.TEST_USER_ID)
+            .totalCount(12)
+            .todoCount(5)
+            .build();
+        when(taskStatsService.find(TestDataFactory.TEST_USER_ID)).thenReturn(Optional.of(stats));
+
+        // Act & Assert
+        assertThat(taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY)).isEqualTo(12);
+        assertThat(taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, Task.TaskStatus.TODO, null, TagMatch.ANY)).isEqualTo(5);
+        verify(taskRepository, never()).countTasksWithFilters(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("estimate_afterTaskCreated_shouldCountAgain")
+    void estimate_afterTaskCreated_shouldCountAgain() {
+        // Arrange
+        when(taskRepository.countTasksWithFilters(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY))
+            .thenReturn(3L, 4L);
+
+        // Act
+        long before = taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+        taskCountEstimator.handleTaskCreatedEvent(new TaskCreatedEvent(TestDataFactory.createTask()));
+        long after = taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+
+        // Assert
+        assertThat(before).isEqualTo(3);
+        assertThat(after).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("estimate_whenTaskChangesInTransaction_shouldKeepCountUntilCommit")
+    void estimate_whenTaskChangesInTransaction_shouldKeepCountUntilCommit() {
+        // Arrange
+        when(taskRepository.countTasksWithFilters(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY))
+            .thenReturn(3L, 4L);
+        taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        long beforeCommit;
+        try {
+            taskCountEstimator.handleTaskCreatedEvent(new TaskCreatedEvent(TestDataFactory.createTask()));
+            beforeCommit = taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        long afterCommit = taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+
+        // Assert
+        assertThat(beforeCommit).isEqualTo(3);
+        assertThat(afterCommit).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("estimate_overMaxUsers_shouldEvictLeastRecentlyUsedUserOnly")
+    void estimate_overMaxUsers_shouldEvictLeastRecentlyUsedUserOnly() {
+        // Arrange - room for two users
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(taskRepository.countTasksWithFilters(any(), any(), any(), any())).thenReturn(1L);
+
+        // Act
+        taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+        taskCountEstimator.estimate(second, null, null, TagMatch.ANY);
+        taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+        taskCountEstimator.estimate(third, null, null, TagMatch.ANY);
+        taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+        taskCountEstimator.estimate(second, null, null, TagMatch.ANY);
+
+        // Assert
+        verify(taskRepository, times(1)).countTasksWithFilters(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY);
+        verify(taskRepository, times(2)).countTasksWithFilters(second, null, null, TagMatch.ANY);
+    }
+}
@@ -0,0 +1,68 @@
+package com.ignium.taskmanager.task.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.dto.ExportFormat;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TaskExportWriter Unit Tests")
+class TaskExportWriterTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    private TaskResponse task(String title, String description, List<String> tags) {
+        return new TaskResponse(TestDataFactory.TEST_TASK_ID, title, description, Task.TaskStatus.TODO,
+            Task.TaskPriority.HIGH, null, tags, CREATED_AT, CREATED_AT);
+    }
+
+    @Test
+    @DisplayName("ndjson_shouldWriteOneObjectPerLine")
+    void ndjson_shouldWriteOneObjectPerLine() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskExportWriter writer = TaskExportWriter.create(ExportFormat.NDJSON, out, objectMapper);
+
+        // Act
+        writer.write(task("First", null, List.of("work")));
+        writer.write(task("Second", null, List.of()));
+        writer.finish();
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), TaskResponse.class).title()).isEqualTo("First");
+        assertThat(objectMapper.readValue(lines.get(1), TaskResponse.class).tags()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("csv_shouldQuoteSpecialCharactersAndDefuseFormulas")
+    void csv_shouldQuoteSpecialCharactersAndDefuseFormulas() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskExportWriter writer = TaskExportWriter.create(ExportFormat.CSV, out, null);
+
+        // Act
+        writer.write(task("Say \"hi\", then leave", "line one\nline two", List.of("a", "b")));
+        writer.write(task("=SUM(A1:A9)", null, List.of()));
+        writer.finish();
+
+        // Assert
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("id,title,description,status,priority,dueDate,tags,createdAt,updatedAt\r\n");
+        assertThat(csv).contains(TestDataFactory.TEST_TASK_ID + ",\"Say \"\"hi\"\", then leave\",\"line one\nline two\",TODO,HIGH,,a;b,2024-01-15T10:00,2024-01-15T10:00\r\n");
+        assertThat(csv).contains(TestDataFactory.TEST_TASK_ID + ",'=SUM(A1:A9),,TODO,HIGH,,,");
+    }
+}
@@ -0,0 +1,238 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.task.event.model.TaskDeletedEvent;
+import com.ignium.taskmanager.task.event.model.TaskUpdatedEvent;
+import com.ignium.taskmanager.task.event.model.TasksChangedEvent;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TaskFilterIndex Unit Tests")
+class TaskFilterIndexTest {
+
+    private static final UUID USER_ID = TestDataFactory.TEST_USER_ID;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskStatsService taskStatsService = mock(TaskStatsService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final List<TaskResponse> tasks = new ArrayList<>();
+    private TaskFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = newIndex(true, 3, DataSize.ofMegabytes(1));
+        tasks.add(task("Write report", Task.TaskStatus.TODO, Task.TaskPriority.HIGH, NOW.plusDays(2), "work", "urgent"));
+        tasks.add(task("Gym", Task.TaskStatus.TODO, Task.TaskPriority.LOW, null, "health"));
+        tasks.add(task("Plan sprint", Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.URGENT, NOW.plusDays(1), "work"));
+        tasks.add(task("Pay bills", Task.TaskStatus.COMPLETED, Task.TaskPriority.MEDIUM, NOW, "urgent"));
+        when(taskStatsService.find(USER_ID))
+            .thenReturn(Optional.of(UserTaskStats.builder().userId(USER_ID).totalCount(tasks.size()).build()));
+        when(taskRepository.streamTaskResponses(USER_ID, null, null)).thenAnswer(invocation -> tasks.stream());
+    }
+
+    private TaskFilterIndex newIndex(boolean enabled, long minTasks, DataSize maxMemory) {
+        return new TaskFilterIndex(taskRepository, taskStatsService, transactionManager,
+            enabled, minTasks, maxMemory, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    private static TaskResponse task(String title, Task.TaskStatus status, Task.TaskPriority priority,
+                                     LocalDateTime dueDate, String... tags) {
+        return new TaskResponse(UUID.randomUUID(), title, null, status, priority, dueDate, List.of(tags), NOW, NOW);
+    }
+
+    private List<String> titles(TaskFilterIndex.IndexedPage page) {
+        return page.ids().stream()
+            .map(id -> tasks.stream().filter(task -> task.id().equals(id)).findFirst().orElseThrow().title())
+            .toList();
+    }
+
+    private TaskFilterIndex.IndexedPage find(Task.TaskStatus status, List<String> tags, TagMatch tagMatch,
+                                             String sortBy, Sort.Direction direction, int page, int size) {
+        return index.find(USER_ID, status, tags, tagMatch, sortBy, direction, page, size).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("find_shouldCombineTagsWithAnyOrAll")
+    void find_shouldCombineTagsWithAnyOrAll() {
+        // Act
+        TaskFilterIndex.IndexedPage any = find(null, List.of("work", "urgent"), TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        TaskFilterIndex.IndexedPage all = find(null, List.of("work", "urgent"), TagMatch.ALL, "title", Sort.Direction.ASC, 0, 10);
+        TaskFilterIndex.IndexedPage unknown = find(null, List.of("work", "missing"), TagMatch.ALL, "title", Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertThat(titles(any)).containsExactly("Pay bills", "Plan sprint", "Write report");
+        assertThat(titles(all)).containsExactly("Write report");
+        assertThat(unknown.total()).isZero();
+        verify(taskRepository, times(1)).streamTaskResponses(USER_ID, null, null);
+    }
+
+    @Test
+    @DisplayName("find_shouldFilterByStatusSortNullsLastAndPage")
+    void find_shouldFilterByStatusSortNullsLastAndPage() {
+        // Act
+        TaskFilterIndex.IndexedPage todo = find(Task.TaskStatus.TODO, null, TagMatch.ANY, "dueDate", Sort.Direction.ASC, 0, 10);
+        TaskFilterIndex.IndexedPage secondPage = find(null, null, TagMatch.ANY, "dueDate", Sort.Direction.ASC, 1, 2);
+        TaskFilterIndex.IndexedPage byPriority = find(null, null, TagMatch.ANY, "priority", Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertThat(titles(todo)).containsExactly("Write report", "Gym");
+        assertThat(todo.total()).isEqualTo(2);
+        assertThat(titles(secondPage)).containsExactly("Write report", "Gym");
+        assertThat(secondPage.total()).isEqualTo(4);
+        // By urgency, as the database orders priority_rank
+        assertThat(titles(byPriority)).containsExactly("Gym", "Pay bills", "Write report", "Plan sprint");
+    }
+
+    @Test
+    @DisplayName("find_forSmallUserOrUnknownSort_shouldFallBackToDatabase")
+    void find_forSmallUserOrUnknownSort_shouldFallBackToDatabase() {
+        // Arrange
+        index = newIndex(true, 5, DataSize.ofMegabytes(1));
+
+        // Act
+        Optional<TaskFilterIndex.IndexedPage> small = index.find(USER_ID, null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        Optional<TaskFilterIndex.IndexedPage> again = index.find(USER_ID, null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        Optional<TaskFilterIndex.IndexedPage> unknownSort = index.find(USER_ID, null, null, TagMatch.ANY, "description", Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertThat(small).isEmpty();
+        assertThat(again).isEmpty();
+        assertThat(unknownSort).isEmpty();
+        verify(taskStatsService, times(1)).find(USER_ID);
+        verify(taskRepository, never()).streamTaskResponses(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("find_whenDisabled_shouldNotTouchDatabase")
+    void find_whenDisabled_shouldNotTouchDatabase() {
+        // Arrange
+        index = newIndex(false, 0, DataSize.ofMegabytes(1));
+
+        // Act & Assert
+        assertThat(index.find(USER_ID, null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10)).isEmpty();
+        verify(taskStatsService, never()).find(any());
+    }
+
+    @Test
+    @DisplayName("taskEvents_shouldReReadChangedTasksAndDropDeletedOnes")
+    void taskEvents_shouldReReadChangedTasksAndDropDeletedOnes() {
+        // Arrange
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        TaskResponse gym = tasks.get(1);
+        TaskResponse moved = new TaskResponse(gym.id(), "Gym", null, Task.TaskStatus.COMPLETED, gym.priority(),
+            null, List.of("health", "urgent"), NOW, NOW.plusHours(1));
+        when(taskRepository.findTaskResponsesByIdIn(List.of(gym.id()))).thenReturn(List.of(moved));
+        Task deleted = Task.builder().id(tasks.get(0).id()).userId(USER_ID).changeSeq(2).build();
+
+        // Act - outside a transaction both apply immediately
+        index.handleTaskUpdatedEvent(new TaskUpdatedEvent(Task.builder().id(gym.id()).userId(USER_ID).changeSeq(1).build()));
+        index.handleTaskDeletedEvent(new TaskDeletedEvent(deleted));
+        when(taskStatsService.changeStamp(USER_ID)).thenReturn(2L);
+
+        // Assert
+        assertThat(titles(find(Task.TaskStatus.TODO, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10))).isEmpty();
+        assertThat(titles(find(null, List.of("urgent"), TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10)))
+            .containsExactly("Gym", "Pay bills");
+        verify(taskRepository, times(1)).streamTaskResponses(USER_ID, null, null);
+    }
+
+    @Test
+    @DisplayName("bulkDelete_shouldRemoveTasksWithoutReadingThem")
+    void bulkDelete_shouldRemoveTasksWithoutReadingThem() {
+        // Arrange
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        List<Task> deleted = tasks.subList(0, 2).stream()
+            .map(task -> Task.builder().id(task.id()).userId(USER_ID).changeSeq(1).build())
+            .toList();
+
+        // Act
+        index.handleTasksChangedEvent(new TasksChangedEvent(USER_ID, TasksChangedEvent.ChangeType.DELETED, deleted));
+        when(taskStatsService.changeStamp(USER_ID)).thenReturn(1L);
+
+        // Assert
+        assertThat(find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10).total()).isEqualTo(2);
+        verify(taskRepository, never()).findTaskResponsesByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("find_afterWriteOnAnotherNode_shouldRebuildIndex")
+    void find_afterWriteOnAnotherNode_shouldRebuildIndex() {
+        // Arrange - the stamp moves without an event reaching this node
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        when(taskStatsService.changeStamp(USER_ID)).thenReturn(1L);
+
+        // Act
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+
+        // Assert - rebuilt once, at the new stamp
+        verify(taskRepository, times(2)).streamTaskResponses(USER_ID, null, null);
+    }
+
+    @Test
+    @DisplayName("taskEvents_afterMissedWrite_shouldApplyButRebuildOnNextFind")
+    void taskEvents_afterMissedWrite_shouldApplyButRebuildOnNextFind() {
+        // Arrange
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        TaskResponse gym = tasks.get(1);
+        when(taskRepository.findTaskResponsesByIdIn(List.of(gym.id()))).thenReturn(List.of(gym));
+
+        // Act - write 1 was made on another node, write 2 here
+        index.handleTaskUpdatedEvent(new TaskUpdatedEvent(Task.builder().id(gym.id()).userId(USER_ID).changeSeq(2).build()));
+        index.handleTaskUpdatedEvent(new TaskUpdatedEvent(Task.builder().id(gym.id()).userId(USER_ID).changeSeq(2).build()));
+        when(taskStatsService.changeStamp(USER_ID)).thenReturn(2L);
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+
+        // Assert - the repeated event was not read again
+        verify(taskRepository, times(1)).findTaskResponsesByIdIn(any());
+        verify(taskRepository, times(2)).streamTaskResponses(USER_ID, null, null);
+    }
+
+    @Test
+    @DisplayName("find_overMemoryBudget_shouldEvictLeastRecentlyUsedUser")
+    void find_overMemoryBudget_shouldEvictLeastRecentlyUsedUser() {
+        // Arrange - room for one user's index only
+        index = newIndex(true, 3, DataSize.ofBytes(6_000));
+        UUID otherUserId = UUID.randomUUID();
+        when(taskStatsService.find(otherUserId))
+            .thenReturn(Optional.of(UserTaskStats.builder().userId(otherUserId).totalCount(tasks.size()).build()));
+        when(taskRepository.streamTaskResponses(otherUserId, null, null)).thenAnswer(invocation -> tasks.stream());
+
+        // Act
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        index.find(otherUserId, null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10).orElseThrow();
+
+        // Assert
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.usedBytes()).isLessThanOrEqualTo(6_000);
+        find(null, null, TagMatch.ANY, "title", Sort.Direction.ASC, 0, 10);
+        verify(taskRepository, times(2)).streamTaskResponses(USER_ID, null, null);
+    }
+}
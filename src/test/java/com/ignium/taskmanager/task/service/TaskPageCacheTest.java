@@ -0,0 +1,155 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.dto.PageResult;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TotalMode;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.user.service.UserContextService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TaskPageCache Unit Tests")
+class TaskPageCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserContextService userContextService = mock(UserContextService.class);
+
+    private final PageResult<TaskResponse> page = new PageResult<>(
+            List.of(TestDataFactory.createTaskResponse()), 1L, TotalMode.EXACT, 10, 0, true, null);
+
+    private TaskPageCache cache(DataSize maxMemory, int maxPagesPerUser) {
+        return new TaskPageCache(userContextService, maxMemory, maxPagesPerUser, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    private void actAs(UUID userId) {
+        when(userContextService.getCurrentUserId()).thenReturn(userId);
+    }
+
+    private static TaskPageCache.Key key(int page) {
+        return TaskPageCache.Key.page(null, null, TagMatch.ANY, page, 10, "createdAt", "desc", TotalMode.EXACT);
+    }
+
+    @Test
+    @DisplayName("get_withSameStamp_shouldReturnStoredPageAndCountHitsAndMisses")
+    void get_withSameStamp_shouldReturnStoredPageAndCountHitsAndMisses() {
+        // Arrange
+        TaskPageCache cache = cache(DataSize.ofMegabytes(1), 10);
+        actAs(TestDataFactory.TEST_USER_ID);
+        cache.put(5, key(0), page);
+
+        // Act & Assert
+        assertThat(cache.get(5, key(0))).containsSame(page);
+        assertThat(cache.get(5, key(1))).isEmpty();
+        assertThat(cache.usedBytes()).isEqualTo(TaskPageCache.estimatedBytes(page));
+        assertThat(meterRegistry.get("task.page.cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("task.page.cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("get_withNewerStamp_shouldDropAllPagesOfTheUser")
+    void get_withNewerStamp_shouldDropAllPagesOfTheUser() {
+        // Arrange
+        TaskPageCache cache = cache(DataSize.ofMegabytes(1), 10);
+        actAs(TestDataFactory.TEST_USER_ID);
+        cache.put(5, key(0), page);
+        cache.put(5, key(1), page);
+
+        // Act
+        boolean found = cache.get(6, key(0)).isPresent();
+
+        // Assert
+        assertThat(found).isFalse();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.usedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("put_withOlderStampThanCached_shouldBeIgnored")
+    void put_withOlderStampThanCached_shouldBeIgnored() {
+        // Arrange - a request that read stamp 5 finishes after one that read stamp 6
+        TaskPageCache cache = cache(DataSize.ofMegabytes(1), 10);
+        actAs(TestDataFactory.TEST_USER_ID);
+        cache.put(6, key(0), page);
+
+        // Act
+        cache.put(5, key(1), page);
+
+        // Assert
+        assertThat(cache.get(5, key(1))).isEmpty();
+        assertThat(cache.get(6, key(1))).isEmpty();
+        assertThat(cache.get(6, key(0))).containsSame(page);
+    }
+
+    @Test
+    @DisplayName("put_overMaxMemory_shouldEvictLeastRecentlyUsedUser")
+    void put_overMaxMemory_shouldEvictLeastRecentlyUsedUser() {
+        // Arrange - room for two pages
+        TaskPageCache cache = cache(DataSize.ofBytes(2 * TaskPageCache.estimatedBytes(page)), 10);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        actAs(first);
+        cache.put(1, key(0), page);
+        actAs(second);
+        cache.put(1, key(0), page);
+        actAs(first);
+        cache.get(1, key(0));
+
+        // Act
+        actAs(third);
+        cache.put(1, key(0), page);
+
+        // Assert
+        assertThat(cache.size()).isEqualTo(2);
+        actAs(first);
+        assertThat(cache.get(1, key(0))).isPresent();
+        actAs(second);
+        assertThat(cache.get(1, key(0))).isEmpty();
+        assertThat(meterRegistry.get("task.page.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put_overMaxPagesPerUser_shouldDropLeastRecentlyUsedPage")
+    void put_overMaxPagesPerUser_shouldDropLeastRecentlyUsedPage() {
+        // Arrange
+        TaskPageCache cache = cache(DataSize.ofMegabytes(1), 2);
+        actAs(TestDataFactory.TEST_USER_ID);
+        cache.put(1, key(0), page);
+        cache.put(1, key(1), page);
+        cache.get(1, key(0));
+
+        // Act
+        cache.put(1, key(2), page);
+
+        // Assert
+        assertThat(cache.get(1, key(0))).isPresent();
+        assertThat(cache.get(1, key(1))).isEmpty();
+        assertThat(cache.get(1, key(2))).isPresent();
+        assertThat(cache.usedBytes()).isEqualTo(2 * TaskPageCache.estimatedBytes(page));
+    }
+
+    @Test
+    @DisplayName("key_shouldIgnoreTagOrderDuplicatesAndUnusedParameters")
+    void key_shouldIgnoreTagOrderDuplicatesAndUnusedParameters() {
+        // Act & Assert
+        assertThat(TaskPageCache.Key.page(Task.TaskStatus.TODO, List.of("work", "home", "work"), TagMatch.ALL, 0, 10, "dueDate", "ASC", TotalMode.NONE))
+                .isEqualTo(TaskPageCache.Key.page(Task.TaskStatus.TODO, List.of("home", "work"), TagMatch.ALL, 0, 10, "dueDate", "asc", TotalMode.NONE));
+        assertThat(TaskPageCache.Key.page(null, List.of(), TagMatch.ALL, 0, 10, "createdAt", "desc", TotalMode.EXACT))
+                .isEqualTo(TaskPageCache.Key.page(null, null, TagMatch.ANY, 0, 10, "createdAt", "desc", TotalMode.EXACT));
+        assertThat(TaskPageCache.Key.cursor(null, null, TagMatch.ANY, "", 10, "createdAt", "desc", TotalMode.EXACT))
+                .isNotEqualTo(key(0));
+    }
+}
@@ -0,0 +1,500 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.dto.BulkDeleteTasksRequest;
+import com.ignium.taskmanager.task.dto.BulkUpdateTasksRequest;
+import com.ignium.taskmanager.task.dto.CreateTaskRequest;
+import com.ignium.taskmanager.task.dto.ExportFormat;
+import com.ignium.taskmanager.task.dto.PageResult;
+import com.ignium.taskmanager.task.dto.TagMatch;
+import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TaskSelector;
+import com.ignium.taskmanager.task.dto.TotalMode;
+import com.ignium.taskmanager.task.dto.UpdateTaskRequest;
+import com.ignium.taskmanager.task.entity.Tag;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.user.entity.AppUser;
+import com.ignium.taskmanager.user.service.UserContextService;
+import com.ignium.taskmanager.user.service.UserSyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the number of SQL statements issued per service call, so that lazy tag loading
+ * (one query per task) cannot creep back into the read paths.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.datasource.url=jdbc:h2:mem:statements;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, TaskCountEstimator.class, TaskStatsService.class, TagCache.class, TagSuggestionIndex.class, TaskFilterIndex.class, TaskSuggestionIndex.class, SimpleMeterRegistry.class})
+@DisplayName("TaskService SQL Statement Count Tests")
+class TaskServiceStatementCountTest {
+
+    private static final int TASK_COUNT = 30;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TagCache tagCache;
+
+    @MockitoBean
+    private UserContextService userContextService;
+
+    @MockitoBean
+    private UserSyncService userSyncService;
+
+    private Statistics statistics;
+    private UUID userId;
+    private UUID firstTaskId;
+
+    @BeforeEach
+    void setUp() {
+        userId = entityManager.persistAndGetId(AppUser.builder().email("stats@example.com").build(), UUID.class);
+        when(userContextService.getCurrentUserId()).thenReturn(userId);
+
+        Tag work = entityManager.persist(Tag.builder().userId(userId).name("work").build());
+        Tag urgent = entityManager.persist(Tag.builder().userId(userId).name("urgent").build());
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = entityManager.persist(Task.builder()
+                .userId(userId)
+                .title("Task " + i)
+                .priority(Task.TaskPriority.MEDIUM)
+                .tags(new HashSet<>(List.of(work, urgent)))
+                .build());
+            if (firstTaskId == null) {
+                firstTaskId = task.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getTasksWithFilters_shouldUseConstantStatementCount")
+    void getTasksWithFilters_shouldUseConstantStatementCount() {
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(null, null, TagMatch.ANY, 0, 20, "createdAt", "desc", TotalMode.EXACT);
+
+        // Assert - id page, count, projection of tasks with tags; no entities hydrated
+        assertThat(result.content()).hasSize(20);
+        assertThat(result.content()).allSatisfy(task -> assertThat(task.tags()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("getTasksWithFilters_withTagFilter_shouldUseConstantStatementCount")
+    void getTasksWithFilters_withTagFilter_shouldUseConstantStatementCount() {
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(
+            Task.TaskStatus.TODO, List.of("work"), TagMatch.ANY, 1, 10, "title", "asc", TotalMode.EXACT);
+
+        // Assert
+        assertThat(result.content()).hasSize(10);
+        assertThat(result.totalElements()).isEqualTo(TASK_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("getTasksWithFilters_withTagMatchAll_shouldRequireEveryTag")
+    void getTasksWithFilters_withTagMatchAll_shouldRequireEveryTag() {
+        // Act
+        PageResult<TaskResponse> both = taskService.getTasksWithFilters(
+            null, List.of("work", "urgent", "work"), TagMatch.ALL, 0, 10, "title", "asc", TotalMode.EXACT);
+        PageResult<TaskResponse> missing = taskService.getTasksWithFilters(
+            null, List.of("work", "home"), TagMatch.ALL, 0, 10, "title", "asc", TotalMode.EXACT);
+        PageResult<TaskResponse> either = taskService.getTasksWithFilters(
+            null, List.of("work", "home"), TagMatch.ANY, 0, 10, "title", "asc", TotalMode.EXACT);
+        long counted = taskService.getTasksWithCursor(
+            null, List.of("urgent", "home"), TagMatch.ALL, "", 10, "title", "asc", TotalMode.EXACT).totalElements();
+
+        // Assert
+        assertThat(both.totalElements()).isEqualTo(TASK_COUNT);
+        assertThat(missing.totalElements()).isZero();
+        assertThat(missing.content()).isEmpty();
+        assertThat(either.totalElements()).isEqualTo(TASK_COUNT);
+        assertThat(counted).isZero();
+    }
+
+    @Test
+    @DisplayName("getTasksWithFilters_withoutTotal_shouldSkipCountStatement")
+    void getTasksWithFilters_withoutTotal_shouldSkipCountStatement() {
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(null, null, TagMatch.ANY, 0, 20, "createdAt", "desc", TotalMode.NONE);
+
+        // Assert - id slice (size + 1 rows) and projection only
+        assertThat(result.content()).hasSize(20);
+        assertThat(result.last()).isFalse();
+        assertThat(result.totalElements()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getTasksWithFilters_withEstimatedTotal_shouldReadCountersInsteadOfCounting")
+    void getTasksWithFilters_withEstimatedTotal_shouldReadCountersInsteadOfCounting() {
+        // Arrange
+        entityManager.persist(UserTaskStats.builder()
+            .userId(userId)
+            .totalCount(TASK_COUNT)
+            .todoCount(TASK_COUNT)
+            .mediumPriorityCount(TASK_COUNT)
+            .updatedAt(LocalDateTime.now())
+            .build());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(null, null, TagMatch.ANY, 1, 20, "createdAt", "desc", TotalMode.ESTIMATED);
+
+        // Assert - counters row by primary key, id slice, projection
+        assertThat(result.totalElements()).isEqualTo(TASK_COUNT);
+        assertThat(result.last()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("createTask_shouldKeepCountersInStep")
+    void createTask_shouldKeepCountersInStep() {
+        // Arrange - first write initializes the counters from the tasks table
+        taskService.createTask(new CreateTaskRequest("First", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH,
+            LocalDateTime.now().minusDays(1), null));
+        statistics.clear();
+
+        // Act
+        TaskResponse result = taskService.createTask(new CreateTaskRequest("Second", null, Task.TaskStatus.IN_PROGRESS,
+            Task.TaskPriority.LOW, null, null));
+        entityManager.flush();
+
+        // Assert - counters update and change stamp read, then the task insert carrying the stamp
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        entityManager.clear();
+        Task created = entityManager.find(Task.class, result.id());
+        assertThat(created.getVersion()).isZero();
+        assertThat(created.getUpdatedAt()).isCloseTo(result.updatedAt(), within(1, ChronoUnit.MICROS));
+        UserTaskStats stats = entityManager.find(UserTaskStats.class, userId);
+        assertThat(created.getChangeSeq()).isEqualTo(stats.getChangeStamp());
+        assertThat(stats.getTotalCount()).isEqualTo(TASK_COUNT + 2);
+        assertThat(stats.getTodoCount()).isEqualTo(TASK_COUNT + 1);
+        assertThat(stats.getInProgressCount()).isEqualTo(1);
+        assertThat(stats.getHighPriorityCount()).isEqualTo(1);
+        assertThat(stats.getLowPriorityCount()).isEqualTo(1);
+        assertThat(stats.getOverdueCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("createTask_withNewTags_shouldResolveTagsInConstantStatements")
+    void createTask_withNewTags_shouldResolveTagsInConstantStatements() {
+        // Arrange
+        taskService.createTask(new CreateTaskRequest("Warm-up", null, null, Task.TaskPriority.LOW, null, null));
+        entityManager.flush();
+        statistics.clear();
+        List<String> tags = List.of("work", "home", "errand", "weekend", "family", "later");
+
+        // Act
+        TaskResponse result = taskService.createTask(
+            new CreateTaskRequest("Tagged", null, null, Task.TaskPriority.LOW, null, tags));
+        entityManager.flush();
+
+        // Assert - tag lookup, insert and read of the five new tags, counters update, change stamp read,
+        // task insert, task_tags batch
+        assertThat(result.tags()).containsExactlyInAnyOrderElementsOf(tags);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("createTask_withCachedTags_shouldNotQueryTags")
+    void createTask_withCachedTags_shouldNotQueryTags() {
+        // Arrange - the first write resolves the tags and caches them once it commits
+        taskService.createTask(new CreateTaskRequest("Warm-up", null, null, Task.TaskPriority.LOW, null,
+            List.of("work", "urgent")));
+        entityManager.flush();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        TaskResponse result = taskService.createTask(
+            new CreateTaskRequest("Tagged", null, null, Task.TaskPriority.LOW, null, List.of("work", "urgent")));
+        entityManager.flush();
+
+        // Assert - counters update, change stamp read, task insert, task_tags batch; the tags are
+        // neither read nor loaded
+        assertThat(result.tags()).containsExactlyInAnyOrder("work", "urgent");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("createTask_withCachedTagDeletedElsewhere_shouldRetryThroughDatabase")
+    void createTask_withCachedTagDeletedElsewhere_shouldRetryThroughDatabase() {
+        // Arrange - an id cached before its tag was deleted and created again on another node
+        tagCache.putAll(userId, tagCache.generation(userId), Map.of("work", UUID.randomUUID()));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        UUID workId = entityManager.getEntityManager()
+            .createQuery("SELECT t.id FROM Tag t WHERE t.userId = :userId AND t.name = 'work'", UUID.class)
+            .setParameter("userId", userId)
+            .getSingleResult();
+
+        // Act - the foreign key fails, the cached tags are dropped and the write is retried
+        TaskResponse result = taskService.createTask(
+            new CreateTaskRequest("Tagged", null, null, Task.TaskPriority.LOW, null, List.of("work")));
+        entityManager.flush();
+
+        // Assert
+        assertThat(result.tags()).containsExactly("work");
+        assertThat(entityManager.find(Task.class, result.id()).getTags())
+            .extracting(Tag::getId).containsExactly(workId);
+    }
+
+    @Test
+    @DisplayName("createTasks_shouldBatchInserts")
+    void createTasks_shouldBatchInserts() {
+        // Arrange - the first write initializes the counters row
+        taskService.createTask(new CreateTaskRequest("Warm-up", null, null, Task.TaskPriority.LOW, null, null));
+        entityManager.flush();
+        statistics.clear();
+        List<CreateTaskRequest> requests = IntStream.range(0, 20)
+            .mapToObj(i -> new CreateTaskRequest("Imported " + i, null, null, Task.TaskPriority.MEDIUM, null,
+                List.of("work", "imported")))
+            .toList();
+
+        // Act
+        List<TaskResponse> result = taskService.createTasks(requests);
+        entityManager.flush();
+
+        // Assert - tag lookup, insert and read of the new tag, counters update, change stamp read, then one
+        // batch each for tasks and task_tags (below batch_size)
+        assertThat(result).hasSize(20);
+        assertThat(result).allSatisfy(task -> assertThat(task.tags()).containsExactlyInAnyOrder("work", "imported"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+        entityManager.clear();
+        assertThat(entityManager.find(UserTaskStats.class, userId).getTotalCount()).isEqualTo(TASK_COUNT + 21);
+    }
+
+    @Test
+    @DisplayName("getTasksWithCursor_shouldUseConstantStatementCount")
+    void getTasksWithCursor_shouldUseConstantStatementCount() {
+        // Act
+        PageResult<TaskResponse> first = taskService.getTasksWithCursor(null, null, TagMatch.ANY, "", 10, "createdAt", "desc", TotalMode.EXACT);
+        long afterFirstPage = statistics.getPrepareStatementCount();
+        PageResult<TaskResponse> second = taskService.getTasksWithCursor(null, null, TagMatch.ANY, first.nextCursor(), 10, "createdAt", "desc", TotalMode.EXACT);
+
+        // Assert - id page, tasks with tags, count; the same for every page
+        assertThat(first.content()).hasSize(10);
+        assertThat(second.content()).hasSize(10);
+        assertThat(afterFirstPage).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("dueWindows_shouldPageOpenTasksInTwoStatementsPerPage")
+    void dueWindows_shouldPageOpenTasksInTwoStatementsPerPage() {
+        // Arrange - alongside the 30 tasks without a due date
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            persistDue("Overdue " + i, Task.TaskStatus.TODO, now.minusDays(6 - i));
+        }
+        persistDue("Done late", Task.TaskStatus.COMPLETED, now.minusDays(2).plusHours(1));
+        persistDue("Upcoming", Task.TaskStatus.IN_PROGRESS, now.plusDays(2));
+        persistDue("Dropped", Task.TaskStatus.CANCELLED, now.plusDays(3));
+        persistDue("Far off", Task.TaskStatus.TODO, now.plusDays(30));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        PageResult<TaskResponse> first = taskService.getOverdueTasks(null, 3);
+        PageResult<TaskResponse> second = taskService.getOverdueTasks(first.nextCursor(), 3);
+        long afterOverdue = statistics.getPrepareStatementCount();
+        PageResult<TaskResponse> upcoming = taskService.getUpcomingTasks(7, null, 20);
+        PageResult<TaskResponse> between = taskService.getTasksDueBetween(
+            now.minusDays(3).minusHours(1), now.plusDays(7), null, List.of("work"), TagMatch.ANY, null, 20);
+
+        // Assert - id page and tasks with tags, per page
+        assertThat(first.content()).extracting(TaskResponse::title).containsExactly("Overdue 1", "Overdue 2", "Overdue 3");
+        assertThat(second.content()).extracting(TaskResponse::title).containsExactly("Overdue 4", "Overdue 5");
+        assertThat(second.last()).isTrue();
+        assertThat(afterOverdue).isEqualTo(4);
+        assertThat(upcoming.content()).extracting(TaskResponse::title).containsExactly("Upcoming");
+        assertThat(between.content()).extracting(TaskResponse::title)
+            .containsExactly("Overdue 3", "Overdue 4", "Done late", "Overdue 5", "Upcoming", "Dropped");
+    }
+
+    private void persistDue(String title, Task.TaskStatus status, LocalDateTime dueDate) {
+        Tag work = entityManager.getEntityManager()
+            .createQuery("SELECT t FROM Tag t WHERE t.userId = :userId AND t.name = 'work'", Tag.class)
+            .setParameter("userId", userId)
+            .getSingleResult();
+        entityManager.persist(Task.builder()
+            .userId(userId)
+            .title(title)
+            .status(status)
+            .priority(Task.TaskPriority.MEDIUM)
+            .dueDate(dueDate)
+            .tags(new HashSet<>(List.of(work)))
+            .build());
+    }
+
+    @Test
+    @DisplayName("exportTasks_shouldStreamAllTasksInOneStatement")
+    void exportTasks_shouldStreamAllTasksInOneStatement() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = taskService.exportTasks(null, List.of("work"), TaskExportWriter.create(ExportFormat.CSV, out, null));
+
+        // Assert - header plus one line per task, read without loading any entity
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(exported).isEqualTo(TASK_COUNT);
+        assertThat(lines).hasSize(TASK_COUNT + 1);
+        assertThat(lines.get(1)).startsWith(firstTaskId + ",Task 0,").contains(",urgent;work,");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("getTaskById_shouldProjectTaskAndTagsInOneStatement")
+    void getTaskById_shouldProjectTaskAndTagsInOneStatement() {
+        // Act
+        TaskResponse result = taskService.getTaskById(firstTaskId);
+
+        // Assert
+        assertThat(result.tags()).containsExactly("urgent", "work");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("updateTask_withoutTagChange_shouldNotLazyLoadTags")
+    void updateTask_withoutTagChange_shouldNotLazyLoadTags() {
+        // Arrange - the first write initializes the counters row
+        taskService.updateTask(firstTaskId, new UpdateTaskRequest("Warm-up", null, null, null, null, null));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        UpdateTaskRequest request = new UpdateTaskRequest("Renamed", null, null, null, null, null);
+
+        // Act
+        TaskResponse result = taskService.updateTask(firstTaskId, request);
+        entityManager.flush();
+
+        // Assert - task with tags, counters update, change stamp read, the update itself
+        assertThat(result.tags()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("updateTask_withTags_shouldWriteTaskOnce")
+    void updateTask_withTags_shouldWriteTaskOnce() {
+        // Arrange - the first write initializes the counters row
+        taskService.updateTask(firstTaskId, new UpdateTaskRequest("Warm-up", null, null, null, null, null));
+        entityManager.flush();
+        entityManager.clear();
+        long versionBefore = entityManager.find(Task.class, firstTaskId).getVersion();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act - the tags are flushed within the call, the change stamp must not dirty the task again
+        taskService.updateTask(firstTaskId, new UpdateTaskRequest("Renamed", null, null, null, null, List.of("work")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(entityManager.find(Task.class, firstTaskId).getVersion()).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    @DisplayName("updateTasks_byFilter_shouldUseSetBasedStatements")
+    void updateTasks_byFilter_shouldUseSetBasedStatements() {
+        // Arrange - the first write initializes the counters row; the warm-up task has no tags
+        taskService.createTask(new CreateTaskRequest("Warm-up", null, null, Task.TaskPriority.LOW, null, null));
+        entityManager.flush();
+        statistics.clear();
+        BulkUpdateTasksRequest request = new BulkUpdateTasksRequest(
+            new TaskSelector(null, Task.TaskStatus.TODO, List.of("work")), Task.TaskStatus.COMPLETED, null, null);
+
+        // Act
+        List<UUID> result = taskService.updateTasks(request);
+
+        // Assert - locking read, counters update, change stamp read, one update for all rows
+        assertThat(result).hasSize(TASK_COUNT).contains(firstTaskId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        entityManager.clear();
+        Task updated = entityManager.find(Task.class, firstTaskId);
+        assertThat(updated.getStatus()).isEqualTo(Task.TaskStatus.COMPLETED);
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        UserTaskStats stats = entityManager.find(UserTaskStats.class, userId);
+        assertThat(stats.getCompletedCount()).isEqualTo(TASK_COUNT);
+        assertThat(stats.getTodoCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deleteTasks_byIds_shouldUseSetBasedStatements")
+    void deleteTasks_byIds_shouldUseSetBasedStatements() {
+        // Arrange
+        taskService.createTask(new CreateTaskRequest("Warm-up", null, null, Task.TaskPriority.LOW, null, null));
+        entityManager.flush();
+        statistics.clear();
+        UUID unknownId = UUID.randomUUID();
+        BulkDeleteTasksRequest request = new BulkDeleteTasksRequest(
+            new TaskSelector(List.of(firstTaskId, unknownId), null, null));
+
+        // Act
+        List<UUID> result = taskService.deleteTasks(request);
+        entityManager.flush();
+
+        // Assert - locking read, task_tags delete, tasks delete, counters update, change stamp read, tombstone batch
+        assertThat(result).containsExactly(firstTaskId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        entityManager.clear();
+        assertThat(entityManager.find(Task.class, firstTaskId)).isNull();
+        assertThat(entityManager.find(UserTaskStats.class, userId).getTotalCount()).isEqualTo(TASK_COUNT);
+    }
+}
@@ -2,15 +2,25 @@ package com.ignium.taskmanager.task.service;
 
 import com.ignium.taskmanager.calendar.entity.CalendarSyncLog;
 import com.ignium.taskmanager.calendar.service.CalendarSyncService;
+import com.ignium.taskmanager.config.exception.InvalidRequestException;
 import com.ignium.taskmanager.config.exception.TaskNotFoundException;
 import com.ignium.taskmanager.task.TestDataFactory;
 import com.ignium.taskmanager.task.dto.CreateTaskRequest;
+import com.ignium.taskmanager.task.dto.PageResult;
+import com.ignium.taskmanager.task.dto.TagMatch;
 import com.ignium.taskmanager.task.dto.TaskResponse;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.dto.TotalMode;
 import com.ignium.taskmanager.task.dto.UpdateTaskRequest;
 import com.ignium.taskmanager.task.entity.Tag;
 import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.repository.DueWindow;
+import com.ignium.taskmanager.task.repository.SearchCursor;
 import com.ignium.taskmanager.task.repository.TagRepository;
+import com.ignium.taskmanager.task.repository.TaskCursor;
 import com.ignium.taskmanager.task.repository.TaskRepository;
+import com.ignium.taskmanager.task.repository.TaskSearchHit;
+import com.ignium.taskmanager.task.repository.TaskSortKey;
 import com.ignium.taskmanager.user.service.UserContextService;
 import com.ignium.taskmanager.user.service.UserSyncService;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,7 +35,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,12 +48,14 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -61,6 +78,24 @@ class TaskServiceTest {
     @Mock
     private UserSyncService userSyncService;
 
+    @Mock
+    private TaskCountEstimator taskCountEstimator;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Mock
+    private TagCache tagCache;
+
+    @Mock
+    private TagSuggestionIndex tagSuggestionIndex;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskSuggestionIndex taskSuggestionIndex;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -82,10 +117,8 @@ class TaskServiceTest {
         Tag urgentTag = TestDataFactory.createTag("urgent");
 
         when(userSyncService.userExistsNonTransactional(TestDataFactory.TEST_USER_ID)).thenReturn(true);
-        when(tagRepository.findByNameAndUserId("work", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.of(workTag));
-        when(tagRepository.findByNameAndUserId("urgent", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.of(urgentTag));
+        when(tagRepository.findAllByUserIdAndNameIn(eq(TestDataFactory.TEST_USER_ID), anyCollection()))
+            .thenReturn(List.of(workTag, urgentTag));
         when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
         doNothing().when(calendarSyncService).syncTaskToCalendar(any(Task.class), eq(CalendarSyncLog.SyncOperation.CREATE));
 
@@ -112,11 +145,9 @@ class TaskServiceTest {
         Tag newTag = TestDataFactory.createTag("newtag");
 
         when(userSyncService.userExistsNonTransactional(TestDataFactory.TEST_USER_ID)).thenReturn(true);
-        when(tagRepository.findByNameAndUserId("work", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.empty());
-        when(tagRepository.findByNameAndUserId("urgent", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.empty());
-        when(tagRepository.save(any(Tag.class))).thenReturn(newTag);
+        when(tagRepository.findAllByUserIdAndNameIn(eq(TestDataFactory.TEST_USER_ID), anyCollection()))
+            .thenReturn(List.of())
+            .thenReturn(List.of(newTag));
         when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
         doNothing().when(calendarSyncService).syncTaskToCalendar(any(Task.class), eq(CalendarSyncLog.SyncOperation.CREATE));
 
@@ -124,9 +155,9 @@ class TaskServiceTest {
         taskService.createTask(request);
 
         // Assert
-        verify(tagRepository, times(2)).save(any(Tag.class));
-        verify(tagRepository).findByNameAndUserId("work", TestDataFactory.TEST_USER_ID);
-        verify(tagRepository).findByNameAndUserId("urgent", TestDataFactory.TEST_USER_ID);
+        verify(tagRepository).insertIgnoringExisting(eq(TestDataFactory.TEST_USER_ID),
+            argThat(names -> names.containsAll(List.of("work", "urgent"))));
+        verify(tagRepository, never()).save(any(Tag.class));
     }
 
     @Test
@@ -138,10 +169,8 @@ class TaskServiceTest {
         Tag existingTag = TestDataFactory.createTag("work");
 
         when(userSyncService.userExistsNonTransactional(TestDataFactory.TEST_USER_ID)).thenReturn(true);
-        when(tagRepository.findByNameAndUserId("work", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.of(existingTag));
-        when(tagRepository.findByNameAndUserId("urgent", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.of(existingTag));
+        when(tagRepository.findAllByUserIdAndNameIn(eq(TestDataFactory.TEST_USER_ID), anyCollection()))
+            .thenReturn(List.of(existingTag, TestDataFactory.createTag("urgent")));
         when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
         doNothing().when(calendarSyncService).syncTaskToCalendar(any(Task.class), eq(CalendarSyncLog.SyncOperation.CREATE));
 
@@ -149,7 +178,7 @@ class TaskServiceTest {
         taskService.createTask(request);
 
         // Assert
-        verify(tagRepository, never()).save(any(Tag.class));
+        verify(tagRepository, never()).insertIgnoringExisting(any(UUID.class), anyCollection());
         verify(taskRepository).save(any(Task.class));
     }
 
@@ -169,8 +198,8 @@ class TaskServiceTest {
 
         // Assert
         assertThat(result).isNotNull();
-        verify(tagRepository, never()).findByNameAndUserId(any(String.class), any(UUID.class));
-        verify(tagRepository, never()).save(any(Tag.class));
+        verify(tagRepository, never()).findAllByUserIdAndNameIn(any(UUID.class), anyCollection());
+        verify(tagRepository, never()).insertIgnoringExisting(any(UUID.class), anyCollection());
         verify(taskRepository).save(any(Task.class));
     }
 
@@ -227,8 +256,8 @@ class TaskServiceTest {
         UUID taskId = TestDataFactory.TEST_TASK_ID;
         Task task = TestDataFactory.createTask();
 
-        when(taskRepository.findByIdAndUserId(taskId, TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.of(task));
+        when(taskRepository.findTaskResponseByIdAndUserId(taskId, TestDataFactory.TEST_USER_ID))
+            .thenReturn(Optional.of(TaskResponse.from(task)));
 
         // Act
         TaskResponse result = taskService.getTaskById(taskId);
@@ -245,7 +274,7 @@ class TaskServiceTest {
         // Arrange
         UUID taskId = UUID.randomUUID();
 
-        when(taskRepository.findByIdAndUserId(taskId, TestDataFactory.TEST_USER_ID))
+        when(taskRepository.findTaskResponseByIdAndUserId(taskId, TestDataFactory.TEST_USER_ID))
             .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -260,7 +289,7 @@ class TaskServiceTest {
         // Arrange
         UUID taskId = TestDataFactory.TEST_TASK_ID;
 
-        when(taskRepository.findByIdAndUserId(taskId, TestDataFactory.TEST_USER_ID))
+        when(taskRepository.findTaskResponseByIdAndUserId(taskId, TestDataFactory.TEST_USER_ID))
             .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -273,10 +302,9 @@ class TaskServiceTest {
     void getAllTasks_shouldReturnAllUserTasks() {
         // Arrange
         List<Task> tasks = TestDataFactory.createTaskList();
-        Page<Task> taskPage = new PageImpl<>(tasks);
 
-        when(taskRepository.findAllByUserId(TestDataFactory.TEST_USER_ID, Pageable.unpaged()))
-            .thenReturn(taskPage);
+        when(taskRepository.findAllWithTagsByUserId(TestDataFactory.TEST_USER_ID))
+            .thenReturn(tasks);
 
         // Act
         List<TaskResponse> result = taskService.getAllTasks();
@@ -290,10 +318,8 @@ class TaskServiceTest {
     @DisplayName("getAllTasks_whenEmpty_shouldReturnEmptyList")
     void getAllTasks_whenEmpty_shouldReturnEmptyList() {
         // Arrange
-        Page<Task> emptyPage = new PageImpl<>(List.of());
-
-        when(taskRepository.findAllByUserId(TestDataFactory.TEST_USER_ID, Pageable.unpaged()))
-            .thenReturn(emptyPage);
+        when(taskRepository.findAllWithTagsByUserId(TestDataFactory.TEST_USER_ID))
+            .thenReturn(List.of());
 
         // Act
         List<TaskResponse> result = taskService.getAllTasks();
@@ -308,17 +334,19 @@ class TaskServiceTest {
         // Arrange
         Task.TaskStatus status = Task.TaskStatus.TODO;
         List<Task> tasks = List.of(TestDataFactory.createTask());
-        Page<Task> taskPage = new PageImpl<>(tasks);
+        Page<UUID> taskPage = new PageImpl<>(List.of(TestDataFactory.TEST_TASK_ID));
 
-        when(taskRepository.findTasksWithFilters(eq(TestDataFactory.TEST_USER_ID), eq(status), isNull(), any(Pageable.class)))
+        when(taskRepository.findTaskResponsesByIdIn(List.of(TestDataFactory.TEST_TASK_ID)))
+            .thenReturn(tasks.stream().map(TaskResponse::from).toList());
+        when(taskRepository.findTaskIdsWithFilters(eq(TestDataFactory.TEST_USER_ID), eq(status), isNull(), isNull(), any(Pageable.class)))
             .thenReturn(taskPage);
 
         // Act
-        Page<TaskResponse> result = taskService.getTasksWithFilters(status, null, 0, 10, "createdAt", "desc");
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(status, null, TagMatch.ANY, 0, 10, "createdAt", "desc", TotalMode.EXACT);
 
         // Assert
-        assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).status()).isEqualTo(status);
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).status()).isEqualTo(status);
     }
 
     @Test
@@ -327,16 +355,18 @@ class TaskServiceTest {
         // Arrange
         List<String> tags = List.of("work", "urgent");
         List<Task> tasks = List.of(TestDataFactory.createTask());
-        Page<Task> taskPage = new PageImpl<>(tasks);
+        Page<UUID> taskPage = new PageImpl<>(List.of(TestDataFactory.TEST_TASK_ID));
 
-        when(taskRepository.findTasksWithFilters(eq(TestDataFactory.TEST_USER_ID), isNull(), eq(tags), any(Pageable.class)))
+        when(taskRepository.findTaskResponsesByIdIn(List.of(TestDataFactory.TEST_TASK_ID)))
+            .thenReturn(tasks.stream().map(TaskResponse::from).toList());
+        when(taskRepository.findTaskIdsWithFilters(eq(TestDataFactory.TEST_USER_ID), isNull(), eq(tags), isNull(), any(Pageable.class)))
             .thenReturn(taskPage);
 
         // Act
-        Page<TaskResponse> result = taskService.getTasksWithFilters(null, tags, 0, 10, "createdAt", "desc");
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(null, tags, TagMatch.ANY, 0, 10, "createdAt", "desc", TotalMode.EXACT);
 
         // Assert
-        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.content()).hasSize(1);
     }
 
     @Test
@@ -346,16 +376,18 @@ class TaskServiceTest {
         Task.TaskStatus status = Task.TaskStatus.IN_PROGRESS;
         List<String> tags = List.of("work");
         List<Task> tasks = List.of(TestDataFactory.createTask());
-        Page<Task> taskPage = new PageImpl<>(tasks);
+        Page<UUID> taskPage = new PageImpl<>(List.of(TestDataFactory.TEST_TASK_ID));
 
-        when(taskRepository.findTasksWithFilters(eq(TestDataFactory.TEST_USER_ID), eq(status), eq(tags), any(Pageable.class)))
+        when(taskRepository.findTaskResponsesByIdIn(List.of(TestDataFactory.TEST_TASK_ID)))
+            .thenReturn(tasks.stream().map(TaskResponse::from).toList());
+        when(taskRepository.findTaskIdsWithFilters(eq(TestDataFactory.TEST_USER_ID), eq(status), eq(tags), isNull(), any(Pageable.class)))
             .thenReturn(taskPage);
 
         // Act
-        Page<TaskResponse> result = taskService.getTasksWithFilters(status, tags, 0, 10, "createdAt", "desc");
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(status, tags, TagMatch.ANY, 0, 10, "createdAt", "desc", TotalMode.EXACT);
 
         // Assert
-        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.content()).hasSize(1);
     }
 
     @Test
@@ -363,20 +395,342 @@ class TaskServiceTest {
     void getTasksWithFilters_withPagination_shouldReturnPaginatedResults() {
         // Arrange
         List<Task> tasks = TestDataFactory.createTaskList();
-        Page<Task> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 10), 25);
+        List<UUID> ids = tasks.stream().map(Task::getId).toList();
+        Page<UUID> taskPage = new PageImpl<>(ids, PageRequest.of(0, 10), 25);
 
-        when(taskRepository.findTasksWithFilters(eq(TestDataFactory.TEST_USER_ID), isNull(), isNull(), any(Pageable.class)))
+        when(taskRepository.findTaskResponsesByIdIn(ids)).thenReturn(tasks.stream().map(TaskResponse::from).toList());
+        when(taskRepository.findTaskIdsWithFilters(eq(TestDataFactory.TEST_USER_ID), isNull(), isNull(), isNull(), any(Pageable.class)))
             .thenReturn(taskPage);
 
         // Act
-        Page<TaskResponse> result = taskService.getTasksWithFilters(null, null, 0, 10, "createdAt", "desc");
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(null, null, TagMatch.ANY, 0, 10, "createdAt", "desc", TotalMode.EXACT);
+
+        // Assert
+        assertThat(result.content()).hasSize(3);
+        assertThat(result.totalElements()).isEqualTo(25);
+        assertThat(result.totalPages()).isEqualTo(3);
+        assertThat(result.totalMode()).isEqualTo(TotalMode.EXACT);
+        assertThat(result.number()).isEqualTo(0);
+        assertThat(result.size()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("getTasksWithFilters_byPriority_shouldSortByRankThenIdAndRejectOtherKeys")
+    void getTasksWithFilters_byPriority_shouldSortByRankThenIdAndRejectOtherKeys() {
+        // Arrange
+        when(taskRepository.findTaskIdsWithFilters(eq(TestDataFactory.TEST_USER_ID), isNull(), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(Page.empty());
+
+        // Act
+        taskService.getTasksWithFilters(null, null, TagMatch.ANY, 0, 10, "priority", "desc", TotalMode.EXACT);
+
+        // Assert
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(taskRepository).findTaskIdsWithFilters(eq(TestDataFactory.TEST_USER_ID), isNull(), isNull(), isNull(), pageable.capture());
+        assertThat(pageable.getValue().getSort()).containsExactly(Sort.Order.desc("priorityRank"), Sort.Order.desc("id"));
+        assertThatThrownBy(() -> taskService.getTasksWithFilters(null, null, TagMatch.ANY, 0, 10, "description", "asc", TotalMode.EXACT))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Unsupported sortBy value: description (expected createdAt, updatedAt, dueDate, priority, title)");
+        assertThatThrownBy(() -> taskService.getTasksWithFilters(null, null, TagMatch.ANY, 0, 10, "priority", "sideways", TotalMode.EXACT))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Unsupported sortDirection value: sideways (expected asc or desc)");
+    }
+
+    @Test
+    @DisplayName("getTasksWithFilters_withoutTotal_shouldSkipCountQuery")
+    void getTasksWithFilters_withoutTotal_shouldSkipCountQuery() {
+        // Arrange
+        List<Task> tasks = TestDataFactory.createTaskList();
+        List<UUID> ids = tasks.stream().map(Task::getId).toList();
+        Slice<UUID> taskSlice = new SliceImpl<>(ids, PageRequest.of(0, 3), true);
+
+        when(taskRepository.findTaskResponsesByIdIn(ids)).thenReturn(tasks.stream().map(TaskResponse::from).toList());
+        when(taskRepository.findTaskIdSliceWithFilters(eq(TestDataFactory.TEST_USER_ID), isNull(), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(taskSlice);
+
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(null, null, TagMatch.ANY, 0, 3, "createdAt", "desc", TotalMode.NONE);
+
+        // Assert
+        assertThat(result.content()).hasSize(3);
+        assertThat(result.last()).isFalse();
+        assertThat(result.totalElements()).isNull();
+        assertThat(result.totalPages()).isNull();
+        assertThat(result.totalMode()).isEqualTo(TotalMode.NONE);
+        verify(taskRepository, never()).findTaskIdsWithFilters(any(), any(), any(), any(), any(Pageable.class));
+        verify(taskCountEstimator, never()).estimate(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getTasksWithFilters_withEstimatedTotal_shouldUseEstimator")
+    void getTasksWithFilters_withEstimatedTotal_shouldUseEstimator() {
+        // Arrange
+        List<String> tags = List.of("work");
+        Slice<UUID> taskSlice = new SliceImpl<>(List.of(TestDataFactory.TEST_TASK_ID), PageRequest.of(0, 10), false);
+
+        when(taskRepository.findTaskResponsesByIdIn(List.of(TestDataFactory.TEST_TASK_ID)))
+            .thenReturn(List.of(TestDataFactory.createTaskResponse()));
+        when(taskRepository.findTaskIdSliceWithFilters(eq(TestDataFactory.TEST_USER_ID), isNull(), eq(tags), isNull(), any(Pageable.class)))
+            .thenReturn(taskSlice);
+        when(taskCountEstimator.estimate(TestDataFactory.TEST_USER_ID, null, tags, TagMatch.ANY)).thenReturn(42L);
+
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithFilters(null, tags, TagMatch.ANY, 0, 10, "createdAt", "desc", TotalMode.ESTIMATED);
+
+        // Assert
+        assertThat(result.last()).isTrue();
+        assertThat(result.totalElements()).isEqualTo(42);
+        assertThat(result.totalPages()).isEqualTo(5);
+        assertThat(result.totalMode()).isEqualTo(TotalMode.ESTIMATED);
+        verify(taskRepository, never()).findTaskIdsWithFilters(any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("getTasksWithCursor_withMoreRows_shouldReturnNextCursor")
+    void getTasksWithCursor_withMoreRows_shouldReturnNextCursor() {
+        // Arrange
+        List<Task> tasks = TestDataFactory.createTaskList();
+        List<UUID> ids = tasks.stream().map(Task::getId).toList();
+
+        when(taskRepository.findTaskIdsAfter(eq(TestDataFactory.TEST_USER_ID), isNull(), isNull(), eq(TagMatch.ANY),
+                eq(TaskSortKey.CREATED_AT), eq(Sort.Direction.DESC), isNull(), eq(3)))
+            .thenReturn(ids);
+        when(taskRepository.findTaskResponsesByIdIn(ids.subList(0, 2)))
+            .thenReturn(tasks.subList(0, 2).stream().map(TaskResponse::from).toList());
+        when(taskRepository.countTasksWithFilters(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY)).thenReturn(5L);
+
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithCursor(null, null, TagMatch.ANY, "", 2, "createdAt", "desc", TotalMode.EXACT);
+
+        // Assert
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.last()).isFalse();
+        assertThat(result.number()).isZero();
+        assertThat(result.totalElements()).isEqualTo(5);
+
+        TaskCursor next = TaskCursor.decode(result.nextCursor());
+        assertThat(next.id()).isEqualTo(tasks.get(1).getId());
+        assertThat(next.value()).isEqualTo(tasks.get(1).getCreatedAt());
+        assertThat(next.page()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getTasksWithCursor_onLastPage_shouldNotReturnNextCursor")
+    void getTasksWithCursor_onLastPage_shouldNotReturnNextCursor() {
+        // Arrange
+        Task previous = TestDataFactory.createTask();
+        String cursor = TaskCursor.after(TaskResponse.from(previous), TaskSortKey.DUE_DATE, Sort.Direction.ASC, 4).encode();
+
+        when(taskRepository.findTaskIdsAfter(eq(TestDataFactory.TEST_USER_ID), isNull(), isNull(), eq(TagMatch.ANY),
+                eq(TaskSortKey.DUE_DATE), eq(Sort.Direction.ASC), any(TaskCursor.class), eq(11)))
+            .thenReturn(List.of(TestDataFactory.TEST_TASK_ID));
+        when(taskRepository.findTaskResponsesByIdIn(List.of(TestDataFactory.TEST_TASK_ID)))
+            .thenReturn(List.of(TaskResponse.from(TestDataFactory.createTask())));
+        when(taskRepository.countTasksWithFilters(TestDataFactory.TEST_USER_ID, null, null, TagMatch.ANY)).thenReturn(41L);
+
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithCursor(null, null, TagMatch.ANY, cursor, 10, "dueDate", "asc", TotalMode.EXACT);
 
         // Assert
-        assertThat(result.getContent()).hasSize(3);
-        assertThat(result.getTotalElements()).isEqualTo(25);
-        assertThat(result.getTotalPages()).isEqualTo(3);
-        assertThat(result.getNumber()).isEqualTo(0);
-        assertThat(result.getSize()).isEqualTo(10);
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.last()).isTrue();
+        assertThat(result.number()).isEqualTo(4);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getTasksWithCursor_whenPageRowsWereDeleted_shouldEndWithoutCursor")
+    void getTasksWithCursor_whenPageRowsWereDeleted_shouldEndWithoutCursor() {
+        // Arrange - the ids were found, but the tasks are gone by the time the page is loaded
+        List<UUID> ids = TestDataFactory.createTaskList().stream().map(Task::getId).toList();
+        when(taskRepository.findTaskIdsAfter(eq(TestDataFactory.TEST_USER_ID), isNull(), isNull(), eq(TagMatch.ANY),
+                eq(TaskSortKey.CREATED_AT), eq(Sort.Direction.DESC), isNull(), eq(3)))
+            .thenReturn(ids);
+        when(taskRepository.findTaskResponsesByIdIn(ids.subList(0, 2))).thenReturn(List.of());
+
+        // Act
+        PageResult<TaskResponse> result = taskService.getTasksWithCursor(null, null, TagMatch.ANY, "", 2, "createdAt", "desc", TotalMode.NONE);
+
+        // Assert
+        assertThat(result.content()).isEmpty();
+        assertThat(result.last()).isTrue();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getTasksWithCursor_withSizeOutOfRange_shouldThrow")
+    void getTasksWithCursor_withSizeOutOfRange_shouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> taskService.getTasksWithCursor(null, null, TagMatch.ANY, "", 0, "createdAt", "desc", TotalMode.EXACT))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("size must be between 1 and 100");
+        assertThatThrownBy(() -> taskService.getTasksWithCursor(null, null, TagMatch.ANY, "", 101, "createdAt", "desc", TotalMode.EXACT))
+            .isInstanceOf(InvalidRequestException.class);
+        verify(taskRepository, never()).findTaskIdsAfter(any(), any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getTasksWithCursor_withCursorForDifferentSort_shouldThrow")
+    void getTasksWithCursor_withCursorForDifferentSort_shouldThrow() {
+        // Arrange
+        String cursor = TaskCursor.after(TestDataFactory.createTaskResponse(), TaskSortKey.TITLE, Sort.Direction.ASC, 1).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> taskService.getTasksWithCursor(null, null, TagMatch.ANY, cursor, 10, "createdAt", "desc", TotalMode.EXACT))
+            .isInstanceOf(InvalidRequestException.class);
+        verify(taskRepository, never()).findTaskIdsAfter(any(), any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getUpcomingTasks_shouldQueryOpenTasksDueWithinDays")
+    void getUpcomingTasks_shouldQueryOpenTasksDueWithinDays() {
+        // Arrange
+        Task task = TestDataFactory.createTask();
+        ArgumentCaptor<DueWindow> window = ArgumentCaptor.forClass(DueWindow.class);
+        when(taskRepository.findTaskIdsDue(eq(TestDataFactory.TEST_USER_ID), window.capture(), isNull(), isNull(),
+                eq(TagMatch.ANY), isNull(), eq(2)))
+            .thenReturn(List.of(task.getId(), UUID.randomUUID()));
+        when(taskRepository.findTaskResponsesByIdIn(List.of(task.getId()))).thenReturn(List.of(TaskResponse.from(task)));
+
+        // Act
+        PageResult<TaskResponse> result = taskService.getUpcomingTasks(7, null, 1);
+
+        // Assert
+        assertThat(window.getValue().openOnly()).isTrue();
+        assertThat(Duration.between(window.getValue().from(), window.getValue().to())).isEqualTo(Duration.ofDays(7));
+        assertThat(result.last()).isFalse();
+        assertThat(result.totalMode()).isEqualTo(TotalMode.NONE);
+        TaskCursor next = TaskCursor.decode(result.nextCursor());
+        assertThat(next.sortKey()).isEqualTo(TaskSortKey.DUE_DATE);
+        assertThat(next.value()).isEqualTo(task.getDueDate());
+        assertThat(next.page()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getOverdueTasks_withCursor_shouldContinueAfterIt")
+    void getOverdueTasks_withCursor_shouldContinueAfterIt() {
+        // Arrange
+        TaskResponse previous = TestDataFactory.createTaskResponse();
+        String cursor = TaskCursor.after(previous, TaskSortKey.DUE_DATE, Sort.Direction.ASC, 2).encode();
+        when(taskRepository.findTaskIdsDue(eq(TestDataFactory.TEST_USER_ID), any(DueWindow.class), isNull(), isNull(),
+                eq(TagMatch.ANY), any(TaskCursor.class), eq(21)))
+            .thenReturn(List.of());
+
+        // Act
+        PageResult<TaskResponse> result = taskService.getOverdueTasks(cursor, 20);
+
+        // Assert
+        assertThat(result.content()).isEmpty();
+        assertThat(result.last()).isTrue();
+        assertThat(result.number()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getTasksDueBetween_withInvalidRangeOrCursor_shouldThrow")
+    void getTasksDueBetween_withInvalidRangeOrCursor_shouldThrow() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 3, 10, 0, 0);
+        String titleCursor = TaskCursor.after(TestDataFactory.createTaskResponse(), TaskSortKey.TITLE, Sort.Direction.ASC, 1).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> taskService.getTasksDueBetween(null, null, null, null, TagMatch.ANY, null, 10))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("dueFrom or dueTo is required");
+        assertThatThrownBy(() -> taskService.getTasksDueBetween(from, from, null, null, TagMatch.ANY, null, 10))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("dueFrom must be before dueTo");
+        assertThatThrownBy(() -> taskService.getTasksDueBetween(from, null, null, null, TagMatch.ANY, titleCursor, 10))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Cursor was not issued for a due date window");
+        verify(taskRepository, never()).findTaskIdsDue(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("searchTasks_withMoreHits_shouldReturnRankCursor")
+    void searchTasks_withMoreHits_shouldReturnRankCursor() {
+        // Arrange
+        List<Task> tasks = TestDataFactory.createTaskList();
+        List<TaskSearchHit> hits = List.of(
+            new TaskSearchHit(tasks.get(0).getId(), 0.6f),
+            new TaskSearchHit(tasks.get(1).getId(), 0.3f),
+            new TaskSearchHit(tasks.get(2).getId(), 0.1f));
+        List<UUID> pageIds = List.of(tasks.get(0).getId(), tasks.get(1).getId());
+
+        when(taskRepository.searchTaskIds(TestDataFactory.TEST_USER_ID, "quarterly report", Task.TaskStatus.TODO,
+                List.of("work"), TagMatch.ALL, null, 3))
+            .thenReturn(hits);
+        when(taskRepository.findTaskResponsesByIdIn(pageIds))
+            .thenReturn(tasks.subList(0, 2).stream().map(TaskResponse::from).toList());
+
+        // Act
+        PageResult<TaskResponse> result = taskService.searchTasks(" quarterly report ", Task.TaskStatus.TODO,
+            List.of("work", "work"), TagMatch.ALL, null, 2);
+
+        // Assert
+        assertThat(result.content()).extracting(TaskResponse::id).containsExactlyElementsOf(pageIds);
+        assertThat(result.last()).isFalse();
+        assertThat(result.totalElements()).isNull();
+        assertThat(result.totalMode()).isEqualTo(TotalMode.NONE);
+
+        SearchCursor next = SearchCursor.decode(result.nextCursor());
+        assertThat(next.id()).isEqualTo(tasks.get(1).getId());
+        assertThat(next.rank()).isEqualTo(0.3f);
+        assertThat(next.page()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("searchTasks_withCursor_shouldContinueAfterIt")
+    void searchTasks_withCursor_shouldContinueAfterIt() {
+        // Arrange
+        SearchCursor previous = new SearchCursor(0.25f, UUID.randomUUID(), 3);
+        when(taskRepository.searchTaskIds(TestDataFactory.TEST_USER_ID, "report", null, null, TagMatch.ANY, previous, 11))
+            .thenReturn(List.of(new TaskSearchHit(TestDataFactory.TEST_TASK_ID, 0.2f)));
+        when(taskRepository.findTaskResponsesByIdIn(List.of(TestDataFactory.TEST_TASK_ID)))
+            .thenReturn(List.of(TestDataFactory.createTaskResponse()));
+
+        // Act
+        PageResult<TaskResponse> result = taskService.searchTasks("report", null, List.of(), TagMatch.ANY, previous.encode(), 10);
+
+        // Assert
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.last()).isTrue();
+        assertThat(result.number()).isEqualTo(3);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("searchTasks_withBlankQuery_shouldThrow")
+    void searchTasks_withBlankQuery_shouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> taskService.searchTasks("  ", null, null, TagMatch.ANY, null, 20))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Search query must not be blank");
+        verify(taskRepository, never()).searchTaskIds(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("suggestTasks_shouldAskIndexForCurrentUser")
+    void suggestTasks_shouldAskIndexForCurrentUser() {
+        // Arrange
+        List<TaskSuggestionResponse> suggestions = List.of(TaskSuggestionResponse.from(TestDataFactory.createTask()));
+        when(taskSuggestionIndex.suggest(TestDataFactory.TEST_USER_ID, "wri rep", 5)).thenReturn(suggestions);
+
+        // Act
+        List<TaskSuggestionResponse> result = taskService.suggestTasks("wri rep", 5);
+
+        // Assert
+        assertThat(result).isEqualTo(suggestions);
+    }
+
+    @Test
+    @DisplayName("suggestTasks_withBlankQueryOrBadLimit_shouldNotAskIndex")
+    void suggestTasks_withBlankQueryOrBadLimit_shouldNotAskIndex() {
+        // Act & Assert
+        assertThat(taskService.suggestTasks(" ", 10)).isEmpty();
+        assertThatThrownBy(() -> taskService.suggestTasks("wri", 0))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("limit must be between 1 and 50");
+        verify(taskSuggestionIndex, never()).suggest(any(), any(), anyInt());
     }
 
     // UPDATE Operations Tests
@@ -442,15 +796,15 @@ class TaskServiceTest {
 
         when(taskRepository.findByIdAndUserId(taskId, TestDataFactory.TEST_USER_ID))
             .thenReturn(Optional.of(existingTask));
-        when(tagRepository.findByNameAndUserId("newtag", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.of(newTag));
+        when(tagRepository.findAllByUserIdAndNameIn(TestDataFactory.TEST_USER_ID, List.of("newtag")))
+            .thenReturn(List.of(newTag));
         when(taskRepository.save(any(Task.class))).thenReturn(existingTask);
 
         // Act
         taskService.updateTask(taskId, request);
 
         // Assert
-        verify(tagRepository).findByNameAndUserId("newtag", TestDataFactory.TEST_USER_ID);
+        verify(tagRepository).findAllByUserIdAndNameIn(TestDataFactory.TEST_USER_ID, List.of("newtag"));
         verify(taskRepository).save(any(Task.class));
     }
 
@@ -499,10 +853,8 @@ class TaskServiceTest {
         // Mock tag repository calls for the tags in the update request
         Tag updatedTag = TestDataFactory.createTag("updated");
         Tag workTag = TestDataFactory.createTag("work");
-        when(tagRepository.findByNameAndUserId("updated", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.of(updatedTag));
-        when(tagRepository.findByNameAndUserId("work", TestDataFactory.TEST_USER_ID))
-            .thenReturn(Optional.of(workTag));
+        when(tagRepository.findAllByUserIdAndNameIn(eq(TestDataFactory.TEST_USER_ID), anyCollection()))
+            .thenReturn(List.of(updatedTag, workTag));
         
         doNothing().when(calendarSyncService).syncTaskToCalendar(any(Task.class), eq(CalendarSyncLog.SyncOperation.UPDATE));
 
@@ -0,0 +1,158 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.dto.TaskStatsResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.user.entity.AppUser;
+import com.ignium.taskmanager.user.service.UserContextService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:taskstats;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskStatsService.class)
+@DisplayName("TaskStatsService Tests")
+class TaskStatsServiceTest {
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private UserContextService userContextService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = entityManager.persistAndGetId(AppUser.builder().email("counters@example.com").build(), UUID.class);
+        when(userContextService.getCurrentUserId()).thenReturn(userId);
+
+        persistTask(Task.TaskStatus.TODO, Task.TaskPriority.HIGH, LocalDateTime.now().minusDays(2));
+        persistTask(Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.HIGH, LocalDateTime.now().plusDays(2));
+        persistTask(Task.TaskStatus.COMPLETED, Task.TaskPriority.LOW, LocalDateTime.now().minusDays(2));
+        persistTask(Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM, null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("getStats_withoutCounters_shouldInitializeFromTasks")
+    void getStats_withoutCounters_shouldInitializeFromTasks() {
+        // Act
+        TaskStatsResponse stats = taskStatsService.getStats();
+
+        // Assert
+        assertThat(stats.total()).isEqualTo(4);
+        assertThat(stats.byStatus())
+            .containsEntry(Task.TaskStatus.TODO, 2L)
+            .containsEntry(Task.TaskStatus.IN_PROGRESS, 1L)
+            .containsEntry(Task.TaskStatus.COMPLETED, 1L)
+            .containsEntry(Task.TaskStatus.CANCELLED, 0L);
+        assertThat(stats.byPriority())
+            .containsEntry(Task.TaskPriority.HIGH, 2L)
+            .containsEntry(Task.TaskPriority.LOW, 1L)
+            .containsEntry(Task.TaskPriority.MEDIUM, 1L);
+        // The completed task past its due date is not overdue
+        assertThat(stats.overdue()).isEqualTo(1);
+        assertThat(entityManager.find(UserTaskStats.class, userId)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("rebuild_withDriftedCounters_shouldRecountFromTasks")
+    void rebuild_withDriftedCounters_shouldRecountFromTasks() {
+        // Arrange
+        entityManager.persist(UserTaskStats.builder()
+            .userId(userId)
+            .totalCount(40)
+            .todoCount(40)
+            .updatedAt(LocalDateTime.now())
+            .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int repaired = taskStatsService.rebuild(List.of(userId));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        UserTaskStats stats = entityManager.find(UserTaskStats.class, userId);
+        assertThat(repaired).isEqualTo(1);
+        assertThat(stats.getTotalCount()).isEqualTo(4);
+        assertThat(stats.getTodoCount()).isEqualTo(2);
+        assertThat(stats.getHighPriorityCount()).isEqualTo(2);
+        assertThat(stats.getOverdueCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("rebuild_withConsistentCounters_shouldLeaveThemAlone")
+    void rebuild_withConsistentCounters_shouldLeaveThemAlone() {
+        // Arrange
+        taskStatsService.getStats();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int repaired = taskStatsService.rebuild(List.of(userId));
+
+        // Assert
+        assertThat(repaired).isZero();
+    }
+
+    @Test
+    @DisplayName("changeStamp_shouldMoveWithEveryWriteEvenWithoutCountChanges")
+    void changeStamp_shouldMoveWithEveryWriteEvenWithoutCountChanges() {
+        // Arrange
+        long initial = taskStatsService.changeStamp(userId);
+        Task task = Task.builder().userId(userId).title("Renamed later")
+            .status(Task.TaskStatus.TODO).priority(Task.TaskPriority.LOW).build();
+
+        // Act - the first write creates the counters row; creates are recorded before the insert
+        taskStatsService.recordCreated(task);
+        entityManager.persist(task);
+        long created = taskStatsService.changeStamp(userId);
+        taskStatsService.recordUpdated(task, taskStatsService.snapshot(task));
+        taskStatsService.recordChanged(userId);
+        long changed = taskStatsService.changeStamp(userId);
+
+        // Assert
+        assertThat(initial).isZero();
+        assertThat(created).isPositive();
+        assertThat(changed).isEqualTo(created + 2);
+        assertThat(taskStatsService.find(userId)).get().extracting(UserTaskStats::getTotalCount).isEqualTo(5L);
+    }
+
+    private void persistTask(Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime dueDate) {
+        entityManager.persist(Task.builder()
+            .userId(userId)
+            .title("Task " + status + " " + priority)
+            .status(status)
+            .priority(priority)
+            .dueDate(dueDate)
+            .build());
+    }
+}
@@ -0,0 +1,179 @@
+package com.ignium.taskmanager.task.service;
+
+import com.ignium.taskmanager.task.TestDataFactory;
+import com.ignium.taskmanager.task.dto.TaskSuggestionResponse;
+import com.ignium.taskmanager.task.entity.Task;
+import com.ignium.taskmanager.task.entity.UserTaskStats;
+import com.ignium.taskmanager.task.event.model.TaskCreatedEvent;
+import com.ignium.taskmanager.task.event.model.TaskDeletedEvent;
+import com.ignium.taskmanager.task.event.model.TaskUpdatedEvent;
+import com.ignium.taskmanager.task.event.model.TasksChangedEvent;
+import com.ignium.taskmanager.task.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TaskSuggestionIndex Unit Tests")
+class TaskSuggestionIndexTest {
+
+    private static final UUID USER_ID = TestDataFactory.TEST_USER_ID;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskStatsService taskStatsService = mock(TaskStatsService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final List<TaskSuggestionResponse> tasks = new ArrayList<>();
+    private TaskSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = newIndex(DataSize.ofMegabytes(1), 100);
+        tasks.add(task("Write quarterly report", NOW.minusDays(3)));
+        tasks.add(task("Gym session", NOW.minusDays(2)));
+        tasks.add(task("Report review", NOW.minusDays(1)));
+        tasks.add(task("Pay bills", NOW));
+        stubUser(USER_ID);
+    }
+
+    private TaskSuggestionIndex newIndex(DataSize maxMemory, long maxTasksPerUser) {
+        return new TaskSuggestionIndex(taskRepository, taskStatsService, transactionManager,
+            maxMemory, maxTasksPerUser, Duration.ofMinutes(30), new SimpleMeterRegistry());
+    }
+
+    private void stubUser(UUID userId) {
+        when(taskStatsService.find(userId))
+            .thenReturn(Optional.of(UserTaskStats.builder().userId(userId).totalCount(tasks.size()).build()));
+        when(taskRepository.streamTaskSuggestions(userId)).thenAnswer(invocation -> tasks.stream());
+    }
+
+    private static TaskSuggestionResponse task(String title, LocalDateTime updatedAt) {
+        return new TaskSuggestionResponse(UUID.randomUUID(), title, Task.TaskStatus.TODO, updatedAt);
+    }
+
+    private List<String> titles(String query) {
+        return index.suggest(USER_ID, query, 10).stream().map(TaskSuggestionResponse::title).toList();
+    }
+
+    @Test
+    @DisplayName("suggest_shouldMatchEveryWordAsPrefixMostRecentFirst")
+    void suggest_shouldMatchEveryWordAsPrefixMostRecentFirst() {
+        // Act & Assert
+        assertThat(titles("rep")).containsExactly("Report review", "Write quarterly report");
+        assertThat(titles("REPORT wri")).containsExactly("Write quarterly report");
+        assertThat(titles("ses-gym")).containsExactly("Gym session");
+        assertThat(titles("report missing")).isEmpty();
+        assertThat(index.suggest(USER_ID, "r", 1)).extracting(TaskSuggestionResponse::title).containsExactly("Report review");
+        verify(taskRepository, times(1)).streamTaskSuggestions(USER_ID);
+        verify(taskRepository, never()).findTaskSuggestions(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("taskEvents_shouldUpdateTitlesWithoutReloading")
+    void taskEvents_shouldUpdateTitlesWithoutReloading() {
+        // Arrange
+        titles("rep");
+        TaskSuggestionResponse gym = tasks.get(1);
+        Task renamed = Task.builder().id(gym.id()).userId(USER_ID).title("Swim session")
+            .status(Task.TaskStatus.IN_PROGRESS).updatedAt(NOW.plusHours(1)).build();
+        Task created = Task.builder().id(UUID.randomUUID()).userId(USER_ID).title("Report to board")
+            .status(Task.TaskStatus.TODO).updatedAt(NOW.plusHours(2)).build();
+        Task deleted = Task.builder().id(tasks.get(0).id()).userId(USER_ID).title("Write quarterly report").build();
+
+        // Act - outside a transaction all apply immediately
+        index.handleTaskUpdatedEvent(new TaskUpdatedEvent(renamed));
+        index.handleTaskCreatedEvent(new TaskCreatedEvent(created));
+        index.handleTaskDeletedEvent(new TaskDeletedEvent(deleted));
+
+        // Assert
+        assertThat(titles("gym")).isEmpty();
+        assertThat(index.suggest(USER_ID, "swim", 10)).singleElement()
+            .satisfies(task -> assertThat(task.status()).isEqualTo(Task.TaskStatus.IN_PROGRESS));
+        assertThat(titles("report")).containsExactly("Report to board", "Report review");
+        verify(taskRepository, times(1)).streamTaskSuggestions(USER_ID);
+    }
+
+    @Test
+    @DisplayName("bulkEvents_shouldApplyRepeatedChangesToTheSameTasks")
+    void bulkEvents_shouldApplyRepeatedChangesToTheSameTasks() {
+        // Arrange
+        titles("rep");
+        List<Task> all = tasks.stream()
+            .map(task -> Task.builder().id(task.id()).userId(USER_ID).title(task.title()).status(Task.TaskStatus.COMPLETED).build())
+            .toList();
+
+        // Act - enough rounds to replace every ordinal several times over
+        for (int round = 0; round < 5; round++) {
+            index.handleTasksChangedEvent(new TasksChangedEvent(USER_ID, TasksChangedEvent.ChangeType.UPDATED, all));
+        }
+        index.handleTasksChangedEvent(new TasksChangedEvent(USER_ID, TasksChangedEvent.ChangeType.DELETED, all.subList(0, 1)));
+
+        // Assert
+        assertThat(index.suggest(USER_ID, "re", 10))
+            .extracting(TaskSuggestionResponse::title, TaskSuggestionResponse::status)
+            .containsExactly(tuple("Report review", Task.TaskStatus.COMPLETED));
+        verify(taskRepository, times(1)).streamTaskSuggestions(USER_ID);
+    }
+
+    @Test
+    @DisplayName("suggest_forTooLargeUser_shouldQueryDatabaseByWordPrefixes")
+    void suggest_forTooLargeUser_shouldQueryDatabaseByWordPrefixes() {
+        // Arrange
+        index = newIndex(DataSize.ofMegabytes(1), 3);
+        List<TaskSuggestionResponse> fromDatabase = List.of(task("100% done", NOW));
+        when(taskRepository.findTaskSuggestions(USER_ID, Set.of("100", "do"), 10)).thenReturn(fromDatabase);
+
+        // Act
+        List<TaskSuggestionResponse> first = index.suggest(USER_ID, " 100% Do ", 10);
+        List<TaskSuggestionResponse> second = index.suggest(USER_ID, " 100% Do ", 10);
+        List<TaskSuggestionResponse> noWords = index.suggest(USER_ID, " %_ ", 10);
+
+        // Assert - split into words the same way as in memory
+        assertThat(first).isEqualTo(fromDatabase);
+        assertThat(second).isEqualTo(fromDatabase);
+        assertThat(noWords).isEmpty();
+        verify(taskRepository, times(2)).findTaskSuggestions(any(), any(), anyInt());
+        verify(taskStatsService, times(1)).find(USER_ID);
+        verify(taskRepository, never()).streamTaskSuggestions(any());
+    }
+
+    @Test
+    @DisplayName("suggest_overMemoryBudget_shouldEvictLeastRecentlyUsedUser")
+    void suggest_overMemoryBudget_shouldEvictLeastRecentlyUsedUser() {
+        // Arrange - room for one user's index only
+        index = newIndex(DataSize.ofBytes(5_000), 100);
+        UUID otherUserId = UUID.randomUUID();
+        stubUser(otherUserId);
+
+        // Act
+        titles("rep");
+        index.suggest(otherUserId, "rep", 10);
+
+        // Assert
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.usedBytes()).isLessThanOrEqualTo(5_000);
+        titles("rep");
+        verify(taskRepository, times(2)).streamTaskSuggestions(USER_ID);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ignium.taskmanager.task.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserIndexes Unit Tests")
+class UserIndexesTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private record FixedIndex(int size, long estimatedBytes) implements UserIndexes.Index {
+    }
+
+    private final UserIndexes<FixedIndex> indexes = new UserIndexes<>("test index", 1_000, Duration.ofMinutes(10));
+
+    @Test
+    @DisplayName("build_whenChangedDuringRead_shouldDiscardIndex")
+    void build_whenChangedDuringRead_shouldDiscardIndex() {
+        // Act
+        UserIndexes.Entry<FixedIndex> entry = indexes.build(USER_ID, () -> {
+            indexes.changed(USER_ID);
+            return new FixedIndex(1, 10);
+        });
+
+        // Assert
+        assertThat(entry).isNull();
+        assertThat(indexes.peek(USER_ID)).isNull();
+    }
+
+    @Test
+    @DisplayName("build_whenChangedAfterReadBeforeInstall_shouldDiscardIndex")
+    void build_whenChangedAfterReadBeforeInstall_shouldDiscardIndex() throws Exception {
+        // Arrange - hold the monitor so the build finishes reading but can't install its index yet
+        CountDownLatch read = new CountDownLatch(1);
+        CompletableFuture<UserIndexes.Entry<FixedIndex>> build;
+        synchronized (indexes) {
+            build = CompletableFuture.supplyAsync(() -> indexes.build(USER_ID, () -> {
+                read.countDown();
+                return new FixedIndex(1, 10);
+            }));
+            assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+            // Give the build time to reach the monitor
+            Thread.sleep(100);
+
+            // Act - a change committing in that window
+            indexes.changed(USER_ID);
+        }
+
+        // Assert - had the index been installed, peek would have found it and applied the change
+        assertThat(build.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(indexes.peek(USER_ID)).isNull();
+    }
+
+    @Test
+    @DisplayName("build_withoutChange_shouldInstallIndex")
+    void build_withoutChange_shouldInstallIndex() {
+        // Act
+        UserIndexes.Entry<FixedIndex> entry = indexes.build(USER_ID, () -> new FixedIndex(1, 10));
+
+        // Assert
+        assertThat(entry).isNotNull();
+        assertThat(indexes.peek(USER_ID)).isSameAs(entry);
+    }
+}